@@ -1,4 +1,9 @@
 
+import BSTs.Snapshot;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
@@ -7,38 +12,96 @@ public class App {
     private static final String YELLOW = "\u001B[33m";   
     private static final String RED = "\u001B[31m";
     private static final String BLACK_BG = "\u001B[40m";
+    private static final String[] BACKENDS = {"AVL", "Red Black Tree", "Persistent AVL", "Off-heap AVL", "Disk B+tree", "Splay Tree", "WAVL Tree"};
 
     private Scanner scanner; 
     private DictionaryImplementation dictionary;
 
     public static void main(String[] args) {
         App app = new App();
-        app.start();
+        // Optional arguments: [snapshot [log [commit interval in microseconds]]]. The snapshot (if it
+        // exists) is loaded on the backend it was saved from, then the log is replayed on top of it
+        // and kept open, so later inserts and deletes survive a restart.
+        String snapshotFile = args.length > 0 ? args[0] : null;
+        String logFile = args.length > 1 ? args[1] : null;
+        long commitIntervalMicros = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        app.start(snapshotFile, logFile, commitIntervalMicros);
     }
 
-    public void start() {
+    public void start(String snapshotFile, String logFile, long commitIntervalMicros) {
         scanner = new Scanner(System.in);
-        initializeDictionary();
+        boolean haveSnapshot = snapshotFile != null && Files.exists(Paths.get(snapshotFile));
+        initializeDictionary(haveSnapshot ? snapshotFile : null);
+        if (haveSnapshot) {
+            dictionary.loadSnapshot(snapshotFile);
+        }
+        if (logFile != null) {
+            dictionary.openLog(logFile, commitIntervalMicros);
+        }
         showOperationsMenu();
         scanner.close();
     }
 
-    private void initializeDictionary() {
-        System.out.println(
-                BLACK_BG + "Enter a number corresponding to the type of the backend tree of the dictionary: " + RESET);
-        System.out.print(YELLOW + "1) 'AVL'\n2) 'Red Black Tree'" + RESET + "\nAnswer >> ");
+    private void initializeDictionary(String snapshotFile) {
+        String complexityType = snapshotFile == null ? null : snapshotBackend(snapshotFile);
+        if (complexityType == null) {
+            System.out.println(
+                    BLACK_BG + "Enter a number corresponding to the type of the backend tree of the dictionary: " + RESET);
+            System.out.print(YELLOW + "1) 'AVL'\n2) 'Red Black Tree'\n3) 'Persistent AVL'\n4) 'Off-heap AVL'\n5) 'Disk B+tree'\n6) 'Splay Tree'\n7) 'WAVL Tree'" + RESET + "\nAnswer >> ");
+
+            String typeChoice = getValidChoice(7);
+            switch (typeChoice) {
+                case "1": complexityType = "AVL"; break;
+                case "2": complexityType = "Red Black Tree"; break;
+                case "3": complexityType = "Persistent AVL"; break;
+                case "4": complexityType = "Off-heap AVL"; break;
+                case "5": complexityType = "Disk B+tree"; break;
+                case "6": complexityType = "Splay Tree"; break;
+                default: complexityType = "WAVL Tree";
+            }
+        }
 
-        String typeChoice = getValidChoice();
-        String complexityType = typeChoice.equals("1") ? "AVL" : "Red Black Tree";
+        System.out.println(BLACK_BG + "Enter a number for how lookups are answered: " + RESET);
+        System.out.print(YELLOW + "1) 'Tree only'\n2) 'Hybrid (hash index for search and duplicate checks, more memory)'\n3) 'Bloom filter (rules out most misses, a few bytes per word)'" + RESET + "\nAnswer >> ");
+        DictionaryImplementation.Lookup lookup;
+        switch (getValidChoice(3)) {
+            case "1": lookup = DictionaryImplementation.Lookup.TREE; break;
+            case "2": lookup = DictionaryImplementation.Lookup.HASH_INDEX; break;
+            default: lookup = DictionaryImplementation.Lookup.BLOOM_FILTER;
+        }
+
+        System.out.println(BLACK_BG + "Enter a number for how operation results are reported: " + RESET);
+        System.out.print(YELLOW + "1) 'Console'\n2) 'Async (batched, off the operation thread)'\n3) 'Silent'" + RESET + "\nAnswer >> ");
+        Reporter reporter;
+        switch (getValidChoice(3)) {
+            case "1": reporter = Reporter.console(); break;
+            case "2": reporter = Reporter.async(); break;
+            default: reporter = Reporter.silent();
+        }
+
+        dictionary = new DictionaryImplementation(complexityType, reporter, lookup);
+    }
 
-        dictionary = new DictionaryImplementation(complexityType);
+    // Backend recorded in the snapshot header, or null to ask (unreadable file or unknown backend)
+    private String snapshotBackend(String snapshotFile) {
+        try {
+            String backend = Snapshot.backendOf(Paths.get(snapshotFile));
+            if (Arrays.asList(BACKENDS).contains(backend)) {
+                System.out.println("Starting from snapshot " + snapshotFile + " on backend: " + backend);
+                return backend;
+            }
+        } catch (IOException e) {
+            System.out.print(RED + "Error!! Cannot read snapshot: " + e.getMessage() + "\n" + RESET);
+        }
+        return null;
     }
 
-    private String getValidChoice() {
+    // Accepts "1" through options
+    private String getValidChoice(int options) {
         while (true) {
             try {
                 String input = scanner.next();
-                if (input.equals("1") || input.equals("2")) {
+                if (input.length() == 1 && input.charAt(0) >= '1' && input.charAt(0) <= '0' + options) {
                     return input;
                 }
                 throw new NumberFormatException();
@@ -54,7 +117,7 @@ public class App {
             try {
                 int choice = scanner.nextInt();
                 handleUserChoice(choice);
-                if (choice == 8)
+                if (choice == 11)
                     break;
             } catch (InputMismatchException e) {
                 System.out.print(RED + "Error!! Please enter a valid option\n" + RESET);
@@ -73,7 +136,10 @@ public class App {
         System.out.println(YELLOW + "5) Batch delete a list of strings" + RESET);
         System.out.println(YELLOW + "6) Size" + RESET);
         System.out.println(YELLOW + "7) Tree height" + RESET);
-        System.out.println(YELLOW + "8) Exit" + RESET);
+        System.out.println(YELLOW + "8) Prefix search (autocomplete)" + RESET);
+        System.out.println(YELLOW + "9) Save snapshot" + RESET);
+        System.out.println(YELLOW + "10) Load snapshot" + RESET);
+        System.out.println(YELLOW + "11) Exit" + RESET);
         System.out.print("Operation Number >> ");
     }
 
@@ -86,7 +152,10 @@ public class App {
             case 5: {handleBatchDelete();break;}
             case 6: {handleSize();break;}
             case 7: {handleHeight();break;}
-            case 8: {exitProgram();break;}
+            case 8: {handlePrefixSearch();break;}
+            case 9: {handleSaveSnapshot();break;}
+            case 10: {handleLoadSnapshot();break;}
+            case 11: {exitProgram();break;}
             default: System.out.print(RED + "Error!! Please enter a valid option\n" + RESET);
         }
     }
@@ -116,6 +185,28 @@ public class App {
         System.out.print("Enter the path of the file to delete >> ");
         dictionary.batchDelete(scanner.next());
     }
+    private void handlePrefixSearch() {
+        System.out.print("Enter the prefix >> ");
+        String prefix = scanner.next();
+        System.out.print("Enter the maximum number of results >> ");
+        int limit = scanner.nextInt();
+        if (limit < 0) {
+            System.out.print(RED + "Error!! The number of results cannot be negative\n" + RESET);
+            return;
+        }
+        dictionary.prefixSearch(prefix, limit);
+    }
+
+    private void handleSaveSnapshot() {
+        System.out.print("Enter the path of the snapshot file to write >> ");
+        dictionary.saveSnapshot(scanner.next());
+    }
+
+    private void handleLoadSnapshot() {
+        System.out.print("Enter the path of the snapshot file to load >> ");
+        dictionary.loadSnapshot(scanner.next());
+    }
+
     private void handleSize() {
         System.out.print("The size of the dictionary is: ");
         System.out.println(dictionary.size());
@@ -126,6 +217,7 @@ public class App {
     }
 
     private void exitProgram() {
+        dictionary.close();
         System.out.println(BLACK_BG + "Exiting the program..." + RESET);
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+import BSTs.Trees;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Reporter that only appends lines to an in-memory batch on the caller's thread. Full batches
+// (and whatever is pending at flush) go to a background thread, which writes each batch with a
+// single print and flush. Lines keep their order. Nothing here waits on the writer: once
+// MAX_QUEUED batches are waiting, further batches are dropped and counted, and the count is
+// reported in their place when the queue has room again. Memory stays bounded and a slow
+// console never stalls the dictionary.
+public class AsyncReporter implements Reporter {
+    static final int DEFAULT_BATCH = 1024;
+    private static final int MAX_QUEUED = 1024;
+    private static final List<String> END = new ArrayList<>();
+
+    private final PrintStream out;
+    private final int batchSize;
+    private final BlockingQueue<List<String>> queue = new LinkedBlockingQueue<>(MAX_QUEUED);
+    private final Thread writer;
+    private List<String> pending;
+    private long dropped;
+    private boolean closed;
+
+    public AsyncReporter(PrintStream out, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.out = out;
+        this.batchSize = batchSize;
+        this.pending = new ArrayList<>(batchSize);
+        this.writer = new Thread(this::drain, "dictionary-reporter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void println(String line) {
+        if (closed) {
+            throw new IllegalStateException("Reporter is closed");
+        }
+        pending.add(line);
+        if (pending.size() >= batchSize) {
+            handOff();
+        }
+    }
+
+    // The full listing is O(n) and the caller holds the dictionary's read lock for it, which is
+    // exactly the per-mutation cost this sink exists to avoid, so it reports the size only
+    @Override
+    public void printContents(Trees<String> dictionary) {
+        println("Total words: " + dictionary.size());
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (!closed && !pending.isEmpty()) {
+            handOff();
+        }
+    }
+
+    // Flushes, then waits until the writer has printed everything
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        // The one blocking put: close is documented to wait for the writer anyway
+        try {
+            queue.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handOff() {
+        if (dropped > 0) {
+            pending.add(0, "(" + dropped + " report lines dropped: output fell behind)");
+        }
+        if (queue.offer(pending)) {
+            dropped = 0;
+            pending = new ArrayList<>(batchSize);
+        } else {
+            dropped += pending.size() - (dropped > 0 ? 1 : 0);
+            pending.clear();
+        }
+    }
+
+    private void drain() {
+        StringBuilder text = new StringBuilder();
+        String newline = System.lineSeparator();
+        try {
+            for (List<String> batch = queue.take(); batch != END; batch = queue.take()) {
+                text.setLength(0);
+                for (String line : batch) {
+                    text.append(line).append(newline);
+                }
+                out.print(text);
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package BSTs;
 
 public class AVL<T extends Comparable<T>> implements Trees<T> {
+    // AVL height is at most ~1.44 log2(n + 2), so 64 levels cover any int-sized tree
+    private static final int MAX_HEIGHT = 64;
+
     private Node root;
     private int size;
+    // Ancestors of the node being inserted or deleted, reused across calls and
+    // cleared afterwards so it never keeps removed nodes alive
+    private final Node[] path = newNodeArray(MAX_HEIGHT);
 
     private class Node {
         T key;
         Node left, right;
         int height;
+        int size; // Number of nodes in this subtree, for rank and select
 
         public Node(T key) {
             this.key = key;
             this.height = 0; 
+            this.size = 1;
             this.left = this.right = null;
         }
     }
@@ -21,22 +29,34 @@ public class AVL<T extends Comparable<T>> implements Trees<T> {
         this.size = 0;
     }
 
+    @SuppressWarnings("unchecked")
+    private Node[] newNodeArray(int length) {
+        return (Node[]) new AVL<?>.Node[length];
+    }
+
     // Get height of a node (handles null case)
     private int height(Node node) {
         if (node == null) return -1;
         return node.height;
     }
 
+    // Get subtree size of a node (handles null case)
+    private int size(Node node) {
+        if (node == null) return 0;
+        return node.size;
+    }
+
     // Get balance factor of a node
     private int getBalance(Node node) {
         if (node == null) return 0;
         return height(node.left) - height(node.right);
     }
 
-    // Update height of a node based on its children (the longest path from the root to a leaf node)
-    private void updateHeight(Node node) {
+    // Update height (the longest path from the node to a leaf) and subtree size from its children
+    private void update(Node node) {
         if (node != null) {
             node.height = Math.max(height(node.left), height(node.right)) + 1;
+            node.size = size(node.left) + size(node.right) + 1;
         }
     }
 
@@ -45,12 +65,12 @@ public class AVL<T extends Comparable<T>> implements Trees<T> {
         Node T2 = x.right;
 
         // Perform rotation
-        x.right = y;
         y.left = T2;
+        x.right = y;
 
-        // Update heights
-        updateHeight(y);
-        updateHeight(x);
+        // Update heights and sizes
+        update(y);
+        update(x);
 
         // Return new root
         return x;
@@ -61,202 +81,580 @@ public class AVL<T extends Comparable<T>> implements Trees<T> {
         Node T2 = y.left;
 
         // Perform rotation
-        y.left = x;
         x.right = T2;
+        y.left = x;
 
-        // Update heights
-        updateHeight(x);
-        updateHeight(y);
+        // Update heights and sizes
+        update(x);
+        update(y);
 
         // Return new root
         return y;
     }
 
+    // Point parent's link (or root) at replacement instead of child
+    private void replaceChild(Node parent, Node child, Node replacement) {
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == child) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+    }
+
     @Override
     public boolean insert(T key) {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
-        
-        // Check if key already exists
-        if (search(key)) {
-            return false;
+        if (root == null) {
+            root = new Node(key);
+            size++;
+            return true;
+        }
+
+        // Descend once, remembering the path; finding the key means it already exists
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        while (true) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                java.util.Arrays.fill(path, 0, depth, null);
+                return false;
+            }
+            path[depth++] = node;
+            Node next = compareResult < 0 ? node.left : node.right;
+            if (next == null) {
+                if (compareResult < 0) {
+                    node.left = new Node(key);
+                } else {
+                    node.right = new Node(key);
+                }
+                break;
+            }
+            node = next;
         }
-        
-        root = insertNode(root, key);
         size++;
+        // Every ancestor gains a descendant, even above the point where rebalancing stops
+        for (int i = 0; i < depth; i++) {
+            path[i].size++;
+        }
+
+        // Rebalance bottom-up. Stop once a height is unchanged, or after a rotation,
+        // which on insertion restores the subtree's previous height.
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = node.height;
+            update(node);
+            int balance = getBalance(node);
+
+            // Left heavy case
+            if (balance > 1) {
+                if (key.compareTo(node.left.key) > 0) {
+                    // Left-Right Case
+                    node.left = leftRotate(node.left);
+                }
+                replaceChild(i == 0 ? null : path[i - 1], node, rightRotate(node));
+                break;
+            }
+
+            // Right heavy case
+            if (balance < -1) {
+                if (key.compareTo(node.right.key) < 0) {
+                    // Right-Left Case
+                    node.right = rightRotate(node.right);
+                }
+                replaceChild(i == 0 ? null : path[i - 1], node, leftRotate(node));
+                break;
+            }
+
+            if (node.height == oldHeight) {
+                break;
+            }
+        }
+        java.util.Arrays.fill(path, 0, depth, null);
         return true;
     }
 
-    private Node insertNode(Node node, T key) {
-        // Standard BST insertion
+    // Search for a key in the tree
+    @Override
+    public boolean search(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Node node = root;
+        for (int depth = 0; node != null; depth++) {
+            if (depth == MAX_HEIGHT) {
+                // Only an unlocked reader racing a rotation can see a path this long (even a
+                // cycle, since plain stores may become visible out of order)
+                throw new java.util.ConcurrentModificationException("Search passed " + MAX_HEIGHT + " levels");
+            }
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return true; // Key found
+            }
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        return false; // Key not found
+    }
+
+    // Delete a key from the tree
+    @Override
+    public boolean delete(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                break;
+            }
+            path[depth++] = node;
+            node = compareResult < 0 ? node.left : node.right;
+        }
         if (node == null) {
-            return new Node(key);
+            java.util.Arrays.fill(path, 0, depth, null);
+            return false;
         }
 
-        int compareResult = key.compareTo(node.key);
-        
-        if (compareResult < 0) {
-            node.left = insertNode(node.left, key);
-        } else if (compareResult > 0) {
-            node.right = insertNode(node.right, key);
-        } else {
-            return node;
+        if (node.left != null && node.right != null) {
+            // Node with two children: take the inorder successor's key and unlink the successor instead
+            path[depth++] = node;
+            Node successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node = successor;
         }
 
-        updateHeight(node);
+        // Node with one child or no child
+        replaceChild(depth == 0 ? null : path[depth - 1], node, node.left != null ? node.left : node.right);
+        size--;
+        for (int i = 0; i < depth; i++) {
+            path[i].size--;
+        }
+
+        // Rebalance bottom-up until a subtree's height comes out unchanged
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = node.height;
+            update(node);
+            int balance = getBalance(node);
+            Node subtree = node;
+
+            // Left heavy case
+            if (balance > 1) {
+                if (getBalance(node.left) < 0) {
+                    // Left-Right Case
+                    node.left = leftRotate(node.left);
+                }
+                subtree = rightRotate(node);
+            }
 
-        int balance = getBalance(node);
+            // Right heavy case
+            if (balance < -1) {
+                if (getBalance(node.right) > 0) {
+                    // Right-Left Case
+                    node.right = rightRotate(node.right);
+                }
+                subtree = leftRotate(node);
+            }
 
-        // Left heavy case
-        if (balance > 1) {
-            if (key.compareTo(node.left.key) < 0) {
-                // Left-Left Case
-                return rightRotate(node);
+            if (subtree != node) {
+                replaceChild(i == 0 ? null : path[i - 1], node, subtree);
+            }
+            if (subtree.height == oldHeight) {
+                break;
+            }
+        }
+        java.util.Arrays.fill(path, 0, depth, null);
+        return true;
+    }
+
+    @Override
+    public int rank(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return rank + size(node.left);
+            }
+            if (compareResult < 0) {
+                node = node.left;
             } else {
-                // Left-Right Case
-                node.left = leftRotate(node.left);
-                return rightRotate(node);
+                // Everything in the left subtree and the node itself sorts before key
+                rank += size(node.left) + 1;
+                node = node.right;
             }
         }
+        return rank;
+    }
 
-        // Right heavy case
-        if (balance < -1) {
-            if (key.compareTo(node.right.key) > 0) {
-                // Right-Right Case
-                return leftRotate(node);
+    @Override
+    public T select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.key;
             } else {
-                // Right-Left Case
-                node.right = rightRotate(node.right);
-                return leftRotate(node);
+                k -= leftSize + 1;
+                node = node.right;
             }
         }
+    }
 
-        // Return the unchanged node if no rotation needed
-        return node;
+    @Override
+    public java.util.Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(true, from, fromInclusive, to, toInclusive);
     }
 
-    // Search for a key in the tree
     @Override
-    public boolean search(T key) {
-        if (key == null) {
-            throw new IllegalArgumentException("Key cannot be null");
+    public java.util.Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    private java.util.Iterator<T> iterator(boolean ascending, T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new BoundedIterator<Node, T>(ascending, to, toInclusive) {
+            @Override
+            protected Node left(Node node) {
+                return node.left;
+            }
+
+            @Override
+            protected Node right(Node node) {
+                return node.right;
+            }
+
+            @Override
+            protected T key(Node node) {
+                return node.key;
+            }
+        }.start(root, from, fromInclusive);
+    }
+
+    // Build a perfectly balanced tree in O(n) from strictly ascending keys (tree must be empty)
+    @Override
+    public void buildFromSorted(java.util.List<T> sortedKeys) {
+        if (size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
         }
-        return searchNode(root, key);
+        Trees.checkStrictlyAscending(sortedKeys);
+        root = buildBalanced(sortedKeys, 0, sortedKeys.size() - 1);
+        size = sortedKeys.size();
     }
 
-    // Helper method for search
-    private boolean searchNode(Node node, T key) {
-        if (node == null) {
-            return false; // Key not found
+    private Node buildBalanced(java.util.List<T> keys, int lo, int hi) {
+        if (lo > hi) {
+            return null;
         }
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(keys.get(mid));
+        node.left = buildBalanced(keys, lo, mid - 1);
+        node.right = buildBalanced(keys, mid + 1, hi);
+        update(node);
+        return node;
+    }
 
-        int compareResult = key.compareTo(node.key);
-        
-        if (compareResult == 0) {
-            return true; // Key found
-        } else if (compareResult < 0) {
-            return searchNode(node.left, key); // Search in left subtree
-        } else {
-            return searchNode(node.right, key); // Search in right subtree
+    // ---------------------------------------------------------------- join-based bulk operations
+    // Following Blelloch, Ferizovic and Sun, "Just Join for Parallel Ordered Sets": split and join
+    // are the only primitives that rebalance, and union/intersection/difference recurse on the two
+    // halves around a split. Nodes are moved between trees rather than copied.
+
+    // Appends key and all of greater's keys, which must all sort after this tree's keys and key.
+    // greater is left empty. O(|height difference| + 1) after the bounds check.
+    public void join(T key, AVL<T> greater) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (greater == this) {
+            throw new IllegalArgumentException("Cannot join a tree with itself");
+        }
+        T last = last();
+        T first = greater.first();
+        if ((last != null && last.compareTo(key) >= 0) || (first != null && key.compareTo(first) >= 0)) {
+            throw new IllegalArgumentException("Keys must be sorted in strictly ascending order");
         }
+        root = join(root, new Node(key), greater.root);
+        size = size(root);
+        greater.root = null;
+        greater.size = 0;
     }
 
-    // Delete a key from the tree
-    @Override
-    public boolean delete(T key) {
+    // Moves every key greater than key into greater, which must be empty, and keeps the smaller ones.
+    // key itself is removed; returns whether it was present. O(log n).
+    public boolean split(T key, AVL<T> greater) {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
-        
-        // Check if key exists
-        if (!search(key)) {
-            return false;
+        if (greater == this || greater.size != 0) {
+            throw new IllegalArgumentException("Split target must be a different, empty tree");
         }
-        
-        root = deleteNode(root, key);
-        size--;
-        return true;
+        Split parts = split(root, key);
+        root = parts.left;
+        size = size(root);
+        greater.root = parts.right;
+        greater.size = size(parts.right);
+        return parts.found;
     }
 
-    // Helper method for deletion
-    private Node deleteNode(Node node, T key) {
-        if (node == null) {
-            return null;
+    // this = this ∪ other; other is left empty. O(m log(n/m + 1)) work for sizes m <= n.
+    public void union(AVL<T> other) {
+        combine(UNION, other, null);
+    }
+
+    // As union, also handing common each of other's keys this tree already held, as the splits
+    // find them: no extra searches. A large merge runs on several threads, so common must be
+    // thread-safe; keys arrive in no particular order.
+    public void union(AVL<T> other, java.util.function.Consumer<? super T> common) {
+        combine(UNION, other, common);
+    }
+
+    // this = this ∩ other; other is left empty
+    public void intersection(AVL<T> other) {
+        combine(INTERSECTION, other, null);
+    }
+
+    // this = this \ other; other is left empty
+    public void difference(AVL<T> other) {
+        combine(DIFFERENCE, other, null);
+    }
+
+    // As difference, also handing common each key it removed; same threading as union's
+    public void difference(AVL<T> other, java.util.function.Consumer<? super T> common) {
+        combine(DIFFERENCE, other, common);
+    }
+
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+
+    // The work is driven by the smaller side: below this many nodes there the two halves are
+    // combined in the current thread, as forking would cost more than it saves
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    private void combine(int operation, AVL<T> other, java.util.function.Consumer<? super T> common) {
+        if (other == this) {
+            if (operation == DIFFERENCE) {
+                root = null;
+                size = 0;
+            }
+            return;
         }
+        Node a = root;
+        Node b = other.root;
+        root = Math.min(size(a), size(b)) < PARALLEL_THRESHOLD
+                ? combine(operation, a, b, common)
+                : java.util.concurrent.ForkJoinPool.commonPool().invoke(new SetOperation(operation, a, b, common));
+        size = size(root);
+        other.root = null;
+        other.size = 0;
+    }
 
-        int compareResult = key.compareTo(node.key);
-        
-        if (compareResult < 0) {
-            node.left = deleteNode(node.left, key);
-        } else if (compareResult > 0) {
-            node.right = deleteNode(node.right, key);
+    // common (may be null) receives every key found in both a and b, which is the pivot of each
+    // split that finds it
+    private Node combine(int operation, Node a, Node b, java.util.function.Consumer<? super T> common) {
+        if (a == null) {
+            return operation == UNION ? b : null;
+        }
+        if (b == null) {
+            return operation == INTERSECTION ? null : a;
+        }
+        boolean parallel = Math.min(size(a), size(b)) >= PARALLEL_THRESHOLD;
+        // Union and intersection split b around a's root; difference splits a around b's root
+        Node pivot;
+        Node leftA, leftB, rightA, rightB;
+        Split parts;
+        if (operation == DIFFERENCE) {
+            pivot = b;
+            parts = split(a, b.key);
+            leftA = parts.left;
+            rightA = parts.right;
+            leftB = b.left;
+            rightB = b.right;
         } else {
-            // Node with the key to be deleted found
+            pivot = a;
+            parts = split(b, a.key);
+            leftA = a.left;
+            rightA = a.right;
+            leftB = parts.left;
+            rightB = parts.right;
+        }
 
-            // Node with one child or no child
-            if (node.left == null) {
-                return node.right;
-            } else if (node.right == null) {
-                return node.left;
-            }
+        Node left;
+        Node right;
+        if (parallel) {
+            SetOperation leftTask = new SetOperation(operation, leftA, leftB, common);
+            leftTask.fork();
+            right = combine(operation, rightA, rightB, common);
+            left = leftTask.join();
+        } else {
+            left = combine(operation, leftA, leftB, common);
+            right = combine(operation, rightA, rightB, common);
+        }
+        if (parts.found && common != null) {
+            common.accept(pivot.key);
+        }
+
+        if (operation == UNION || (operation == INTERSECTION && parts.found)) {
+            return join(left, pivot, right);
+        }
+        return joinWithoutKey(left, right);
+    }
+
+    private final class SetOperation extends java.util.concurrent.RecursiveTask<Node> {
+        private static final long serialVersionUID = 1L;
 
-            // Node with two children: Get the inorder successor (smallest in right subtree)
-            node.key = findMin(node.right).key;
+        private final int operation;
+        private final Node a;
+        private final Node b;
+        private final java.util.function.Consumer<? super T> common;
 
-            // Delete the inorder successor
-            node.right = deleteNode(node.right, node.key);
+        SetOperation(int operation, Node a, Node b, java.util.function.Consumer<? super T> common) {
+            this.operation = operation;
+            this.a = a;
+            this.b = b;
+            this.common = common;
         }
 
-        // If the tree had only one node, return null
-        if (node == null) {
-            return null;
+        @Override
+        protected Node compute() {
+            return combine(operation, a, b, common);
         }
+    }
 
-        // Update height of current node
-        updateHeight(node);
+    // Keys of a subtree below and above a split key, and whether the key itself was there
+    private final class Split {
+        Node left;
+        boolean found;
+        Node right;
 
-        // Get the balance factor to check if this node became unbalanced
-        int balance = getBalance(node);
+        Split(Node left, boolean found, Node right) {
+            this.left = left;
+            this.found = found;
+            this.right = right;
+        }
+    }
 
-        // Left heavy case
-        if (balance > 1) {
-            if (getBalance(node.left) >= 0) {
-                // Left-Left Case
-                return rightRotate(node);
-            } else {
-                // Left-Right Case
-                node.left = leftRotate(node.left);
-                return rightRotate(node);
-            }
+    private Split split(Node node, T key) {
+        if (node == null) {
+            return new Split(null, false, null);
         }
+        Node left = node.left;
+        Node right = node.right;
+        int compareResult = key.compareTo(node.key);
+        if (compareResult == 0) {
+            return new Split(left, true, right);
+        }
+        if (compareResult < 0) {
+            Split parts = split(left, key);
+            parts.right = join(parts.right, node, right);
+            return parts;
+        }
+        Split parts = split(right, key);
+        parts.left = join(left, node, parts.left);
+        return parts;
+    }
 
-        // Right heavy case
-        if (balance < -1) {
-            if (getBalance(node.right) <= 0) {
-                // Right-Right Case
-                return leftRotate(node);
-            } else {
+    // Balanced tree of left, mid, right (all of left < mid.key < all of right), reusing mid as a node
+    private Node join(Node left, Node mid, Node right) {
+        if (height(left) > height(right) + 1) {
+            return joinRight(left, mid, right);
+        }
+        if (height(right) > height(left) + 1) {
+            return joinLeft(left, mid, right);
+        }
+        mid.left = left;
+        mid.right = right;
+        update(mid);
+        return mid;
+    }
+
+    // left is taller: follow its right spine down to a subtree no more than one taller than right
+    private Node joinRight(Node left, Node mid, Node right) {
+        Node spine = left.right;
+        Node joined;
+        if (height(spine) <= height(right) + 1) {
+            mid.left = spine;
+            mid.right = right;
+            update(mid);
+            joined = mid;
+            if (height(joined) > height(left.left) + 1) {
                 // Right-Left Case
-                node.right = rightRotate(node.right);
-                return leftRotate(node);
+                left.right = rightRotate(joined);
+                update(left);
+                return leftRotate(left);
             }
+        } else {
+            joined = joinRight(spine, mid, right);
         }
+        left.right = joined;
+        update(left);
+        return height(joined) <= height(left.left) + 1 ? left : leftRotate(left);
+    }
 
-        return node;
+    // Mirror image of joinRight
+    private Node joinLeft(Node left, Node mid, Node right) {
+        Node spine = right.left;
+        Node joined;
+        if (height(spine) <= height(left) + 1) {
+            mid.left = left;
+            mid.right = spine;
+            update(mid);
+            joined = mid;
+            if (height(joined) > height(right.right) + 1) {
+                // Left-Right Case
+                right.left = leftRotate(joined);
+                update(right);
+                return rightRotate(right);
+            }
+        } else {
+            joined = joinLeft(left, mid, spine);
+        }
+        right.left = joined;
+        update(right);
+        return height(joined) <= height(right.right) + 1 ? right : rightRotate(right);
     }
 
-    // Find the node with minimum value in the tree
-    private Node findMin(Node node) {
-        if (node == null) {
-            return null;
+    // Join two trees without a middle key by borrowing left's largest node
+    private Node joinWithoutKey(Node left, Node right) {
+        if (left == null) {
+            return right;
         }
-        
-        Node current = node;
-        while (current.left != null) {
-            current = current.left;
+        if (right == null) {
+            return left;
+        }
+        Node[] last = newNodeArray(1);
+        Node rest = removeLast(left, last);
+        return join(rest, last[0], right);
+    }
+
+    // Detach a subtree's largest node into last[0] and return the rebalanced remainder
+    private Node removeLast(Node node, Node[] last) {
+        Node left = node.left;
+        Node right = node.right;
+        if (right == null) {
+            last[0] = node;
+            return left;
         }
-        return current;
+        return join(left, node, removeLast(right, last));
     }
 
     // Return the size of the tree
@@ -286,35 +684,33 @@ public class AVL<T extends Comparable<T>> implements Trees<T> {
     }
 
     public void inorder() {
-        inorderTraversal(root);
+        inorderTraversal(key -> System.out.print(key + " "));
         System.out.println();
     }
-    
-    private void inorderTraversal(Node node) {
-        if (node != null) {
-            inorderTraversal(node.left);
-            System.out.print(node.key + " ");
-            inorderTraversal(node.right);
-        }
-    }
+
     private void inorderPrint(Node node) {
-        if (node != null) {
-            inorderPrint(node.left);
-            System.out.println(node.key);
-            inorderPrint(node.right);
+        inorderTraversal(node, key -> System.out.println(key));
+    }
+
+    public void inorderTraversal(java.util.function.Consumer<T> consumer) {
+        inorderTraversal(root, consumer);
+    }
+
+    // Iterative in-order walk with an explicit stack of at most height + 1 nodes
+    private void inorderTraversal(Node node, java.util.function.Consumer<T> consumer) {
+        Node[] stack = newNodeArray(height(node) + 1);
+        int top = 0;
+        Node current = node;
+        while (current != null || top > 0) {
+            while (current != null) {
+                stack[top++] = current;
+                current = current.left;
+            }
+            current = stack[--top];
+            consumer.accept(current.key);
+            current = current.right;
         }
     }
-    
- public void inorderTraversal(java.util.function.Consumer<T> consumer) {
-    inorderTraversal(root, consumer);
-}
-
-private void inorderTraversal(Node node, java.util.function.Consumer<T> consumer) {
-    if (node == null) return;
-    inorderTraversal(node.left, consumer);
-    consumer.accept(node.key);
-    inorderTraversal(node.right, consumer);
-} 
 
 
 // private void printTreeHelper(Node node, String indent, boolean last) {
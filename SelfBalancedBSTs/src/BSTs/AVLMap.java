@@ -0,0 +1,330 @@
+package BSTs;
+
+// AVL tree of key-value pairs: same balancing as AVL (bottom-up over a recorded path, stopping as
+// soon as a subtree's height is unchanged), with the value stored next to the key
+public class AVLMap<K extends Comparable<K>, V> implements OrderedMap<K, V> {
+    // AVL height is at most ~1.44 log2(n + 2), so 64 levels cover any int-sized tree
+    private static final int MAX_HEIGHT = 64;
+
+    private Node root;
+    private int size;
+    // Ancestors of the node the last update found (or of the spot where its key belongs), reused
+    // across calls and cleared afterwards so it never keeps removed nodes alive
+    private final Node[] path = newNodeArray(MAX_HEIGHT);
+    private int depth;
+    // How the missing key compared with path[depth - 1], the parent a new node attaches to
+    private int attachSide;
+
+    private class Node {
+        K key;
+        V value;
+        Node left, right;
+        int height;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node[] newNodeArray(int length) {
+        return (Node[]) new AVLMap<?, ?>.Node[length];
+    }
+
+    private static <K> K requireKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    private static <V> V requireValue(V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        return value;
+    }
+
+    private int height(Node node) {
+        return node == null ? -1 : node.height;
+    }
+
+    private int getBalance(Node node) {
+        return height(node.left) - height(node.right);
+    }
+
+    private void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    private Node rightRotate(Node y) {
+        Node x = y.left;
+        y.left = x.right;
+        x.right = y;
+        update(y);
+        update(x);
+        return x;
+    }
+
+    private Node leftRotate(Node x) {
+        Node y = x.right;
+        x.right = y.left;
+        y.left = x;
+        update(x);
+        update(y);
+        return y;
+    }
+
+    // Point parent's link (or root) at replacement instead of child
+    private void replaceChild(Node parent, Node child, Node replacement) {
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == child) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+    }
+
+    // ---- lookups ----
+
+    @Override
+    public V get(K key) {
+        requireKey(key);
+        Node node = root;
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return node.value;
+            }
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    // ---- updates: one descent each, then change or rebalance along the recorded path ----
+
+    @Override
+    public V put(K key, V value) {
+        requireKey(key);
+        requireValue(value);
+        Node node = find(key);
+        if (node == null) {
+            attach(key, value);
+            return null;
+        }
+        V previous = node.value;
+        node.value = value;
+        clearPath();
+        return previous;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        requireKey(key);
+        requireValue(value);
+        Node node = find(key);
+        if (node == null) {
+            attach(key, value);
+            return null;
+        }
+        clearPath();
+        return node.value;
+    }
+
+    @Override
+    public V remove(K key) {
+        Node node = find(key);
+        if (node == null) {
+            clearPath();
+            return null;
+        }
+        V previous = node.value;
+        unlink(node);
+        return previous;
+    }
+
+    @Override
+    public V compute(K key, java.util.function.BiFunction<? super K, ? super V, ? extends V> remapping) {
+        Node node = find(key);
+        V updated;
+        try {
+            updated = remapping.apply(key, node == null ? null : node.value);
+        } catch (RuntimeException | Error e) {
+            clearPath();
+            throw e;
+        }
+        if (updated == null) {
+            if (node == null) {
+                clearPath();
+            } else {
+                unlink(node);
+            }
+        } else if (node == null) {
+            attach(key, updated);
+        } else {
+            node.value = updated;
+            clearPath();
+        }
+        return updated;
+    }
+
+    // Descend once, recording the ancestors in path; returns the node holding key, or null with
+    // path ending at the parent the key would hang from
+    private Node find(K key) {
+        requireKey(key);
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                break;
+            }
+            path[depth++] = node;
+            attachSide = compareResult;
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        this.depth = depth;
+        return node;
+    }
+
+    private void clearPath() {
+        java.util.Arrays.fill(path, 0, depth, null);
+        depth = 0;
+    }
+
+    // Hang a new node where find stopped and rebalance. Stop once a height is unchanged, or
+    // after a rotation, which on insertion restores the subtree's previous height.
+    private void attach(K key, V value) {
+        Node added = new Node(key, value);
+        Node[] path = this.path;
+        if (depth == 0) {
+            root = added;
+        } else if (attachSide < 0) {
+            path[depth - 1].left = added;
+        } else {
+            path[depth - 1].right = added;
+        }
+        size++;
+        for (int i = depth - 1; i >= 0; i--) {
+            Node node = path[i];
+            int oldHeight = node.height;
+            update(node);
+            int balance = getBalance(node);
+
+            // Left heavy case
+            if (balance > 1) {
+                if (key.compareTo(node.left.key) > 0) {
+                    // Left-Right Case
+                    node.left = leftRotate(node.left);
+                }
+                replaceChild(i == 0 ? null : path[i - 1], node, rightRotate(node));
+                break;
+            }
+
+            // Right heavy case
+            if (balance < -1) {
+                if (key.compareTo(node.right.key) < 0) {
+                    // Right-Left Case
+                    node.right = rightRotate(node.right);
+                }
+                replaceChild(i == 0 ? null : path[i - 1], node, leftRotate(node));
+                break;
+            }
+
+            if (node.height == oldHeight) {
+                break;
+            }
+        }
+        clearPath();
+    }
+
+    // Remove the node find returned and rebalance until a subtree's height comes out unchanged
+    private void unlink(Node node) {
+        Node[] path = this.path;
+        int depth = this.depth;
+        if (node.left != null && node.right != null) {
+            // Node with two children: take over the inorder successor's entry and unlink the successor
+            path[depth++] = node;
+            Node successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node.value = successor.value;
+            node = successor;
+        }
+        this.depth = depth;
+
+        // Node with one child or no child
+        replaceChild(depth == 0 ? null : path[depth - 1], node, node.left != null ? node.left : node.right);
+        size--;
+
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = node.height;
+            update(node);
+            int balance = getBalance(node);
+            Node subtree = node;
+
+            // Left heavy case
+            if (balance > 1) {
+                if (getBalance(node.left) < 0) {
+                    // Left-Right Case
+                    node.left = leftRotate(node.left);
+                }
+                subtree = rightRotate(node);
+            }
+
+            // Right heavy case
+            if (balance < -1) {
+                if (getBalance(node.right) > 0) {
+                    // Right-Left Case
+                    node.right = rightRotate(node.right);
+                }
+                subtree = leftRotate(node);
+            }
+
+            if (subtree != node) {
+                replaceChild(i == 0 ? null : path[i - 1], node, subtree);
+            }
+            if (subtree.height == oldHeight) {
+                break;
+            }
+        }
+        clearPath();
+    }
+
+    // ---- reporting ----
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Same convention as AVL: empty = -1, single node = 0
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    // Iterative in-order walk with an explicit stack of at most height + 1 nodes
+    @Override
+    public void forEach(java.util.function.BiConsumer<? super K, ? super V> action) {
+        Node[] stack = newNodeArray(height(root) + 1);
+        int top = 0;
+        Node current = root;
+        while (current != null || top > 0) {
+            while (current != null) {
+                stack[top++] = current;
+                current = current.left;
+            }
+            current = stack[--top];
+            action.accept(current.key, current.value);
+            current = current.right;
+        }
+    }
+}
@@ -0,0 +1,574 @@
+package BSTs;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// In-memory B-tree: every node holds up to 2t - 1 keys in one array and is searched by binary
+// search, so a lookup follows one child pointer per level instead of one per comparison. With the
+// default t = 32 (up to 63 keys and 64 children per node) a million keys take four levels where
+// AVL and red-black trees need 20 to 40, and each of those levels is a likely cache miss.
+//
+// Insert and delete are the single-pass top-down algorithms: a full child is split before the
+// descent enters it, and a minimal child (t - 1 keys) is refilled from a sibling or merged first,
+// so no operation has to walk back up. Internal nodes keep the key count under each child for
+// rank and select; those counts are adjusted along the recorded path once the change is known.
+public class BTree<T extends Comparable<T>> implements Trees<T> {
+    public static final int DEFAULT_MIN_DEGREE = 32;
+    private static final int MAX_DEPTH = 64;
+
+    private static final class Node {
+        final Object[] keys;
+        final Node[] children;  // null in leaves
+        final int[] counts;     // keys under each child; null in leaves
+        int n;
+
+        Node(int minDegree, boolean leaf) {
+            keys = new Object[2 * minDegree - 1];
+            children = leaf ? null : new Node[2 * minDegree];
+            counts = leaf ? null : new int[2 * minDegree];
+        }
+
+        boolean leaf() {
+            return children == null;
+        }
+
+        int total() {
+            int total = n;
+            if (children != null) {
+                for (int i = 0; i <= n; i++) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+
+    private final int t;
+    private final int maxKeys;
+    private Node root;
+    private int size;
+    private int height;
+
+    // Path of an insert or delete: the node and the child taken, for the count updates
+    private final Node[] pathNodes = new Node[MAX_DEPTH];
+    private final int[] pathIndexes = new int[MAX_DEPTH];
+
+    public BTree() {
+        this(DEFAULT_MIN_DEGREE);
+    }
+
+    // Minimum degree t: nodes other than the root hold between t - 1 and 2t - 1 keys
+    public BTree(int minDegree) {
+        if (minDegree < 2) {
+            throw new IllegalArgumentException("Minimum degree must be at least 2");
+        }
+        this.t = minDegree;
+        this.maxKeys = 2 * minDegree - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T key(Node node, int i) {
+        return (T) node.keys[i];
+    }
+
+    private static <T> T requireKey(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    // First index whose key is >= key (inclusive) or > key (exclusive); node.n if none
+    private int lowerBound(Node node, T key, boolean inclusive) {
+        int lo = 0;
+        int hi = node.n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int compareResult = key(node, mid).compareTo(key);
+            if (compareResult < 0 || compareResult == 0 && !inclusive) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private boolean matches(Node node, int i, T key) {
+        return i < node.n && key(node, i).compareTo(key) == 0;
+    }
+
+    @Override
+    public boolean search(T key) {
+        requireKey(key);
+        Node node = root;
+        while (node != null) {
+            int i = lowerBound(node, key, true);
+            if (matches(node, i, key)) {
+                return true;
+            }
+            node = node.leaf() ? null : node.children[i];
+        }
+        return false;
+    }
+
+    // ---- insert ----
+
+    @Override
+    public boolean insert(T key) {
+        requireKey(key);
+        if (root == null) {
+            root = new Node(t, true);
+            height = 1;
+        }
+        if (root.n == maxKeys) {
+            Node top = new Node(t, false);
+            top.children[0] = root;
+            top.counts[0] = size;
+            root = top;
+            height++;
+            splitChild(top, 0);
+        }
+        Node node = root;
+        int depth = 0;
+        while (true) {
+            int i = lowerBound(node, key, true);
+            if (matches(node, i, key)) {
+                return false;
+            }
+            if (node.leaf()) {
+                System.arraycopy(node.keys, i, node.keys, i + 1, node.n - i);
+                node.keys[i] = key;
+                node.n++;
+                break;
+            }
+            if (node.children[i].n == maxKeys) {
+                splitChild(node, i);
+                int compareResult = key.compareTo(key(node, i));
+                if (compareResult == 0) {
+                    return false;
+                }
+                if (compareResult > 0) {
+                    i++;
+                }
+            }
+            pathNodes[depth] = node;
+            pathIndexes[depth++] = i;
+            node = node.children[i];
+        }
+        for (int d = 0; d < depth; d++) {
+            pathNodes[d].counts[pathIndexes[d]]++;
+            pathNodes[d] = null;
+        }
+        size++;
+        return true;
+    }
+
+    // Split the full child i of parent around its middle key, which moves up into parent
+    private void splitChild(Node parent, int i) {
+        Node full = parent.children[i];
+        Node right = new Node(t, full.leaf());
+        right.n = t - 1;
+        System.arraycopy(full.keys, t, right.keys, 0, t - 1);
+        if (!full.leaf()) {
+            System.arraycopy(full.children, t, right.children, 0, t);
+            System.arraycopy(full.counts, t, right.counts, 0, t);
+            java.util.Arrays.fill(full.children, t, 2 * t, null);
+        }
+        Object middle = full.keys[t - 1];
+        java.util.Arrays.fill(full.keys, t - 1, maxKeys, null);
+        full.n = t - 1;
+
+        System.arraycopy(parent.keys, i, parent.keys, i + 1, parent.n - i);
+        System.arraycopy(parent.children, i + 1, parent.children, i + 2, parent.n - i);
+        System.arraycopy(parent.counts, i + 1, parent.counts, i + 2, parent.n - i);
+        parent.keys[i] = middle;
+        parent.children[i + 1] = right;
+        int rightTotal = right.total();
+        parent.counts[i + 1] = rightTotal;
+        parent.counts[i] -= rightTotal + 1;
+        parent.n++;
+    }
+
+    // ---- delete ----
+
+    @Override
+    public boolean delete(T key) {
+        requireKey(key);
+        if (root == null) {
+            return false;
+        }
+        Node node = root;
+        int depth = 0;
+        boolean removed = false;
+        while (true) {
+            int i = lowerBound(node, key, true);
+            boolean found = matches(node, i, key);
+            if (node.leaf()) {
+                if (found) {
+                    System.arraycopy(node.keys, i + 1, node.keys, i, node.n - i - 1);
+                    node.keys[--node.n] = null;
+                    removed = true;
+                }
+                break;
+            }
+            if (found) {
+                // The key sits in this internal node: replace it with its predecessor or successor
+                // from a child that can spare a key, then delete that one further down
+                if (node.children[i].n >= t) {
+                    T predecessor = last(node.children[i]);
+                    node.keys[i] = predecessor;
+                    key = predecessor;
+                } else if (node.children[i + 1].n >= t) {
+                    T successor = first(node.children[i + 1]);
+                    node.keys[i] = successor;
+                    key = successor;
+                    i++;
+                } else {
+                    merge(node, i);
+                }
+            } else if (node.children[i].n < t) {
+                i = refill(node, i);
+            }
+            if (node == root && root.n == 0) {
+                // The root's last key went into a merge: its only child becomes the root
+                root = node.children[0];
+                height--;
+                node = root;
+                continue;
+            }
+            pathNodes[depth] = node;
+            pathIndexes[depth++] = i;
+            node = node.children[i];
+        }
+        for (int d = 0; d < depth; d++) {
+            if (removed) {
+                pathNodes[d].counts[pathIndexes[d]]--;
+            }
+            pathNodes[d] = null;
+        }
+        if (removed) {
+            size--;
+            if (size == 0) {
+                root = null;
+                height = 0;
+            }
+        }
+        return removed;
+    }
+
+    // Give child i of a node at least t keys, borrowing through the parent from a sibling that
+    // has a key to spare, or merging with one. Returns the index of the child to continue in.
+    private int refill(Node parent, int i) {
+        Node child = parent.children[i];
+        if (i > 0 && parent.children[i - 1].n >= t) {
+            Node left = parent.children[i - 1];
+            System.arraycopy(child.keys, 0, child.keys, 1, child.n);
+            child.keys[0] = parent.keys[i - 1];
+            parent.keys[i - 1] = left.keys[left.n - 1];
+            left.keys[left.n - 1] = null;
+            int moved = 1;
+            if (!child.leaf()) {
+                System.arraycopy(child.children, 0, child.children, 1, child.n + 1);
+                System.arraycopy(child.counts, 0, child.counts, 1, child.n + 1);
+                child.children[0] = left.children[left.n];
+                child.counts[0] = left.counts[left.n];
+                left.children[left.n] = null;
+                moved += child.counts[0];
+            }
+            left.n--;
+            child.n++;
+            parent.counts[i - 1] -= moved;
+            parent.counts[i] += moved;
+            return i;
+        }
+        if (i < parent.n && parent.children[i + 1].n >= t) {
+            Node right = parent.children[i + 1];
+            child.keys[child.n] = parent.keys[i];
+            parent.keys[i] = right.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.n - 1);
+            right.keys[right.n - 1] = null;
+            int moved = 1;
+            if (!child.leaf()) {
+                child.children[child.n + 1] = right.children[0];
+                child.counts[child.n + 1] = right.counts[0];
+                moved += right.counts[0];
+                System.arraycopy(right.children, 1, right.children, 0, right.n);
+                System.arraycopy(right.counts, 1, right.counts, 0, right.n);
+                right.children[right.n] = null;
+            }
+            right.n--;
+            child.n++;
+            parent.counts[i + 1] -= moved;
+            parent.counts[i] += moved;
+            return i;
+        }
+        if (i < parent.n) {
+            merge(parent, i);
+            return i;
+        }
+        merge(parent, i - 1);
+        return i - 1;
+    }
+
+    // Merge child i + 1 and the key between them into child i; both children hold t - 1 keys
+    private void merge(Node parent, int i) {
+        Node left = parent.children[i];
+        Node right = parent.children[i + 1];
+        left.keys[left.n] = parent.keys[i];
+        System.arraycopy(right.keys, 0, left.keys, left.n + 1, right.n);
+        if (!left.leaf()) {
+            System.arraycopy(right.children, 0, left.children, left.n + 1, right.n + 1);
+            System.arraycopy(right.counts, 0, left.counts, left.n + 1, right.n + 1);
+        }
+        left.n += right.n + 1;
+
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.n - i - 1);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.n - i - 1);
+        System.arraycopy(parent.counts, i + 2, parent.counts, i + 1, parent.n - i - 1);
+        parent.n--;
+        parent.keys[parent.n] = null;
+        parent.children[parent.n + 1] = null;
+        parent.counts[i] = left.total();
+    }
+
+    private T first(Node node) {
+        while (!node.leaf()) {
+            node = node.children[0];
+        }
+        return key(node, 0);
+    }
+
+    private T last(Node node) {
+        while (!node.leaf()) {
+            node = node.children[node.n];
+        }
+        return key(node, node.n - 1);
+    }
+
+    // ---- order statistics ----
+
+    @Override
+    public int rank(T key) {
+        requireKey(key);
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int i = lowerBound(node, key, true);
+            rank += i;
+            if (!node.leaf()) {
+                for (int c = 0; c < i; c++) {
+                    rank += node.counts[c];
+                }
+            }
+            if (matches(node, i, key)) {
+                return node.leaf() ? rank : rank + node.counts[i];
+            }
+            node = node.leaf() ? null : node.children[i];
+        }
+        return rank;
+    }
+
+    @Override
+    public T select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        Node node = root;
+        while (!node.leaf()) {
+            int i = 0;
+            while (k >= node.counts[i]) {
+                k -= node.counts[i];
+                if (k == 0) {
+                    return key(node, i);
+                }
+                k--;
+                i++;
+            }
+            node = node.children[i];
+        }
+        return key(node, k);
+    }
+
+    // ---- iteration ----
+
+    @Override
+    public Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new BTreeIterator(true, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new BTreeIterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    // Stack of (node, index) frames, one per level. Ascending, the index is the next key of the
+    // node to return once the child in front of it is done; descending, it is one past that key.
+    private final class BTreeIterator implements Iterator<T> {
+        private final boolean ascending;
+        private final T to;
+        private final boolean toInclusive;
+        private final Node[] nodes = new Node[Math.max(height, 1)];
+        private final int[] indexes = new int[Math.max(height, 1)];
+        private int top = -1;
+        private T next;
+
+        BTreeIterator(boolean ascending, T from, boolean fromInclusive, T to, boolean toInclusive) {
+            this.ascending = ascending;
+            this.to = to;
+            this.toInclusive = toInclusive;
+            Node node = root;
+            while (node != null) {
+                int i;
+                if (from == null) {
+                    i = ascending ? 0 : node.n;
+                } else {
+                    // Ascending starts at the first key >= from (or > from); descending one past the last key <= from (or < from)
+                    i = lowerBound(node, from, ascending == fromInclusive);
+                }
+                push(node, i);
+                node = node.leaf() ? null : node.children[i];
+            }
+            advance();
+        }
+
+        private void push(Node node, int i) {
+            nodes[++top] = node;
+            indexes[top] = i;
+        }
+
+        private void advance() {
+            next = null;
+            while (top >= 0 && (ascending ? indexes[top] >= nodes[top].n : indexes[top] == 0)) {
+                top--;
+            }
+            if (top < 0) {
+                return;
+            }
+            Node node = nodes[top];
+            T key;
+            if (ascending) {
+                key = key(node, indexes[top]++);
+            } else {
+                key = key(node, --indexes[top]);
+            }
+            if (!node.leaf()) {
+                // Descend to the edge of the subtree on the far side of the key just taken
+                Node child = node.children[indexes[top]];
+                while (child != null) {
+                    int i = ascending ? 0 : child.n;
+                    push(child, i);
+                    child = child.leaf() ? null : child.children[i];
+                }
+            }
+            if (to != null) {
+                int compareResult = key.compareTo(to);
+                if ((ascending ? compareResult > 0 : compareResult < 0) || compareResult == 0 && !toInclusive) {
+                    top = -1;
+                    return;
+                }
+            }
+            next = key;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            T key = next;
+            advance();
+            return key;
+        }
+    }
+
+    // ---- bulk build ----
+
+    // Build the tree in O(n) from strictly ascending keys (tree must be empty): the lowest height
+    // that can hold them, with the keys spread evenly so every node has at least t - 1
+    @Override
+    public void buildFromSorted(List<T> sortedKeys) {
+        if (size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        Trees.checkStrictlyAscending(sortedKeys);
+        int count = sortedKeys.size();
+        if (count == 0) {
+            return;
+        }
+        int levels = 1;
+        while (capacity(levels) < count) {
+            levels++;
+        }
+        root = build(sortedKeys, 0, count, levels);
+        size = count;
+        height = levels;
+    }
+
+    // Most keys a subtree of the given height can hold: (2t)^height - 1, capped
+    private long capacity(int levels) {
+        long capacity = 1;
+        for (int i = 0; i < levels && capacity <= Integer.MAX_VALUE; i++) {
+            capacity *= 2L * t;
+        }
+        return capacity - 1;
+    }
+
+    private Node build(List<T> keys, int from, int count, int levels) {
+        Node node = new Node(t, levels == 1);
+        if (levels == 1) {
+            for (int i = 0; i < count; i++) {
+                node.keys[i] = keys.get(from + i);
+            }
+            node.n = count;
+            return node;
+        }
+        long childCapacity = capacity(levels - 1);
+        int children = (int) ((count + 1 + childCapacity) / (childCapacity + 1)); // ceil((count + 1) / (childCapacity + 1))
+        int childKeys = count - (children - 1);
+        int position = from;
+        for (int c = 0; c < children; c++) {
+            int keysInChild = childKeys / children + (c < childKeys % children ? 1 : 0);
+            node.children[c] = build(keys, position, keysInChild, levels - 1);
+            node.counts[c] = keysInChild;
+            position += keysInChild;
+            if (c < children - 1) {
+                node.keys[c] = keys.get(position++);
+            }
+        }
+        node.n = children - 1;
+        return node;
+    }
+
+    // ---- reporting ----
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Number of node levels, i.e. child pointers followed by a lookup that reaches a leaf (empty tree = 0)
+    @Override
+    public int height() {
+        return height;
+    }
+
+    public void printdictinory() {
+        System.out.println("Dictionary contents (B-Tree - in-order traversal):");
+        if (root == null) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + size);
+        System.out.println("--------------------------------------");
+        ascendingIterator().forEachRemaining(key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+}
@@ -0,0 +1,102 @@
+package BSTs;
+
+// In-order iterator over a key range of a binary search tree, ascending or descending. It keeps an
+// explicit stack of at most height + 1 nodes: positioning at the start bound costs O(log n), each
+// further key amortized O(1), so reading k keys from anywhere costs O(log n + k) and the walk can
+// stop at any point. Each tree supplies how to read its nodes; results are undefined if the tree
+// is modified during iteration (except for trees whose nodes never change).
+abstract class BoundedIterator<N, T extends Comparable<T>> implements java.util.Iterator<T> {
+    private final java.util.ArrayDeque<N> stack = new java.util.ArrayDeque<>();
+    private final boolean ascending;
+    private final T to;
+    private final boolean toInclusive;
+    private T next;
+
+    BoundedIterator(boolean ascending, T to, boolean toInclusive) {
+        this.ascending = ascending;
+        this.to = to;
+        this.toInclusive = toInclusive;
+    }
+
+    protected abstract N left(N node);
+
+    protected abstract N right(N node);
+
+    protected abstract T key(N node);
+
+    protected boolean isNull(N node) {
+        return node == null;
+    }
+
+    // Nodes that stay in the tree without holding a key (e.g. routing nodes) are passed over
+    protected boolean skip(N node) {
+        return false;
+    }
+
+    // Push the path to the first key at or past from (a null bound starts at the first key)
+    final BoundedIterator<N, T> start(N root, T from, boolean fromInclusive) {
+        N node = root;
+        while (!isNull(node)) {
+            if (beyond(from, key(node), fromInclusive)) {
+                stack.push(node);
+                node = near(node);
+            } else {
+                node = far(node);
+            }
+        }
+        advance();
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (next == null) {
+            throw new java.util.NoSuchElementException();
+        }
+        T result = next;
+        advance();
+        return result;
+    }
+
+    private void advance() {
+        while (!stack.isEmpty()) {
+            N node = stack.pop();
+            for (N child = far(node); !isNull(child); child = near(child)) {
+                stack.push(child);
+            }
+            if (skip(node)) {
+                continue;
+            }
+            T key = key(node);
+            if (to != null && !beyond(key, to, toInclusive)) {
+                break;
+            }
+            next = key;
+            return;
+        }
+        stack.clear();
+        next = null;
+    }
+
+    // Whether key lies at or past bound in iteration order (strictly past unless inclusive)
+    private boolean beyond(T bound, T key, boolean inclusive) {
+        if (bound == null) {
+            return true;
+        }
+        int compareResult = ascending ? key.compareTo(bound) : bound.compareTo(key);
+        return compareResult > 0 || (compareResult == 0 && inclusive);
+    }
+
+    private N near(N node) {
+        return ascending ? left(node) : right(node);
+    }
+
+    private N far(N node) {
+        return ascending ? right(node) : left(node);
+    }
+}
@@ -0,0 +1,860 @@
+package BSTs;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Concurrent relaxed-balance AVL tree after Bronson, Casper, Chafi and Olukotun,
+ * "A Practical Concurrent Binary Search Tree" (PPoPP 2010).
+ *
+ * - Searches take no locks. Each node carries a version that a rotation marks as shrinking
+ *   while the node moves down; readers validate versions hand-over-hand and retry on change.
+ * - Updates lock only the node where the key is linked in or unlinked (plus its parent for
+ *   an unlink), and rebalancing locks the handful of nodes a rotation touches, top-down.
+ * - Deleting a node with two children only clears its present flag; the routing node is
+ *   unlinked later, once it has at most one child.
+ *
+ * Heights follow the paper internally (null = 0, leaf = 1); height() reports the same
+ * value as AVL.height() (empty = -1, single node = 0).
+ */
+public class ConcurrentAVL<T extends Comparable<T>> implements Trees<T> {
+    private static final long UNLINKED = 0x1L;
+    private static final long SHRINKING = 0x2L;
+    private static final long SHRINK_COUNT_INCR = 0x4L;
+
+    private static final int UNLINK_REQUIRED = -1;
+    private static final int REBALANCE_REQUIRED = -2;
+    private static final int NOTHING_REQUIRED = -3;
+
+    private static final int SPIN_COUNT = 100;
+
+    // Result of an attempt that observed a concurrent change and must be retried
+    private static final Object RETRY = new Object();
+
+    // Sentinel whose right child is the root; it is never rotated or unlinked
+    private final Node rootHolder = new Node(null, 0, false, null);
+    private final LongAdder size = new LongAdder();
+
+    private final class Node {
+        final T key;
+        volatile int height;
+        volatile boolean present;
+        volatile Node parent;
+        volatile long version;
+        volatile Node left, right;
+
+        Node(T key, int height, boolean present, Node parent) {
+            this.key = key;
+            this.height = height;
+            this.present = present;
+            this.parent = parent;
+        }
+
+        Node child(int dir) {
+            return dir < 0 ? left : right;
+        }
+
+        void setChild(int dir, Node node) {
+            if (dir < 0) {
+                left = node;
+            } else {
+                right = node;
+            }
+        }
+
+        // A rotation holds this node's lock while it is shrinking, so block on it after a short spin
+        void waitUntilNotShrinking() {
+            long v = version;
+            if ((v & SHRINKING) != 0) {
+                int i = 0;
+                while (version == v && i < SPIN_COUNT) {
+                    ++i;
+                }
+                if (i == SPIN_COUNT) {
+                    synchronized (this) {
+                        // lock released means the rotation finished
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isShrinkingOrUnlinked(long version) {
+        return (version & (SHRINKING | UNLINKED)) != 0;
+    }
+
+    private static boolean isUnlinked(long version) {
+        return (version & UNLINKED) != 0;
+    }
+
+    private static long beginChange(long version) {
+        return version | SHRINKING;
+    }
+
+    private static long endChange(long version) {
+        return (version & ~SHRINKING) + SHRINK_COUNT_INCR;
+    }
+
+    private int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    // ---------------------------------------------------------------- search
+
+    @Override
+    public boolean search(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        while (true) {
+            Node right = rootHolder.right;
+            if (right == null) {
+                return false;
+            }
+            int cmp = key.compareTo(right.key);
+            if (cmp == 0) {
+                return right.present;
+            }
+            long ovl = right.version;
+            if (isShrinkingOrUnlinked(ovl)) {
+                right.waitUntilNotShrinking();
+            } else if (right == rootHolder.right) {
+                Object result = attemptSearch(key, right, cmp, ovl);
+                if (result != RETRY) {
+                    return (Boolean) result;
+                }
+            }
+        }
+    }
+
+    private Object attemptSearch(T key, Node node, int dirToChild, long nodeOVL) {
+        while (true) {
+            Node child = node.child(dirToChild);
+            if (child == null) {
+                if (node.version != nodeOVL) {
+                    return RETRY;
+                }
+                return Boolean.FALSE;
+            }
+            int childCmp = key.compareTo(child.key);
+            if (childCmp == 0) {
+                return child.present;
+            }
+            long childOVL = child.version;
+            if (isShrinkingOrUnlinked(childOVL)) {
+                child.waitUntilNotShrinking();
+                if (node.version != nodeOVL) {
+                    return RETRY;
+                }
+            } else if (child != node.child(dirToChild)) {
+                if (node.version != nodeOVL) {
+                    return RETRY;
+                }
+            } else {
+                // The child was reached while node's version was unchanged, so continue from it
+                if (node.version != nodeOVL) {
+                    return RETRY;
+                }
+                Object result = attemptSearch(key, child, childCmp, childOVL);
+                if (result != RETRY) {
+                    return result;
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- insert / delete
+
+    @Override
+    public boolean insert(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        boolean wasPresent = update(key, true);
+        if (!wasPresent) {
+            size.increment();
+        }
+        return !wasPresent;
+    }
+
+    @Override
+    public boolean delete(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        boolean wasPresent = update(key, false);
+        if (wasPresent) {
+            size.decrement();
+        }
+        return wasPresent;
+    }
+
+    // Set the key's presence and return whether it was present before
+    private boolean update(T key, boolean newPresent) {
+        while (true) {
+            Node right = rootHolder.right;
+            if (right == null) {
+                if (!newPresent) {
+                    return false;
+                }
+                synchronized (rootHolder) {
+                    if (rootHolder.right == null) {
+                        rootHolder.right = new Node(key, 1, true, rootHolder);
+                        return false;
+                    }
+                }
+                // Lost the race to create the root; retry
+            } else {
+                long ovl = right.version;
+                if (isShrinkingOrUnlinked(ovl)) {
+                    right.waitUntilNotShrinking();
+                } else if (right == rootHolder.right) {
+                    Object result = attemptUpdate(key, newPresent, rootHolder, right, ovl);
+                    if (result != RETRY) {
+                        return (Boolean) result;
+                    }
+                }
+            }
+        }
+    }
+
+    private Object attemptUpdate(T key, boolean newPresent, Node parent, Node node, long nodeOVL) {
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0) {
+            return attemptNodeUpdate(newPresent, parent, node);
+        }
+        while (true) {
+            Node child = node.child(cmp);
+            if (node.version != nodeOVL) {
+                return RETRY;
+            }
+            if (child == null) {
+                if (!newPresent) {
+                    return Boolean.FALSE;
+                }
+                Node damaged;
+                synchronized (node) {
+                    if (node.version != nodeOVL) {
+                        return RETRY;
+                    }
+                    if (node.child(cmp) != null) {
+                        // Someone else linked a child here first; look again
+                        continue;
+                    }
+                    node.setChild(cmp, new Node(key, 1, true, node));
+                    damaged = fixHeight_nl(node);
+                }
+                fixHeightAndRebalance(damaged);
+                return Boolean.FALSE;
+            }
+            long childOVL = child.version;
+            if (isShrinkingOrUnlinked(childOVL)) {
+                child.waitUntilNotShrinking();
+            } else if (child != node.child(cmp)) {
+                // The link changed under us; re-read it
+            } else {
+                if (node.version != nodeOVL) {
+                    return RETRY;
+                }
+                Object result = attemptUpdate(key, newPresent, node, child, childOVL);
+                if (result != RETRY) {
+                    return result;
+                }
+            }
+        }
+    }
+
+    private Object attemptNodeUpdate(boolean newPresent, Node parent, Node node) {
+        if (!newPresent && !node.present) {
+            return Boolean.FALSE;
+        }
+        if (!newPresent && (node.left == null || node.right == null)) {
+            // The node can be spliced out right away, which needs the parent locked too
+            boolean wasPresent;
+            Node damaged;
+            synchronized (parent) {
+                if (isUnlinked(parent.version) || node.parent != parent) {
+                    return RETRY;
+                }
+                synchronized (node) {
+                    wasPresent = node.present;
+                    if (!wasPresent) {
+                        return Boolean.FALSE;
+                    }
+                    if (!attemptUnlink_nl(parent, node)) {
+                        return RETRY;
+                    }
+                }
+                damaged = fixHeight_nl(parent);
+            }
+            fixHeightAndRebalance(damaged);
+            return Boolean.TRUE;
+        }
+        synchronized (node) {
+            if (isUnlinked(node.version)) {
+                return RETRY;
+            }
+            if (!newPresent && (node.left == null || node.right == null)) {
+                // A child disappeared since the check above; take the unlink path instead
+                return RETRY;
+            }
+            boolean wasPresent = node.present;
+            node.present = newPresent;
+            return wasPresent;
+        }
+    }
+
+    // Splice out a node with at most one child; parent and node must be locked
+    private boolean attemptUnlink_nl(Node parent, Node node) {
+        Node parentL = parent.left;
+        Node parentR = parent.right;
+        if (parentL != node && parentR != node) {
+            return false;
+        }
+        Node left = node.left;
+        Node right = node.right;
+        if (left != null && right != null) {
+            return false;
+        }
+        Node splice = left != null ? left : right;
+        if (parentL == node) {
+            parent.left = splice;
+        } else {
+            parent.right = splice;
+        }
+        if (splice != null) {
+            splice.parent = parent;
+        }
+        node.version = UNLINKED;
+        node.present = false;
+        return true;
+    }
+
+    // ---------------------------------------------------------------- rebalancing
+
+    // What the node needs: an unlink, a rotation, a new height (returned as-is), or nothing
+    private int nodeCondition(Node node) {
+        Node nL = node.left;
+        Node nR = node.right;
+        if ((nL == null || nR == null) && !node.present) {
+            return UNLINK_REQUIRED;
+        }
+        int hN = node.height;
+        int hL0 = height(nL);
+        int hR0 = height(nR);
+        int hNRepl = 1 + Math.max(hL0, hR0);
+        int bal = hL0 - hR0;
+        if (bal < -1 || bal > 1) {
+            return REBALANCE_REQUIRED;
+        }
+        return hN != hNRepl ? hNRepl : NOTHING_REQUIRED;
+    }
+
+    // Walk up from a damaged node, repairing heights and balance until nothing is left to do
+    private void fixHeightAndRebalance(Node node) {
+        while (node != null && node.parent != null) {
+            int condition = nodeCondition(node);
+            if (condition == NOTHING_REQUIRED || isUnlinked(node.version)) {
+                return;
+            }
+            if (condition != UNLINK_REQUIRED && condition != REBALANCE_REQUIRED) {
+                synchronized (node) {
+                    node = fixHeight_nl(node);
+                }
+            } else {
+                Node nParent = node.parent;
+                synchronized (nParent) {
+                    if (!isUnlinked(nParent.version) && node.parent == nParent) {
+                        synchronized (node) {
+                            node = rebalance_nl(nParent, node);
+                        }
+                    }
+                    // otherwise the parent changed; retry with the same node
+                }
+            }
+        }
+    }
+
+    // Returns the next node to look at, or null if the change stopped propagating
+    private Node fixHeight_nl(Node node) {
+        int condition = nodeCondition(node);
+        switch (condition) {
+            case REBALANCE_REQUIRED:
+            case UNLINK_REQUIRED:
+                return node;
+            case NOTHING_REQUIRED:
+                return null;
+            default:
+                node.height = condition;
+                return node.parent;
+        }
+    }
+
+    private Node rebalance_nl(Node nParent, Node n) {
+        Node nL = n.left;
+        Node nR = n.right;
+        if ((nL == null || nR == null) && !n.present) {
+            if (attemptUnlink_nl(nParent, n)) {
+                return fixHeight_nl(nParent);
+            }
+            return n;
+        }
+
+        int hN = n.height;
+        int hL0 = height(nL);
+        int hR0 = height(nR);
+        int hNRepl = 1 + Math.max(hL0, hR0);
+        int bal = hL0 - hR0;
+
+        if (bal > 1) {
+            return rebalanceToRight_nl(nParent, n, nL, hR0);
+        } else if (bal < -1) {
+            return rebalanceToLeft_nl(nParent, n, nR, hL0);
+        } else if (hNRepl != hN) {
+            n.height = hNRepl;
+            return fixHeight_nl(nParent);
+        }
+        return null;
+    }
+
+    private Node rebalanceToRight_nl(Node nParent, Node n, Node nL, int hR0) {
+        synchronized (nL) {
+            int hL = nL.height;
+            if (hL - hR0 <= 1) {
+                return n; // retry
+            }
+            Node nLR = nL.right;
+            int hLL0 = height(nL.left);
+            int hLR0 = height(nLR);
+            if (hLL0 >= hLR0) {
+                // Left-Left case
+                return rotateRight_nl(nParent, n, nL, hR0, hLL0, nLR, hLR0);
+            }
+            synchronized (nLR) {
+                int hLR = nLR.height;
+                if (hLL0 >= hLR) {
+                    return rotateRight_nl(nParent, n, nL, hR0, hLL0, nLR, hLR);
+                }
+                // Left-Right case, done as one double rotation when the result is balanced
+                int hLRL = height(nLR.left);
+                int b = hLL0 - hLRL;
+                if (b >= -1 && b <= 1 && !((hLL0 == 0 || hLRL == 0) && !nL.present)) {
+                    return rotateRightOverLeft_nl(nParent, n, nL, hR0, hLL0, nLR, hLRL);
+                }
+            }
+            // Otherwise first fix the left child, then come back to n
+            return rebalanceToLeft_nl(n, nL, nLR, hLL0);
+        }
+    }
+
+    private Node rebalanceToLeft_nl(Node nParent, Node n, Node nR, int hL0) {
+        synchronized (nR) {
+            int hR = nR.height;
+            if (hL0 - hR >= -1) {
+                return n; // retry
+            }
+            Node nRL = nR.left;
+            int hRL0 = height(nRL);
+            int hRR0 = height(nR.right);
+            if (hRR0 >= hRL0) {
+                // Right-Right case
+                return rotateLeft_nl(nParent, n, hL0, nR, nRL, hRL0, hRR0);
+            }
+            synchronized (nRL) {
+                int hRL = nRL.height;
+                if (hRR0 >= hRL) {
+                    return rotateLeft_nl(nParent, n, hL0, nR, nRL, hRL, hRR0);
+                }
+                // Right-Left case
+                int hRLR = height(nRL.right);
+                int b = hRR0 - hRLR;
+                if (b >= -1 && b <= 1 && !((hRR0 == 0 || hRLR == 0) && !nR.present)) {
+                    return rotateLeftOverRight_nl(nParent, n, hL0, nR, nRL, hRR0, hRLR);
+                }
+            }
+            return rebalanceToRight_nl(n, nR, nRL, hRR0);
+        }
+    }
+
+    private Node rotateRight_nl(Node nParent, Node n, Node nL, int hR, int hLL, Node nLR, int hLR) {
+        long nodeOVL = n.version;
+        Node nPL = nParent.left;
+
+        n.version = beginChange(nodeOVL);
+
+        n.left = nLR;
+        if (nLR != null) {
+            nLR.parent = n;
+        }
+        nL.right = n;
+        n.parent = nL;
+        if (nPL == n) {
+            nParent.left = nL;
+        } else {
+            nParent.right = nL;
+        }
+        nL.parent = nParent;
+
+        int hNRepl = 1 + Math.max(hLR, hR);
+        n.height = hNRepl;
+        nL.height = 1 + Math.max(hLL, hNRepl);
+
+        n.version = endChange(nodeOVL);
+
+        // Report the lowest node that may still need work
+        int balN = hLR - hR;
+        if (balN < -1 || balN > 1) {
+            return n;
+        }
+        if ((nLR == null || hR == 0) && !n.present) {
+            return n;
+        }
+        int balL = hLL - hNRepl;
+        if (balL < -1 || balL > 1) {
+            return nL;
+        }
+        if (hLL == 0 && !nL.present) {
+            return nL;
+        }
+        return fixHeight_nl(nParent);
+    }
+
+    private Node rotateLeft_nl(Node nParent, Node n, int hL, Node nR, Node nRL, int hRL, int hRR) {
+        long nodeOVL = n.version;
+        Node nPL = nParent.left;
+
+        n.version = beginChange(nodeOVL);
+
+        n.right = nRL;
+        if (nRL != null) {
+            nRL.parent = n;
+        }
+        nR.left = n;
+        n.parent = nR;
+        if (nPL == n) {
+            nParent.left = nR;
+        } else {
+            nParent.right = nR;
+        }
+        nR.parent = nParent;
+
+        int hNRepl = 1 + Math.max(hL, hRL);
+        n.height = hNRepl;
+        nR.height = 1 + Math.max(hNRepl, hRR);
+
+        n.version = endChange(nodeOVL);
+
+        int balN = hRL - hL;
+        if (balN < -1 || balN > 1) {
+            return n;
+        }
+        if ((nRL == null || hL == 0) && !n.present) {
+            return n;
+        }
+        int balR = hRR - hNRepl;
+        if (balR < -1 || balR > 1) {
+            return nR;
+        }
+        if (hRR == 0 && !nR.present) {
+            return nR;
+        }
+        return fixHeight_nl(nParent);
+    }
+
+    private Node rotateRightOverLeft_nl(Node nParent, Node n, Node nL, int hR, int hLL, Node nLR, int hLRL) {
+        long nodeOVL = n.version;
+        long leftOVL = nL.version;
+        Node nPL = nParent.left;
+        Node nLRL = nLR.left;
+        Node nLRR = nLR.right;
+        int hLRR = height(nLRR);
+
+        n.version = beginChange(nodeOVL);
+        nL.version = beginChange(leftOVL);
+
+        n.left = nLRR;
+        if (nLRR != null) {
+            nLRR.parent = n;
+        }
+        nL.right = nLRL;
+        if (nLRL != null) {
+            nLRL.parent = nL;
+        }
+        nLR.left = nL;
+        nL.parent = nLR;
+        nLR.right = n;
+        n.parent = nLR;
+        if (nPL == n) {
+            nParent.left = nLR;
+        } else {
+            nParent.right = nLR;
+        }
+        nLR.parent = nParent;
+
+        int hNRepl = 1 + Math.max(hLRR, hR);
+        n.height = hNRepl;
+        int hLRepl = 1 + Math.max(hLL, hLRL);
+        nL.height = hLRepl;
+        nLR.height = 1 + Math.max(hLRepl, hNRepl);
+
+        n.version = endChange(nodeOVL);
+        nL.version = endChange(leftOVL);
+
+        int balN = hLRR - hR;
+        if (balN < -1 || balN > 1) {
+            return n;
+        }
+        if ((nLRR == null || hR == 0) && !n.present) {
+            return n;
+        }
+        int balLR = hLRepl - hNRepl;
+        if (balLR < -1 || balLR > 1) {
+            return nLR;
+        }
+        return fixHeight_nl(nParent);
+    }
+
+    private Node rotateLeftOverRight_nl(Node nParent, Node n, int hL, Node nR, Node nRL, int hRR, int hRLR) {
+        long nodeOVL = n.version;
+        long rightOVL = nR.version;
+        Node nPL = nParent.left;
+        Node nRLL = nRL.left;
+        Node nRLR = nRL.right;
+        int hRLL = height(nRLL);
+
+        n.version = beginChange(nodeOVL);
+        nR.version = beginChange(rightOVL);
+
+        n.right = nRLL;
+        if (nRLL != null) {
+            nRLL.parent = n;
+        }
+        nR.left = nRLR;
+        if (nRLR != null) {
+            nRLR.parent = nR;
+        }
+        nRL.right = nR;
+        nR.parent = nRL;
+        nRL.left = n;
+        n.parent = nRL;
+        if (nPL == n) {
+            nParent.left = nRL;
+        } else {
+            nParent.right = nRL;
+        }
+        nRL.parent = nParent;
+
+        int hNRepl = 1 + Math.max(hL, hRLL);
+        n.height = hNRepl;
+        int hRRepl = 1 + Math.max(hRLR, hRR);
+        nR.height = hRRepl;
+        nRL.height = 1 + Math.max(hNRepl, hRRepl);
+
+        n.version = endChange(nodeOVL);
+        nR.version = endChange(rightOVL);
+
+        int balN = hRLL - hL;
+        if (balN < -1 || balN > 1) {
+            return n;
+        }
+        if ((nRLL == null || hL == 0) && !n.present) {
+            return n;
+        }
+        int balRL = hRRepl - hNRepl;
+        if (balRL < -1 || balRL > 1) {
+            return nRL;
+        }
+        return fixHeight_nl(nParent);
+    }
+
+    // ---------------------------------------------------------------- size / height / traversal
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    // Same convention as AVL.height(); exact once concurrent updates have finished rebalancing
+    @Override
+    public int height() {
+        return height(rootHolder.right) - 1;
+    }
+
+    // Keeping subtree sizes would make every update write to each node up to the root, serializing
+    // the writers this tree exists to keep apart. Order statistics therefore walk the tree in order,
+    // stopping as soon as the answer is known (O(rank)), and like inorderTraversal are not a snapshot.
+    @Override
+    public int rank(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int rank = 0;
+        java.util.ArrayDeque<Node> stack = new java.util.ArrayDeque<>();
+        Node current = rootHolder.right;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            if (current.key.compareTo(key) >= 0) {
+                return rank;
+            }
+            if (current.present) {
+                rank++;
+            }
+            current = current.right;
+        }
+        return rank;
+    }
+
+    @Override
+    public T select(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        int remaining = k;
+        java.util.ArrayDeque<Node> stack = new java.util.ArrayDeque<>();
+        Node current = rootHolder.right;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            if (current.present && remaining-- == 0) {
+                return current.key;
+            }
+            current = current.right;
+        }
+        throw new IllegalArgumentException("Index out of range: " + k);
+    }
+
+    @Override
+    public java.util.Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(true, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public java.util.Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    // Weakly consistent, but unlike inorderTraversal never out of order: each step is a fresh
+    // nextKey descent from the last key returned, so keys come out strictly increasing (decreasing)
+    // within the bounds, and a key present for the whole walk is always among them. The price is
+    // O(log n) per key instead of amortized O(1).
+    private java.util.Iterator<T> iterator(boolean ascending, T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new java.util.Iterator<T>() {
+            private T next = bounded(nextKey(ascending, from, fromInclusive));
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new java.util.NoSuchElementException();
+                }
+                T result = next;
+                next = bounded(nextKey(ascending, result, false));
+                return result;
+            }
+
+            private T bounded(T key) {
+                if (key != null && to != null) {
+                    int compareResult = ascending ? key.compareTo(to) : to.compareTo(key);
+                    if (compareResult > 0 || (compareResult == 0 && !toInclusive)) {
+                        return null;
+                    }
+                }
+                return key;
+            }
+        };
+    }
+
+    // First key past bound in iteration order (at or past it if inclusive; a null bound gives the
+    // first key), or null if there is none. The descent reads versions hand-over-hand like search,
+    // then checks that no node on its path has shrunk or been unlinked since. Every link change
+    // marks a node on the path, so the path was then the tree's real path when its final null link
+    // was read, and the last node where it turned toward bound was the next node in order at that
+    // moment. A routing node found that way holds no key, so the search goes on past it.
+    private T nextKey(boolean ascending, T bound, boolean inclusive) {
+        java.util.ArrayList<Node> path = new java.util.ArrayList<>();
+        long[] versions = new long[64];
+        retry:
+        while (true) {
+            Node candidate = null;
+            Node parent = rootHolder;
+            int dir = 1;
+            path.clear();
+            for (Node node = parent.child(dir); node != null; node = parent.child(dir)) {
+                long ovl = node.version;
+                if (isShrinkingOrUnlinked(ovl)) {
+                    node.waitUntilNotShrinking();
+                    continue retry;
+                }
+                if (node != parent.child(dir)) {
+                    continue retry;
+                }
+                if (path.size() == versions.length) {
+                    versions = java.util.Arrays.copyOf(versions, 2 * versions.length);
+                }
+                versions[path.size()] = ovl;
+                path.add(node);
+                int cmp = bound == null ? -1 : ascending ? bound.compareTo(node.key) : node.key.compareTo(bound);
+                if (cmp == 0 && inclusive && node.present) {
+                    return node.key;
+                }
+                if (cmp < 0) {
+                    candidate = node;
+                    dir = ascending ? -1 : 1;
+                } else {
+                    dir = ascending ? 1 : -1;
+                }
+                parent = node;
+            }
+            for (int i = 0; i < path.size(); i++) {
+                if (path.get(i).version != versions[i]) {
+                    continue retry;
+                }
+            }
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate.present) {
+                return candidate.key;
+            }
+            bound = candidate.key;
+            inclusive = false;
+        }
+    }
+
+    public void printdictinory() {
+        System.out.println("Dictionary contents (Concurrent AVL Tree - in-order traversal):");
+        if (rootHolder.right == null) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + size());
+        System.out.println("--------------------------------------");
+        inorderTraversal(key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+
+    // Not a snapshot: keys can be missed or repeated if rotations run during the walk
+    public void inorderTraversal(java.util.function.Consumer<T> consumer) {
+        inorderTraversal(rootHolder.right, consumer);
+    }
+
+    private void inorderTraversal(Node node, java.util.function.Consumer<T> consumer) {
+        if (node == null) return;
+        inorderTraversal(node.left, consumer);
+        if (node.present) {
+            consumer.accept(node.key);
+        }
+        inorderTraversal(node.right, consumer);
+    }
+}
@@ -0,0 +1,153 @@
+package BSTs;
+
+// Counting Bloom filter: answers "definitely absent" or "possibly present" for a key in O(k)
+// array probes, so a lookup that misses can skip the tree descent entirely. Each of the k
+// positions a key hashes to holds a 4-bit counter rather than a bit, which is what makes remove
+// possible; a counter that reaches 15 stays there, since decrementing it could otherwise drop to
+// zero while some key still maps to it and turn a present key into a false "absent".
+//
+// Sized for a number of keys and a target false-positive rate; loaded past that number the rate
+// climbs, so owners check isOverloaded() and rebuild a larger filter from their keys. The two
+// hash functions are derived from hashCode(), so keys with equal hash codes are always confused
+// with each other: with 32-bit String hashes that puts a floor of about n / 2^32 under the rate.
+//
+// Not thread-safe; guard it with the lock that guards the keys it summarizes.
+public final class CountingBloomFilter<T> {
+    private static final int COUNTERS_PER_WORD = 16; // 4 bits each
+    private static final long MAX_COUNT = 15;
+    private static final int MIN_KEYS = 64;
+
+    private final long[] words;
+    private final int counters;
+    private final int hashes;
+    private final int capacity;
+    private final double targetRate;
+    private int size;
+
+    public CountingBloomFilter(int expectedKeys, double falsePositiveRate) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("Expected keys cannot be negative: " + expectedKeys);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        // Standard sizing: m = -n ln p / (ln 2)^2 counters and k = (m / n) ln 2 hash functions,
+        // about 9.6 counters and 7 probes per key at 1%
+        int keys = Math.max(expectedKeys, MIN_KEYS);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (ln2 * ln2));
+        if (m > Integer.MAX_VALUE - COUNTERS_PER_WORD) {
+            throw new IllegalArgumentException("Filter too large for " + expectedKeys + " keys");
+        }
+        counters = (int) m;
+        hashes = Math.max(1, (int) Math.round((double) m / keys * ln2));
+        words = new long[(counters + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD];
+        capacity = keys;
+        targetRate = falsePositiveRate;
+    }
+
+    private static <T> T requireKey(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    // Murmur3's 64-bit finalizer over the hash code; its two halves seed double hashing,
+    // h1 + i * h2 for i = 0..k-1, which behaves like k independent hash functions
+    private static long mix(Object key) {
+        long z = key.hashCode() * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    // Map a 32-bit hash onto [0, counters) with a multiply instead of a division
+    private int position(int hash) {
+        return (int) (((hash & 0xFFFFFFFFL) * counters) >>> 32);
+    }
+
+    private long count(int position) {
+        return words[position >>> 4] >>> ((position & 15) << 2) & MAX_COUNT;
+    }
+
+    public boolean mightContain(T key) {
+        requireKey(key);
+        long z = mix(key);
+        int h1 = (int) z;
+        int h2 = (int) (z >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            if (count(position(h1 + i * h2)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Adding a key twice counts it twice; remove it as many times to clear it
+    public void add(T key) {
+        requireKey(key);
+        long z = mix(key);
+        int h1 = (int) z;
+        int h2 = (int) (z >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int position = position(h1 + i * h2);
+            if (count(position) < MAX_COUNT) {
+                words[position >>> 4] += 1L << ((position & 15) << 2);
+            }
+        }
+        size++;
+    }
+
+    // Only remove keys that were added. Returns false, changing nothing, if the key is
+    // certainly absent (some counter is already zero).
+    public boolean remove(T key) {
+        if (!mightContain(key)) {
+            return false;
+        }
+        long z = mix(key);
+        int h1 = (int) z;
+        int h2 = (int) (z >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int position = position(h1 + i * h2);
+            long count = count(position);
+            // A saturated counter may be covering more keys than it can count, so it stays put
+            if (count > 0 && count < MAX_COUNT) {
+                words[position >>> 4] -= 1L << ((position & 15) << 2);
+            }
+        }
+        size--;
+        return true;
+    }
+
+    // Keys added and not removed
+    public int size() {
+        return size;
+    }
+
+    // Keys the filter was sized for
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isOverloaded() {
+        return size > capacity;
+    }
+
+    public int hashCount() {
+        return hashes;
+    }
+
+    public long memoryBytes() {
+        return words.length * (long) Long.BYTES;
+    }
+
+    public double targetFalsePositiveRate() {
+        return targetRate;
+    }
+
+    // Rate predicted for the current load: (1 - e^(-kn/m))^k
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashes * size / counters), hashes);
+    }
+}
@@ -0,0 +1,1058 @@
+package BSTs;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+// B+tree whose nodes are fixed-size pages in a file. Only a bounded buffer pool of pages lives on
+// the heap: a lookup reads one page per level, and with a fanout in the hundreds even
+// millions of keys take three or four levels, the upper ones almost always already in the pool.
+// Keys sit in the leaves, which are linked both ways for the iterators; internal pages hold
+// separators plus the key count under each child, for rank and select.
+//
+//   page 0:    magic "BPTB" | version | state (clean/open) | page size | root | levels | size | pages | free list
+//   leaf:      kind | key count (2 bytes) | prev leaf | next leaf | keys
+//   internal:  kind | key count (2 bytes) | (child page, keys under it) per child | keys
+//   key:       encoded length (2 bytes) | bytes from the KeyCodec
+//
+// The pool evicts least recently used pages, writing dirty ones back, and only between operations,
+// so an operation never sees a page it holds go stale. Even lookups reorder the pool, so every
+// method synchronizes on the tree. The file is consistent after flush() and reopenable after
+// close(); it is a page store, not a crash-safe one (the dictionary's write-ahead log covers that).
+public class DiskBPlusTree<T extends Comparable<T>> implements Trees<T>, Closeable {
+    private static final int MAGIC = 0x42505442; // "BPTB"
+    private static final byte VERSION = 1;
+    private static final byte CLEAN = 0;
+    private static final byte OPEN = 1;
+
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+    private static final byte FREE = 3;
+    private static final int LEAF_HEADER = 11;
+    private static final int INTERNAL_HEADER = 3;
+    private static final int CHILD_BYTES = 8;
+    private static final int KEY_OVERHEAD = 2;
+
+    public static final int DEFAULT_PAGE_SIZE = 8192;
+    public static final int DEFAULT_POOL_PAGES = 1024;
+    private static final int MIN_PAGE_SIZE = 128;
+    private static final int MAX_PAGE_SIZE = 1 << 16;
+    private static final int MIN_POOL_PAGES = 8;
+
+    // Page 0 holds the metadata, so it can stand for "no page"
+    private static final int NIL = 0;
+
+    // Turns keys into page bytes and back. Pages are searched on decoded keys, so the encoding
+    // does not have to preserve order.
+    public interface KeyCodec<K> {
+        byte[] encode(K key);
+
+        K decode(byte[] bytes);
+    }
+
+    public static final KeyCodec<String> STRINGS = new KeyCodec<String>() {
+        @Override
+        public byte[] encode(String key) {
+            return key.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    public static final KeyCodec<Integer> INTEGERS = new KeyCodec<Integer>() {
+        @Override
+        public byte[] encode(Integer key) {
+            return ByteBuffer.allocate(4).putInt(key).array();
+        }
+
+        @Override
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    private final FileChannel channel;
+    private final Path file;
+    private final boolean temporary;
+    private final KeyCodec<T> codec;
+    private final int pageSize;
+    private final int poolPages;
+    // Any key up to this size leaves room for at least four entries per page, so both halves of a split fit
+    private final int maxKeyBytes;
+    private final ByteBuffer scratch;
+
+    // Access-ordered, so iteration starts at the least recently used page
+    private final LinkedHashMap<Integer, Page> pool = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int root;
+    private int levels;
+    private int size;
+    private int pageCount;
+    private int freeList;
+    private long pageReads;
+    private long pageWrites;
+
+    // Open the tree stored in file, or start an empty one if the file is new or empty. An existing
+    // file keeps the page size it was created with.
+    public DiskBPlusTree(Path file, KeyCodec<T> codec) throws IOException {
+        this(file, codec, DEFAULT_PAGE_SIZE, DEFAULT_POOL_PAGES);
+    }
+
+    public DiskBPlusTree(Path file, KeyCodec<T> codec, int pageSize, int poolPages) throws IOException {
+        this(file, codec, pageSize, poolPages, false);
+    }
+
+    private DiskBPlusTree(Path file, KeyCodec<T> codec, int pageSize, int poolPages, boolean temporary) throws IOException {
+        if (pageSize < MIN_PAGE_SIZE || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between " + MIN_PAGE_SIZE + " and " + MAX_PAGE_SIZE);
+        }
+        if (poolPages < MIN_POOL_PAGES) {
+            throw new IllegalArgumentException("Buffer pool needs at least " + MIN_POOL_PAGES + " pages");
+        }
+        this.file = file;
+        this.temporary = temporary;
+        this.codec = codec;
+        this.poolPages = poolPages;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                this.pageSize = pageSize;
+                this.scratch = ByteBuffer.allocate(pageSize);
+                reset();
+            } else {
+                this.pageSize = readMeta();
+                this.scratch = ByteBuffer.allocate(this.pageSize);
+            }
+            writeMeta(OPEN);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.maxKeyBytes = this.pageSize / 4 - KEY_OVERHEAD - CHILD_BYTES;
+    }
+
+    // An empty tree in a new temporary file, deleted on close (or at exit)
+    public static <K extends Comparable<K>> DiskBPlusTree<K> temporary(KeyCodec<K> codec) throws IOException {
+        Path file = Files.createTempFile("dictionary", ".pages");
+        file.toFile().deleteOnExit();
+        return new DiskBPlusTree<>(file, codec, DEFAULT_PAGE_SIZE, DEFAULT_POOL_PAGES, true);
+    }
+
+    // ---- pages ----
+
+    private final class Page {
+        final int id;
+        final boolean leaf;
+        // Keys read from the file stay packed in the page image, and a search decodes only the few
+        // it probes; the first change to the keys unpacks them into the lists
+        private byte[] image;
+        private int[] offsets;
+        private ArrayList<T> keys;
+        private ArrayList<byte[]> encoded;
+        // Internal pages only: one more child than keys, and the number of keys under each
+        final ArrayList<Integer> children = new ArrayList<>();
+        final ArrayList<Integer> counts = new ArrayList<>();
+        // Leaf pages only
+        int prev = NIL;
+        int next = NIL;
+        int keyBytes;
+        boolean dirty;
+
+        Page(int id, boolean leaf) {
+            this.id = id;
+            this.leaf = leaf;
+            this.keys = new ArrayList<>();
+            this.encoded = new ArrayList<>();
+        }
+
+        Page(int id, boolean leaf, byte[] image, int[] offsets, int keyBytes) {
+            this.id = id;
+            this.leaf = leaf;
+            this.image = image;
+            this.offsets = offsets;
+            this.keyBytes = keyBytes;
+        }
+
+        int keyCount() {
+            return keys != null ? keys.size() : offsets.length;
+        }
+
+        T key(int index) {
+            return keys != null ? keys.get(index) : codec.decode(packed(index));
+        }
+
+        byte[] encodedKey(int index) {
+            return encoded != null ? encoded.get(index) : packed(index);
+        }
+
+        // Bytes the key at index takes in the page, length prefix included
+        int entryBytes(int index) {
+            return KEY_OVERHEAD + (encoded != null ? encoded.get(index).length : packedLength(offsets[index]));
+        }
+
+        // Same result as Collections.binarySearch
+        int find(T key) {
+            int lo = 0;
+            int hi = keyCount() - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int compareResult = key(mid).compareTo(key);
+                if (compareResult < 0) {
+                    lo = mid + 1;
+                } else if (compareResult > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(lo + 1);
+        }
+
+        void addKey(int index, T key, byte[] bytes) {
+            unpack();
+            keys.add(index, key);
+            encoded.add(index, bytes);
+            keyBytes += KEY_OVERHEAD + bytes.length;
+            dirty = true;
+        }
+
+        void removeKey(int index) {
+            unpack();
+            keys.remove(index);
+            keyBytes -= KEY_OVERHEAD + encoded.remove(index).length;
+            dirty = true;
+        }
+
+        private void unpack() {
+            if (keys != null) {
+                return;
+            }
+            keys = new ArrayList<>(offsets.length + 1);
+            encoded = new ArrayList<>(offsets.length + 1);
+            for (int i = 0; i < offsets.length; i++) {
+                byte[] bytes = packed(i);
+                keys.add(codec.decode(bytes));
+                encoded.add(bytes);
+            }
+            image = null;
+            offsets = null;
+        }
+
+        private byte[] packed(int index) {
+            int offset = offsets[index];
+            return Arrays.copyOfRange(image, offset + KEY_OVERHEAD, offset + KEY_OVERHEAD + packedLength(offset));
+        }
+
+        private int packedLength(int offset) {
+            return (image[offset] & 0xFF) << 8 | image[offset + 1] & 0xFF;
+        }
+
+        // Serialized size; may exceed the page size until the page is split
+        int bytes() {
+            return (leaf ? LEAF_HEADER : INTERNAL_HEADER + children.size() * CHILD_BYTES) + keyBytes;
+        }
+
+        int count() {
+            if (leaf) {
+                return keyCount();
+            }
+            int count = 0;
+            for (int c : counts) {
+                count += c;
+            }
+            return count;
+        }
+    }
+
+    private void moveKey(Page from, int fromIndex, Page to, int toIndex) {
+        to.addKey(toIndex, from.key(fromIndex), from.encodedKey(fromIndex));
+        from.removeKey(fromIndex);
+    }
+
+    // Fetch a page through the pool, reading it from the file on a miss
+    private Page page(int id) {
+        Page page = pool.get(id);
+        if (page == null) {
+            try {
+                page = readPage(id);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pool.put(id, page);
+        }
+        return page;
+    }
+
+    private Page allocate(boolean leaf) {
+        int id;
+        if (freeList != NIL) {
+            id = freeList;
+            try {
+                scratch.clear().limit(8);
+                readFully(scratch, (long) id * pageSize);
+                freeList = scratch.getInt(1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            id = pageCount++;
+        }
+        Page page = new Page(id, leaf);
+        page.dirty = true;
+        pool.put(id, page);
+        return page;
+    }
+
+    // Freed pages are chained through the file and reused before the file grows
+    private void free(Page page) {
+        pool.remove(page.id);
+        scratch.clear();
+        scratch.put(FREE).putInt(freeList).flip();
+        try {
+            writeFully(scratch, (long) page.id * pageSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        freeList = page.id;
+    }
+
+    // Called at the end of every operation: evict down to the pool size
+    private void release() {
+        Iterator<Page> pages = pool.values().iterator();
+        while (pool.size() > poolPages && pages.hasNext()) {
+            Page page = pages.next();
+            if (page.dirty) {
+                try {
+                    writePage(page);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            pages.remove();
+        }
+    }
+
+    private Page readPage(int id) throws IOException {
+        scratch.clear();
+        readFully(scratch, (long) id * pageSize);
+        pageReads++;
+        byte kind = scratch.get();
+        if (kind != LEAF && kind != INTERNAL) {
+            throw new IOException("Corrupt tree file: page " + id + " is not a node");
+        }
+        int count = scratch.getShort() & 0xFFFF;
+        int prev = NIL;
+        int next = NIL;
+        List<Integer> children = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        if (kind == LEAF) {
+            prev = scratch.getInt();
+            next = scratch.getInt();
+        } else {
+            for (int i = 0; i <= count; i++) {
+                children.add(scratch.getInt());
+                counts.add(scratch.getInt());
+            }
+        }
+        int[] offsets = new int[count];
+        int keyBytes = 0;
+        int offset = scratch.position();
+        for (int i = 0; i < count; i++) {
+            offsets[i] = offset;
+            int entry = KEY_OVERHEAD + (scratch.getShort(offset) & 0xFFFF);
+            offset += entry;
+            keyBytes += entry;
+        }
+        if (offset > pageSize) {
+            throw new IOException("Corrupt tree file: page " + id + " overflows");
+        }
+        Page page = new Page(id, kind == LEAF, Arrays.copyOf(scratch.array(), offset), offsets, keyBytes);
+        page.prev = prev;
+        page.next = next;
+        page.children.addAll(children);
+        page.counts.addAll(counts);
+        return page;
+    }
+
+    private void writePage(Page page) throws IOException {
+        scratch.clear();
+        scratch.put(page.leaf ? LEAF : INTERNAL).putShort((short) page.keyCount());
+        if (page.leaf) {
+            scratch.putInt(page.prev).putInt(page.next);
+        } else {
+            for (int i = 0; i < page.children.size(); i++) {
+                scratch.putInt(page.children.get(i)).putInt(page.counts.get(i));
+            }
+        }
+        for (int i = 0; i < page.keyCount(); i++) {
+            byte[] bytes = page.encodedKey(i);
+            scratch.putShort((short) bytes.length).put(bytes);
+        }
+        scratch.clear();
+        writeFully(scratch, (long) page.id * pageSize);
+        pageWrites++;
+        page.dirty = false;
+    }
+
+    // A page past the end of the file (never written yet) reads as zeros
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                while (buffer.hasRemaining()) {
+                    buffer.put((byte) 0);
+                }
+            }
+        }
+        buffer.flip();
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    private int readMeta() throws IOException {
+        ByteBuffer meta = ByteBuffer.allocate(34);
+        readFully(meta, 0);
+        if (meta.getInt() != MAGIC) {
+            throw new IOException("Not a B+tree file");
+        }
+        byte version = meta.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported B+tree file version: " + version);
+        }
+        if (meta.get() != CLEAN) {
+            throw new IOException("Tree file was not closed cleanly");
+        }
+        int storedPageSize = meta.getInt();
+        root = meta.getInt();
+        levels = meta.getInt();
+        size = meta.getInt();
+        pageCount = meta.getInt();
+        freeList = meta.getInt();
+        if (storedPageSize < MIN_PAGE_SIZE || storedPageSize > MAX_PAGE_SIZE || levels < 1 || size < 0
+                || root <= NIL || root >= pageCount) {
+            throw new IOException("Corrupt tree file: bad header");
+        }
+        return storedPageSize;
+    }
+
+    private void writeMeta(byte state) throws IOException {
+        ByteBuffer meta = ByteBuffer.allocate(34);
+        meta.putInt(MAGIC).put(VERSION).put(state).putInt(pageSize).putInt(root).putInt(levels)
+                .putInt(size).putInt(pageCount).putInt(freeList).flip();
+        writeFully(meta, 0);
+    }
+
+    // Drop every page and start over with one empty root leaf
+    private void reset() throws IOException {
+        pool.clear();
+        channel.truncate(pageSize);
+        pageCount = 1;
+        freeList = NIL;
+        root = allocate(true).id;
+        levels = 1;
+        size = 0;
+    }
+
+    // Write every dirty page and the header, and force them to disk
+    public synchronized void flush() throws IOException {
+        flush(OPEN);
+    }
+
+    private void flush(byte state) throws IOException {
+        for (Page page : pool.values()) {
+            if (page.dirty) {
+                writePage(page);
+            }
+        }
+        writeMeta(state);
+        channel.force(true);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            if (!temporary) {
+                flush(CLEAN);
+            }
+        } finally {
+            channel.close();
+            pool.clear();
+            if (temporary) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Pages read from the file so far, i.e. buffer pool misses
+    public synchronized long pageReads() {
+        return pageReads;
+    }
+
+    public synchronized long pageWrites() {
+        return pageWrites;
+    }
+
+    // Pages the file holds, including the header page and freed pages awaiting reuse
+    public synchronized int pageCount() {
+        return pageCount;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    // ---- search ----
+
+    private static <T extends Comparable<T>> T requireKey(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    private byte[] encode(T key) {
+        byte[] bytes = codec.encode(key);
+        if (bytes.length > maxKeyBytes) {
+            throw new IllegalArgumentException("Key is too long for a page: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    // Child to follow for key: the number of separators <= key
+    private int childIndex(Page node, T key) {
+        int lo = 0;
+        int hi = node.keyCount();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (node.key(mid).compareTo(key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Walk from the root to the leaf for key, recording each page and the child taken below it
+    private Page descend(T key, List<Page> path, int[] indexes) {
+        Page node = page(root);
+        int level = 0;
+        while (!node.leaf) {
+            path.add(node);
+            int index = childIndex(node, key);
+            indexes[level++] = index;
+            node = page(node.children.get(index));
+        }
+        path.add(node);
+        return node;
+    }
+
+    @Override
+    public synchronized boolean search(T key) {
+        requireKey(key);
+        try {
+            Page node = page(root);
+            while (!node.leaf) {
+                node = page(node.children.get(childIndex(node, key)));
+            }
+            return node.find(key) >= 0;
+        } finally {
+            release();
+        }
+    }
+
+    // ---- insert ----
+
+    @Override
+    public synchronized boolean insert(T key) {
+        byte[] bytes = encode(requireKey(key));
+        try {
+            List<Page> path = new ArrayList<>(levels);
+            int[] indexes = new int[levels];
+            Page leaf = descend(key, path, indexes);
+            int position = leaf.find(key);
+            if (position >= 0) {
+                return false;
+            }
+            leaf.addKey(-position - 1, key, bytes);
+            for (int level = 0; level < levels - 1; level++) {
+                Page node = path.get(level);
+                node.counts.set(indexes[level], node.counts.get(indexes[level]) + 1);
+                node.dirty = true;
+            }
+            size++;
+            splitUpward(path, indexes, levels - 1);
+            return true;
+        } finally {
+            release();
+        }
+    }
+
+    // Split overfull pages from level up along the path, growing a new root if the old one splits
+    private void splitUpward(List<Page> path, int[] indexes, int level) {
+        while (level >= 0 && path.get(level).bytes() > pageSize) {
+            Page node = path.get(level);
+            Page parent;
+            int index;
+            if (level == 0) {
+                parent = allocate(false);
+                parent.children.add(node.id);
+                parent.counts.add(node.count());
+                root = parent.id;
+                levels++;
+                index = 0;
+            } else {
+                parent = path.get(level - 1);
+                index = indexes[level - 1];
+            }
+            Page right = allocate(node.leaf);
+            int split = splitPoint(node);
+            if (node.leaf) {
+                // The right half's first key is copied up as the separator
+                while (node.keyCount() > split) {
+                    moveKey(node, split, right, right.keyCount());
+                }
+                right.prev = node.id;
+                right.next = node.next;
+                if (node.next != NIL) {
+                    Page after = page(node.next);
+                    after.prev = right.id;
+                    after.dirty = true;
+                }
+                node.next = right.id;
+                parent.addKey(index, right.key(0), right.encodedKey(0));
+            } else {
+                // The middle key moves up; the children on its right go with the right half
+                while (node.keyCount() > split + 1) {
+                    moveKey(node, split + 1, right, right.keyCount());
+                }
+                right.children.addAll(node.children.subList(split + 1, node.children.size()));
+                right.counts.addAll(node.counts.subList(split + 1, node.counts.size()));
+                node.children.subList(split + 1, node.children.size()).clear();
+                node.counts.subList(split + 1, node.counts.size()).clear();
+                moveKey(node, split, parent, index);
+            }
+            node.dirty = true;
+            parent.children.add(index + 1, right.id);
+            parent.counts.set(index, node.count());
+            parent.counts.add(index + 1, right.count());
+            parent.dirty = true;
+            level--;
+        }
+    }
+
+    // Index of the first key of the right half (leaf) or of the key that moves up (internal),
+    // chosen so both halves hold about the same number of bytes
+    private int splitPoint(Page node) {
+        int n = node.keyCount();
+        int half = node.keyBytes / 2;
+        int bytes = 0;
+        int split = 0;
+        while (split < n && bytes < half) {
+            bytes += node.entryBytes(split++);
+        }
+        return node.leaf ? Math.max(1, Math.min(split, n - 1)) : Math.max(1, Math.min(split, n - 2));
+    }
+
+    // ---- delete ----
+
+    @Override
+    public synchronized boolean delete(T key) {
+        requireKey(key);
+        try {
+            List<Page> path = new ArrayList<>(levels);
+            int[] indexes = new int[levels];
+            Page leaf = descend(key, path, indexes);
+            int position = leaf.find(key);
+            if (position < 0) {
+                return false;
+            }
+            leaf.removeKey(position);
+            for (int level = 0; level < levels - 1; level++) {
+                Page node = path.get(level);
+                node.counts.set(indexes[level], node.counts.get(indexes[level]) - 1);
+                node.dirty = true;
+            }
+            size--;
+            rebalance(path, indexes, levels - 1);
+            return true;
+        } finally {
+            release();
+        }
+    }
+
+    // Fix an underfull page at level by merging it with a sibling, or by taking entries from the
+    // sibling when the two do not fit in one page. Merges can leave the parent underfull in turn;
+    // a redistribution changes the parent's separator, which can be longer and overfill it.
+    private void rebalance(List<Page> path, int[] indexes, int level) {
+        int minBytes = pageSize / 4;
+        while (level > 0 && path.get(level).bytes() < minBytes) {
+            Page parent = path.get(level - 1);
+            int index = indexes[level - 1];
+            int separator = index > 0 ? index - 1 : index;
+            Page left = page(parent.children.get(separator));
+            Page right = page(parent.children.get(separator + 1));
+
+            int merged = left.bytes() + right.bytes() - (left.leaf ? LEAF_HEADER
+                    : INTERNAL_HEADER - parent.entryBytes(separator));
+            if (merged <= pageSize) {
+                merge(parent, separator, left, right);
+                level--;
+                continue;
+            }
+            redistribute(parent, separator, left, right);
+            splitUpward(path, indexes, level - 1);
+            return;
+        }
+        if (level == 0) {
+            Page top = path.get(0);
+            if (!top.leaf && top.keyCount() == 0) {
+                root = top.children.get(0);
+                levels--;
+                free(top);
+            }
+        }
+    }
+
+    // Append right to left and drop right and its separator from the parent
+    private void merge(Page parent, int separator, Page left, Page right) {
+        if (left.leaf) {
+            while (right.keyCount() > 0) {
+                moveKey(right, 0, left, left.keyCount());
+            }
+            left.next = right.next;
+            if (right.next != NIL) {
+                Page after = page(right.next);
+                after.prev = left.id;
+                after.dirty = true;
+            }
+            parent.removeKey(separator);
+        } else {
+            moveKey(parent, separator, left, left.keyCount());
+            while (right.keyCount() > 0) {
+                moveKey(right, 0, left, left.keyCount());
+            }
+            left.children.addAll(right.children);
+            left.counts.addAll(right.counts);
+        }
+        left.dirty = true;
+        parent.children.remove(separator + 1);
+        parent.counts.remove(separator + 1);
+        parent.counts.set(separator, left.count());
+        parent.dirty = true;
+        free(right);
+    }
+
+    // Move entries from the fuller page to the other until they hold about the same number of bytes
+    private void redistribute(Page parent, int separator, Page left, Page right) {
+        if (left.leaf) {
+            while (left.bytes() < right.bytes() && right.keyCount() > 1) {
+                moveKey(right, 0, left, left.keyCount());
+            }
+            while (right.bytes() < left.bytes() && left.keyCount() > 1) {
+                moveKey(left, left.keyCount() - 1, right, 0);
+            }
+            parent.removeKey(separator);
+            parent.addKey(separator, right.key(0), right.encodedKey(0));
+        } else {
+            // Rotate through the parent: its separator comes down and a key from the sibling goes up
+            while (left.bytes() < right.bytes() && right.keyCount() > 1) {
+                moveKey(parent, separator, left, left.keyCount());
+                left.children.add(right.children.remove(0));
+                left.counts.add(right.counts.remove(0));
+                moveKey(right, 0, parent, separator);
+            }
+            while (right.bytes() < left.bytes() && left.keyCount() > 1) {
+                moveKey(parent, separator, right, 0);
+                right.children.add(0, left.children.remove(left.children.size() - 1));
+                right.counts.add(0, left.counts.remove(left.counts.size() - 1));
+                moveKey(left, left.keyCount() - 1, parent, separator);
+            }
+        }
+        left.dirty = true;
+        right.dirty = true;
+        parent.counts.set(separator, left.count());
+        parent.counts.set(separator + 1, right.count());
+        parent.dirty = true;
+    }
+
+    // ---- order statistics ----
+
+    @Override
+    public synchronized int rank(T key) {
+        requireKey(key);
+        try {
+            int rank = 0;
+            Page node = page(root);
+            while (!node.leaf) {
+                int index = childIndex(node, key);
+                for (int i = 0; i < index; i++) {
+                    rank += node.counts.get(i);
+                }
+                node = page(node.children.get(index));
+            }
+            int position = node.find(key);
+            return rank + (position >= 0 ? position : -position - 1);
+        } finally {
+            release();
+        }
+    }
+
+    @Override
+    public synchronized T select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        try {
+            Page node = page(root);
+            while (!node.leaf) {
+                int index = 0;
+                while (k >= node.counts.get(index)) {
+                    k -= node.counts.get(index++);
+                }
+                node = page(node.children.get(index));
+            }
+            return node.key(k);
+        } finally {
+            release();
+        }
+    }
+
+    // ---- iteration ----
+
+    @Override
+    public Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new LeafIterator(true, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new LeafIterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    // Finds the first leaf position once, then follows the sibling links: one page read per leaf
+    private final class LeafIterator implements Iterator<T> {
+        private final boolean ascending;
+        private final T to;
+        private final boolean toInclusive;
+        private Page leaf;
+        private int position;
+        private T next;
+
+        LeafIterator(boolean ascending, T from, boolean fromInclusive, T to, boolean toInclusive) {
+            this.ascending = ascending;
+            this.to = to;
+            this.toInclusive = toInclusive;
+            synchronized (DiskBPlusTree.this) {
+                try {
+                    Page node = page(root);
+                    while (!node.leaf) {
+                        int index = from != null ? childIndex(node, from) : ascending ? 0 : node.children.size() - 1;
+                        node = page(node.children.get(index));
+                    }
+                    leaf = node;
+                    if (from == null) {
+                        position = ascending ? 0 : node.keyCount() - 1;
+                    } else {
+                        int found = node.find(from);
+                        if (found >= 0) {
+                            position = fromInclusive ? found : ascending ? found + 1 : found - 1;
+                        } else {
+                            position = ascending ? -found - 1 : -found - 2;
+                        }
+                    }
+                    advance();
+                } finally {
+                    release();
+                }
+            }
+        }
+
+        // Load the key at the current position into next, moving to the sibling leaf when this one is used up
+        private void advance() {
+            while (leaf != null && (position < 0 || position >= leaf.keyCount())) {
+                int sibling = ascending ? leaf.next : leaf.prev;
+                leaf = sibling == NIL ? null : page(sibling);
+                if (leaf != null) {
+                    position = ascending ? 0 : leaf.keyCount() - 1;
+                }
+            }
+            next = null;
+            if (leaf == null) {
+                return;
+            }
+            T key = leaf.key(position);
+            position += ascending ? 1 : -1;
+            if (to != null) {
+                int compareResult = key.compareTo(to);
+                if (ascending ? compareResult > 0 : compareResult < 0) {
+                    leaf = null;
+                    return;
+                }
+                if (compareResult == 0 && !toInclusive) {
+                    leaf = null;
+                    return;
+                }
+            }
+            next = key;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            T key = next;
+            synchronized (DiskBPlusTree.this) {
+                try {
+                    advance();
+                } finally {
+                    release();
+                }
+            }
+            return key;
+        }
+    }
+
+    // ---- bulk build ----
+
+    // Pack strictly ascending keys into leaves left to right, then each level of internal pages
+    // from the one below: O(n), and each page is written once. Pages are left 1/8 free so the
+    // first inserts after a build do not split every page they touch.
+    @Override
+    public synchronized void buildFromSorted(List<T> sortedKeys) {
+        if (size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        Trees.checkStrictlyAscending(sortedKeys);
+        int limit = pageSize - pageSize / 8;
+        try {
+            reset();
+            // Per page of the level being built: its id, key count, and first key (the separator in front of it)
+            List<Integer> ids = new ArrayList<>();
+            List<Integer> counts = new ArrayList<>();
+            List<T> firsts = new ArrayList<>();
+            List<byte[]> firstsEncoded = new ArrayList<>();
+            Page leaf = null;
+            for (T key : sortedKeys) {
+                byte[] bytes = encode(requireKey(key));
+                if (leaf == null || leaf.bytes() + KEY_OVERHEAD + bytes.length > limit) {
+                    Page fresh = leaf == null ? page(root) : allocate(true);
+                    if (leaf != null) {
+                        leaf.next = fresh.id;
+                        fresh.prev = leaf.id;
+                        counts.add(leaf.keyCount());
+                    }
+                    ids.add(fresh.id);
+                    firsts.add(key);
+                    firstsEncoded.add(bytes);
+                    leaf = fresh;
+                    release(); // Only the page being filled has to stay in the pool
+                }
+                leaf.addKey(leaf.keyCount(), key, bytes);
+            }
+            if (leaf == null) {
+                return;
+            }
+            counts.add(leaf.keyCount());
+
+            while (ids.size() > 1) {
+                List<Integer> upperIds = new ArrayList<>();
+                List<Integer> upperCounts = new ArrayList<>();
+                List<T> upperFirsts = new ArrayList<>();
+                List<byte[]> upperFirstsEncoded = new ArrayList<>();
+                Page node = null;
+                for (int i = 0; i < ids.size(); i++) {
+                    byte[] separator = firstsEncoded.get(i);
+                    if (node == null || node.bytes() + CHILD_BYTES + KEY_OVERHEAD + separator.length > limit) {
+                        if (node != null) {
+                            upperCounts.add(node.count());
+                        }
+                        node = allocate(false);
+                        upperIds.add(node.id);
+                        upperFirsts.add(firsts.get(i));
+                        upperFirstsEncoded.add(separator);
+                        release();
+                    } else {
+                        node.addKey(node.keyCount(), firsts.get(i), separator);
+                    }
+                    node.children.add(ids.get(i));
+                    node.counts.add(counts.get(i));
+                }
+                upperCounts.add(node.count());
+                ids = upperIds;
+                counts = upperCounts;
+                firsts = upperFirsts;
+                firstsEncoded = upperFirstsEncoded;
+                levels++;
+            }
+            root = ids.get(0);
+            size = sortedKeys.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            try {
+                reset();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        } finally {
+            release();
+        }
+    }
+
+    // ---- reporting ----
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    // Number of page levels, i.e. the page reads of a lookup with a cold pool (empty tree = 0)
+    @Override
+    public synchronized int height() {
+        return size == 0 ? 0 : levels;
+    }
+
+    public void printdictinory() {
+        System.out.println("Dictionary contents (Disk B+tree - in-order traversal):");
+        if (size() == 0) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + size());
+        System.out.println("Pages: " + pageCount() + " of " + pageSize + " bytes, " + pageReads() + " read from disk");
+        System.out.println("--------------------------------------");
+        ascendingIterator().forEachRemaining(key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+}
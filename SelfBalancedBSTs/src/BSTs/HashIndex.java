@@ -0,0 +1,189 @@
+package BSTs;
+
+// Open-addressing hash set of keys, kept next to an ordered tree so membership tests cost O(1)
+// instead of a descent of log n dependent cache misses. Linear probing over two parallel arrays:
+// each slot caches its key's hash, so a probe only dereferences a key whose hash already matches.
+// Removal shifts later entries of the probe run back rather than leaving tombstones, so lookups
+// never scan past deleted slots and the table needs no periodic rebuild.
+//
+// Not thread-safe. A reader racing a writer can see a stale or torn table but never loops
+// forever (probes are bounded by the table length), so it suits optimistic reads that are
+// validated afterwards.
+public final class HashIndex<T> {
+    private static final int MIN_CAPACITY = 16;
+    // Grow past 3/4 full, so a successful lookup probes about 2.5 slots on average
+    private static final int MAX_LOAD_PERCENT = 75;
+
+    private Object[] keys;
+    private int[] hashes;
+    private int size;
+    private int shift; // 32 - log2(capacity): the top bits of the mixed hash pick the home slot
+
+    public HashIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    // Sized so that expectedSize keys fit without resizing
+    public HashIndex(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(int count) {
+        long needed = (long) count * 100 / MAX_LOAD_PERCENT + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    // Fibonacci hashing: spreads String and Integer hash codes, whose low bits cluster, over the table
+    private static int mix(Object key) {
+        return key.hashCode() * 0x9E3779B9;
+    }
+
+    private static <T> T requireKey(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    public boolean contains(T key) {
+        requireKey(key);
+        Object[] keys = this.keys;
+        int[] hashes = this.hashes;
+        int hash = mix(key);
+        int mask = keys.length - 1;
+        int slot = hash >>> shift & mask;
+        for (int probes = 0; probes < keys.length; probes++) {
+            Object present = keys[slot];
+            if (present == null) {
+                return false;
+            }
+            if (hashes[slot] == hash && key.equals(present)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    // Returns false if the key was already present
+    public boolean add(T key) {
+        requireKey(key);
+        int hash = mix(key);
+        int mask = keys.length - 1;
+        int slot = hash >>> shift;
+        while (keys[slot] != null) {
+            if (hashes[slot] == hash && key.equals(keys[slot])) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        hashes[slot] = hash;
+        if (++size * 100L > (long) keys.length * MAX_LOAD_PERCENT) {
+            resize(keys.length << 1);
+        }
+        return true;
+    }
+
+    // Returns false if the key was not present
+    public boolean remove(T key) {
+        requireKey(key);
+        int hash = mix(key);
+        int mask = keys.length - 1;
+        int slot = hash >>> shift;
+        while (true) {
+            Object present = keys[slot];
+            if (present == null) {
+                return false;
+            }
+            if (hashes[slot] == hash && key.equals(present)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Backward-shift deletion: walk the rest of the run and move each entry whose home slot
+        // is at or before the gap (cyclically) into it, so no lookup ever stops early at the gap
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != null) {
+            int home = hashes[next] >>> shift;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                hashes[gap] = hashes[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = null;
+        size--;
+        return true;
+    }
+
+    // Adds every key of the batch; returns how many were new
+    public int addAll(Iterable<? extends T> batch) {
+        int added = 0;
+        for (T key : batch) {
+            if (add(key)) added++;
+        }
+        return added;
+    }
+
+    // Removes every key of the batch; returns how many were present
+    public int removeAll(Iterable<? extends T> batch) {
+        int removed = 0;
+        for (T key : batch) {
+            if (remove(key)) removed++;
+        }
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    // Slots in the table; the index costs this many key references plus as many cached hashes
+    public int capacity() {
+        return keys.length;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        // Fill fresh arrays and only then swap them in, so the live table is never half-copied
+        Object[] newKeys = new Object[capacity];
+        int[] newHashes = new int[capacity];
+        int newShift = 32 - Integer.numberOfTrailingZeros(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] >>> newShift;
+                while (newKeys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = oldKeys[i];
+                newHashes[slot] = oldHashes[i];
+            }
+        }
+        hashes = newHashes;
+        shift = newShift;
+        keys = newKeys;
+    }
+}
@@ -0,0 +1,265 @@
+package BSTs;
+
+// AVL<Integer> specialized to primitive int keys: keys live in the node itself and are
+// compared with < and >, so lookups neither allocate nor make virtual compareTo calls.
+public class IntAVL {
+    // AVL height is at most ~1.44 log2(n + 2), so 64 levels cover any int-sized tree
+    private static final int MAX_HEIGHT = 64;
+
+    private Node root;
+    private int size;
+    // Ancestors of the node being inserted or deleted, reused across calls and
+    // cleared afterwards so it never keeps removed nodes alive
+    private final Node[] path = new Node[MAX_HEIGHT];
+
+    private static final class Node {
+        int key;
+        Node left, right;
+        int height;
+
+        Node(int key) {
+            this.key = key;
+            this.height = 0;
+        }
+    }
+
+    public IntAVL() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    // Get height of a node (handles null case)
+    private static int height(Node node) {
+        if (node == null) return -1;
+        return node.height;
+    }
+
+    // Get balance factor of a node
+    private static int getBalance(Node node) {
+        if (node == null) return 0;
+        return height(node.left) - height(node.right);
+    }
+
+    private static void updateHeight(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    private static Node rightRotate(Node y) {
+        Node x = y.left;
+        y.left = x.right;
+        x.right = y;
+        updateHeight(y);
+        updateHeight(x);
+        return x;
+    }
+
+    private static Node leftRotate(Node x) {
+        Node y = x.right;
+        x.right = y.left;
+        y.left = x;
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    // Point parent's link (or root) at replacement instead of child
+    private void replaceChild(Node parent, Node child, Node replacement) {
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == child) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+    }
+
+    public boolean insert(int key) {
+        if (root == null) {
+            root = new Node(key);
+            size++;
+            return true;
+        }
+
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        while (true) {
+            if (key == node.key) {
+                java.util.Arrays.fill(path, 0, depth, null);
+                return false;
+            }
+            path[depth++] = node;
+            Node next = key < node.key ? node.left : node.right;
+            if (next == null) {
+                if (key < node.key) {
+                    node.left = new Node(key);
+                } else {
+                    node.right = new Node(key);
+                }
+                break;
+            }
+            node = next;
+        }
+        size++;
+
+        // Rebalance bottom-up; stop once a height is unchanged or after the one rotation an insert needs
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = node.height;
+            updateHeight(node);
+            int balance = getBalance(node);
+
+            if (balance > 1) {
+                if (key > node.left.key) {
+                    node.left = leftRotate(node.left);
+                }
+                replaceChild(i == 0 ? null : path[i - 1], node, rightRotate(node));
+                break;
+            }
+            if (balance < -1) {
+                if (key < node.right.key) {
+                    node.right = rightRotate(node.right);
+                }
+                replaceChild(i == 0 ? null : path[i - 1], node, leftRotate(node));
+                break;
+            }
+            if (node.height == oldHeight) {
+                break;
+            }
+        }
+        java.util.Arrays.fill(path, 0, depth, null);
+        return true;
+    }
+
+    public boolean search(int key) {
+        Node node = root;
+        while (node != null) {
+            if (key == node.key) {
+                return true;
+            }
+            node = key < node.key ? node.left : node.right;
+        }
+        return false;
+    }
+
+    public boolean delete(int key) {
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        while (node != null && key != node.key) {
+            path[depth++] = node;
+            node = key < node.key ? node.left : node.right;
+        }
+        if (node == null) {
+            java.util.Arrays.fill(path, 0, depth, null);
+            return false;
+        }
+
+        if (node.left != null && node.right != null) {
+            // Two children: take the inorder successor's key and unlink the successor instead
+            path[depth++] = node;
+            Node successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node = successor;
+        }
+        replaceChild(depth == 0 ? null : path[depth - 1], node, node.left != null ? node.left : node.right);
+        size--;
+
+        // Rebalance bottom-up until a subtree's height comes out unchanged
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = node.height;
+            updateHeight(node);
+            int balance = getBalance(node);
+            Node subtree = node;
+
+            if (balance > 1) {
+                if (getBalance(node.left) < 0) {
+                    node.left = leftRotate(node.left);
+                }
+                subtree = rightRotate(node);
+            } else if (balance < -1) {
+                if (getBalance(node.right) > 0) {
+                    node.right = rightRotate(node.right);
+                }
+                subtree = leftRotate(node);
+            }
+
+            if (subtree != node) {
+                replaceChild(i == 0 ? null : path[i - 1], node, subtree);
+            }
+            if (subtree.height == oldHeight) {
+                break;
+            }
+        }
+        java.util.Arrays.fill(path, 0, depth, null);
+        return true;
+    }
+
+    // Build a perfectly balanced tree in O(n) from strictly ascending keys (tree must be empty)
+    public void buildFromSorted(int[] sortedKeys) {
+        if (size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1] >= sortedKeys[i]) {
+                throw new IllegalArgumentException("Keys must be sorted in strictly ascending order");
+            }
+        }
+        root = buildBalanced(sortedKeys, 0, sortedKeys.length - 1);
+        size = sortedKeys.length;
+    }
+
+    private static Node buildBalanced(int[] keys, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(keys[mid]);
+        node.left = buildBalanced(keys, lo, mid - 1);
+        node.right = buildBalanced(keys, mid + 1, hi);
+        updateHeight(node);
+        return node;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    public void printdictinory() {
+        System.out.println("Dictionary contents (int AVL Tree - in-order traversal):");
+        if (root == null) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + size);
+        System.out.println("--------------------------------------");
+        inorderTraversal(key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+
+    // Iterative in-order walk with an explicit stack of at most height + 1 nodes
+    public void inorderTraversal(java.util.function.IntConsumer consumer) {
+        Node[] stack = new Node[height(root) + 1];
+        int top = 0;
+        Node current = root;
+        while (current != null || top > 0) {
+            while (current != null) {
+                stack[top++] = current;
+                current = current.left;
+            }
+            current = stack[--top];
+            consumer.accept(current.key);
+            current = current.right;
+        }
+    }
+}
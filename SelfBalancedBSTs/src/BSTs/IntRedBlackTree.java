@@ -0,0 +1,348 @@
+package BSTs;
+
+// RedBlackTree<Integer> specialized to primitive int keys: keys live in the node itself and are
+// compared with < and >, so lookups neither allocate nor make virtual compareTo calls.
+public class IntRedBlackTree {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private Node root;
+    private int size;
+    private final Node TNULL;
+
+    private static final class Node {
+        int key;
+        Node parent;
+        Node left, right;
+        boolean colour;
+
+        Node(int key) {
+            this.key = key;
+            this.colour = RED;
+        }
+    }
+
+    public IntRedBlackTree() {
+        this.TNULL = new Node(0);
+        this.TNULL.colour = BLACK;
+        this.TNULL.left = TNULL;
+        this.TNULL.right = TNULL;
+        this.root = TNULL;
+        this.size = 0;
+    }
+
+    private void leftRotate(Node x) {
+        Node y = x.right;
+        x.right = y.left;
+        if (y.left != TNULL) {
+            y.left.parent = x;
+        }
+        y.parent = x.parent;
+        if (x.parent == TNULL) {
+            this.root = y;
+        } else if (x == x.parent.left) {
+            x.parent.left = y;
+        } else {
+            x.parent.right = y;
+        }
+        y.left = x;
+        x.parent = y;
+    }
+
+    private void rightRotate(Node x) {
+        Node y = x.left;
+        x.left = y.right;
+        if (y.right != TNULL) {
+            y.right.parent = x;
+        }
+        y.parent = x.parent;
+        if (x.parent == TNULL) {
+            this.root = y;
+        } else if (x == x.parent.right) {
+            x.parent.right = y;
+        } else {
+            x.parent.left = y;
+        }
+        y.right = x;
+        x.parent = y;
+    }
+
+    public boolean insert(int key) {
+        // Single descent: either find the key or the leaf position to attach it at
+        Node y = TNULL;
+        Node x = this.root;
+        while (x != this.TNULL) {
+            if (key == x.key) {
+                return false;
+            }
+            y = x;
+            x = key < x.key ? x.left : x.right;
+        }
+
+        Node z = new Node(key);
+        z.left = this.TNULL;
+        z.right = this.TNULL;
+        z.parent = y;
+        if (y == TNULL) {
+            this.root = z;
+        } else if (key < y.key) {
+            y.left = z;
+        } else {
+            y.right = z;
+        }
+
+        insertFixup(z);
+        this.size++;
+        return true;
+    }
+
+    private void insertFixup(Node z) {
+        while (z.parent != null && z.parent.colour == RED) {
+            if (z.parent == z.parent.parent.left) {
+                Node y = z.parent.parent.right;
+                if (y.colour == RED) {
+                    z.parent.colour = BLACK;
+                    y.colour = BLACK;
+                    z.parent.parent.colour = RED;
+                    z = z.parent.parent;
+                } else {
+                    if (z == z.parent.right) {
+                        z = z.parent;
+                        leftRotate(z);
+                    }
+                    z.parent.colour = BLACK;
+                    z.parent.parent.colour = RED;
+                    rightRotate(z.parent.parent);
+                }
+            } else {
+                Node y = z.parent.parent.left;
+                if (y.colour == RED) {
+                    z.parent.colour = BLACK;
+                    y.colour = BLACK;
+                    z.parent.parent.colour = RED;
+                    z = z.parent.parent;
+                } else {
+                    if (z == z.parent.left) {
+                        z = z.parent;
+                        rightRotate(z);
+                    }
+                    z.parent.colour = BLACK;
+                    z.parent.parent.colour = RED;
+                    leftRotate(z.parent.parent);
+                }
+            }
+            if(z == this.root) {
+                break;
+            }
+        }
+        this.root.colour = BLACK;
+    }
+
+    public boolean search(int key) {
+        return getNode(key) != null;
+    }
+
+    private void transplant(Node u, Node v) {
+        if (u.parent == TNULL) {
+            this.root = v;
+        } else if (u == u.parent.left) {
+            u.parent.left = v;
+        } else {
+            u.parent.right = v;
+        }
+        v.parent = u.parent;
+
+    }   
+
+    private Node getNode(int key) {
+        Node node = this.root;
+        while (node != this.TNULL) {
+            if (key == node.key) {
+                return node;
+            }
+            node = key < node.key ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private Node minimum(Node node) {
+        while (node.left != this.TNULL) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    public boolean delete(int key) {
+        // Single descent: a missing key means nothing to delete
+        Node z = getNode(key);
+        if (z == null) {
+            return false;
+        }
+        Node y = z;
+        boolean yOriginalColour = y.colour;
+        Node x;
+
+        if (z.left == this.TNULL) {
+            x = z.right;
+            transplant(z, z.right);
+        } else if (z.right == this.TNULL) {
+            x = z.left;
+            transplant(z, z.left);
+        } else {
+            y = minimum(z.right);
+            yOriginalColour = y.colour;
+            x = y.right;
+            if (y.parent == z) {
+                x.parent = y;
+            } else {
+                transplant(y, y.right);
+                y.right = z.right;
+                y.right.parent = y;
+            }
+            transplant(z, y);
+            y.left = z.left;
+            y.left.parent = y;
+            y.colour = z.colour;
+        }
+        if (yOriginalColour == BLACK) {
+            deleteFixup(x);
+        }
+        this.size--;
+        return true;
+    }
+
+    private void deleteFixup(Node x) {
+        while (x != this.root &&  x.colour == BLACK) {
+            if (x == x.parent.left) {
+                Node w = x.parent.right;
+                if (w.colour == RED) {
+                    w.colour = BLACK;
+                    x.parent.colour = RED;
+                    leftRotate(x.parent);
+                    w = x.parent.right;
+                }
+                if (w.left.colour == BLACK && w.right.colour == BLACK) {
+                    w.colour = RED;
+                    x = x.parent;
+                } else {
+                    if (w.right.colour == BLACK) {
+                        w.left.colour = BLACK;
+                        w.colour = RED;
+                        rightRotate(w);
+                        w = x.parent.right;
+                    }
+                    w.colour = x.parent.colour;
+                    x.parent.colour = BLACK;
+                    w.right.colour = BLACK;
+                    leftRotate(x.parent);
+                    x = this.root;
+                }
+            } else {
+                Node w = x.parent.left;
+                if (w.colour == RED) {
+                    w.colour = BLACK;
+                    x.parent.colour = RED;
+                    rightRotate(x.parent);
+                    w = x.parent.left;
+                }
+                if (w.right.colour == BLACK &&  w.left.colour == BLACK) {
+                    w.colour = RED;
+                    x = x.parent;
+                } else {
+                    if (w.left.colour == BLACK) {
+                        w.right.colour = BLACK;
+                        w.colour = RED;
+                        leftRotate(w);
+                        w = x.parent.left;
+                    }
+                    w.colour = x.parent.colour;
+                    x.parent.colour = BLACK;
+                    w.left.colour = BLACK;
+                    rightRotate(x.parent);
+                    x = this.root;
+                }
+            }
+        }
+
+        x.colour = BLACK;
+
+    }
+
+    // Build a balanced tree in O(n) from strictly ascending keys (tree must be empty).
+    // Every level is black except the deepest one, which is red unless it is full.
+    public void buildFromSorted(int[] sortedKeys) {
+        if (this.size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1] >= sortedKeys[i]) {
+                throw new IllegalArgumentException("Keys must be sorted in strictly ascending order");
+            }
+        }
+        int n = sortedKeys.length;
+        this.root = buildBalanced(sortedKeys, 0, n - 1, 0, redLevel(n), this.TNULL);
+        this.size = n;
+    }
+
+    private Node buildBalanced(int[] keys, int lo, int hi, int depth, int redLevel, Node parent) {
+        if (lo > hi) {
+            return this.TNULL;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(keys[mid]);
+        node.parent = parent;
+        node.colour = depth == redLevel ? RED : BLACK;
+        node.left = buildBalanced(keys, lo, mid - 1, depth + 1, redLevel, node);
+        node.right = buildBalanced(keys, mid + 1, hi, depth + 1, redLevel, node);
+        return node;
+    }
+
+    // Depth at which nodes are coloured red (root at depth 0); beyond the deepest level when it is full
+    private static int redLevel(int n) {
+        int level = 0;
+        for (int m = n - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        return level;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    // Same convention as RedBlackTree.height(): number of nodes on the longest root-to-leaf path
+    public int height() {
+        return height(this.root);
+    }
+
+    private int height(Node node) {
+        if (node == this.TNULL) {
+            return 0;
+        }
+        return Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    public void printdictinory() {
+        System.out.println("Dictionary contents (int Red Black Tree - in-order traversal):");
+        if (root == TNULL) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + size);
+        System.out.println("--------------------------------------");
+        inorderTraversal(key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+
+    public void inorderTraversal(java.util.function.IntConsumer consumer) {
+        inorderTraversal(root, consumer);
+    }
+
+    private void inorderTraversal(Node node, java.util.function.IntConsumer consumer) {
+        if (node == this.TNULL) return;
+        inorderTraversal(node.left, consumer);
+        consumer.accept(node.key);
+        inorderTraversal(node.right, consumer);
+    }
+}
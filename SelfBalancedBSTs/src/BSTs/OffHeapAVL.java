@@ -0,0 +1,613 @@
+package BSTs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// AVL tree of strings kept outside the Java heap. Nodes are fixed-size records in direct
+// ByteBuffer slabs and refer to each other by int index instead of by reference; key bytes
+// (UTF-8) are appended to a separate arena of direct chunks. The heap only holds the slab
+// tables, so the GC has nothing to trace no matter how many keys the tree holds.
+//
+// Deleted nodes go on a free list and are reused. Deleted key bytes stay in the arena until
+// the tree becomes empty, at which point both the slabs and the arena start over.
+public class OffHeapAVL implements Trees<String> {
+    // Node record layout
+    private static final int KEY_REF = 0;      // long: arena chunk << 32 | offset in chunk
+    private static final int KEY_LENGTH = 8;   // int: key length in bytes
+    private static final int LEFT = 12;        // int: node index, NIL if none
+    private static final int RIGHT = 16;       // int: node index, NIL if none
+    private static final int HEIGHT = 20;      // int: same convention as AVL (leaf = 0)
+    private static final int SIZE = 24;        // int: nodes in this subtree, for rank and select
+    private static final int NODE_BYTES = 28;
+
+    private static final int SLAB_SHIFT = 16;
+    private static final int SLAB_NODES = 1 << SLAB_SHIFT;
+    private static final int SLAB_MASK = SLAB_NODES - 1;
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    // Index 0 is never allocated, so it can stand for a missing child
+    private static final int NIL = 0;
+    private static final int MAX_HEIGHT = 64;
+
+    private ByteBuffer[] slabs;
+    private int nextNode;
+    private int freeList;
+
+    private ByteBuffer[] chunks;
+    private int chunkCount;
+    private int chunkPosition;
+
+    private int root;
+    private int size;
+    private final int[] path = new int[MAX_HEIGHT];
+
+    public OffHeapAVL() {
+        reset();
+    }
+
+    private void reset() {
+        slabs = new ByteBuffer[1];
+        nextNode = 1;
+        freeList = NIL;
+        chunks = new ByteBuffer[1];
+        chunkCount = 0;
+        chunkPosition = CHUNK_BYTES;
+        root = NIL;
+        size = 0;
+    }
+
+    // Bytes reserved outside the heap for node records and key bytes
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (ByteBuffer slab : slabs) {
+            if (slab != null) bytes += slab.capacity();
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            bytes += chunks[i].capacity();
+        }
+        return bytes;
+    }
+
+    // ---- node storage ----
+
+    private ByteBuffer slab(int node) {
+        return slabs[node >>> SLAB_SHIFT];
+    }
+
+    private static int offset(int node) {
+        return (node & SLAB_MASK) * NODE_BYTES;
+    }
+
+    private int left(int node) {
+        return slab(node).getInt(offset(node) + LEFT);
+    }
+
+    private int right(int node) {
+        return slab(node).getInt(offset(node) + RIGHT);
+    }
+
+    private void setLeft(int node, int child) {
+        slab(node).putInt(offset(node) + LEFT, child);
+    }
+
+    private void setRight(int node, int child) {
+        slab(node).putInt(offset(node) + RIGHT, child);
+    }
+
+    private int height(int node) {
+        if (node == NIL) return -1;
+        return slab(node).getInt(offset(node) + HEIGHT);
+    }
+
+    private int size(int node) {
+        if (node == NIL) return 0;
+        return slab(node).getInt(offset(node) + SIZE);
+    }
+
+    private void addToSize(int node, int delta) {
+        ByteBuffer slab = slab(node);
+        int offset = offset(node) + SIZE;
+        slab.putInt(offset, slab.getInt(offset) + delta);
+    }
+
+    private int getBalance(int node) {
+        if (node == NIL) return 0;
+        return height(left(node)) - height(right(node));
+    }
+
+    // Recompute height and subtree size from the children
+    private void update(int node) {
+        int left = left(node);
+        int right = right(node);
+        ByteBuffer slab = slab(node);
+        int offset = offset(node);
+        slab.putInt(offset + HEIGHT, Math.max(height(left), height(right)) + 1);
+        slab.putInt(offset + SIZE, size(left) + size(right) + 1);
+    }
+
+    private int newNode(byte[] key) {
+        long keyRef = storeKey(key);
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left(node);
+        } else {
+            node = nextNode++;
+            int slabIndex = node >>> SLAB_SHIFT;
+            if (slabIndex == slabs.length) {
+                slabs = java.util.Arrays.copyOf(slabs, slabs.length * 2);
+            }
+            if (slabs[slabIndex] == null) {
+                slabs[slabIndex] = ByteBuffer.allocateDirect(SLAB_NODES * NODE_BYTES);
+            }
+        }
+        ByteBuffer slab = slab(node);
+        int offset = offset(node);
+        slab.putLong(offset + KEY_REF, keyRef);
+        slab.putInt(offset + KEY_LENGTH, key.length);
+        slab.putInt(offset + LEFT, NIL);
+        slab.putInt(offset + RIGHT, NIL);
+        slab.putInt(offset + HEIGHT, 0);
+        slab.putInt(offset + SIZE, 1);
+        return node;
+    }
+
+    private void freeNode(int node) {
+        setLeft(node, freeList);
+        freeList = node;
+    }
+
+    // Point a node at another node's key bytes (used when a successor replaces a deleted key)
+    private void copyKey(int from, int to) {
+        ByteBuffer source = slab(from);
+        int sourceOffset = offset(from);
+        ByteBuffer target = slab(to);
+        int targetOffset = offset(to);
+        target.putLong(targetOffset + KEY_REF, source.getLong(sourceOffset + KEY_REF));
+        target.putInt(targetOffset + KEY_LENGTH, source.getInt(sourceOffset + KEY_LENGTH));
+    }
+
+    // ---- key arena ----
+
+    private long storeKey(byte[] key) {
+        if (chunkPosition + key.length > CHUNK_BYTES || chunkCount == 0) {
+            if (chunkCount == chunks.length) {
+                chunks = java.util.Arrays.copyOf(chunks, chunks.length * 2);
+            }
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(Math.max(CHUNK_BYTES, key.length));
+            chunkPosition = 0;
+        }
+        int chunk = chunkCount - 1;
+        ByteBuffer buffer = chunks[chunk];
+        buffer.put(chunkPosition, key);
+        long keyRef = (long) chunk << 32 | chunkPosition;
+        chunkPosition += key.length;
+        // An oversized key fills its own chunk, so force the next key into a fresh one
+        if (key.length > CHUNK_BYTES) {
+            chunkPosition = CHUNK_BYTES;
+        }
+        return keyRef;
+    }
+
+    private String keyAt(int node) {
+        ByteBuffer slab = slab(node);
+        int offset = offset(node);
+        long keyRef = slab.getLong(offset + KEY_REF);
+        byte[] bytes = new byte[slab.getInt(offset + KEY_LENGTH)];
+        chunks[(int) (keyRef >>> 32)].get((int) keyRef, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Compare an encoded probe against a stored key, in String.compareTo order
+    private int compare(byte[] probe, int node) {
+        ByteBuffer slab = slab(node);
+        int offset = offset(node);
+        long keyRef = slab.getLong(offset + KEY_REF);
+        int length = slab.getInt(offset + KEY_LENGTH);
+        ByteBuffer chunk = chunks[(int) (keyRef >>> 32)];
+        int start = (int) keyRef;
+        int n = Math.min(probe.length, length);
+        for (int i = 0; i < n; i++) {
+            int a = probe[i] & 0xFF;
+            int b = chunk.get(start + i) & 0xFF;
+            if (a != b) {
+                return compareUtf16(a, b);
+            }
+        }
+        return probe.length - length;
+    }
+
+    // UTF-8 bytes sort by code point, String by UTF-16 unit. The two only disagree when a
+    // supplementary character (4-byte lead 0xF0-0xF4, a surrogate pair in UTF-16) meets a
+    // character in U+E000..U+FFFF (3-byte lead 0xEE/0xEF). After an equal prefix both bytes are
+    // lead bytes of the same character position, so checking the leads is enough.
+    private static int compareUtf16(int a, int b) {
+        if (a >= 0xF0 && (b == 0xEE || b == 0xEF)) return -1;
+        if (b >= 0xF0 && (a == 0xEE || a == 0xEF)) return 1;
+        return a - b;
+    }
+
+    private static byte[] encode(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ---- AVL operations (same algorithm as AVL, on node indices) ----
+
+    private int rightRotate(int y) {
+        int x = left(y);
+        setLeft(y, right(x));
+        setRight(x, y);
+        update(y);
+        update(x);
+        return x;
+    }
+
+    private int leftRotate(int x) {
+        int y = right(x);
+        setRight(x, left(y));
+        setLeft(y, x);
+        update(x);
+        update(y);
+        return y;
+    }
+
+    // Point parent's link (or root) at replacement instead of child
+    private void replaceChild(int parent, int child, int replacement) {
+        if (parent == NIL) {
+            root = replacement;
+        } else if (left(parent) == child) {
+            setLeft(parent, replacement);
+        } else {
+            setRight(parent, replacement);
+        }
+    }
+
+    @Override
+    public boolean insert(String key) {
+        byte[] bytes = encode(key);
+        if (root == NIL) {
+            root = newNode(bytes);
+            size++;
+            return true;
+        }
+
+        int[] path = this.path;
+        int depth = 0;
+        int node = root;
+        int compareResult;
+        while (true) {
+            compareResult = compare(bytes, node);
+            if (compareResult == 0) {
+                return false;
+            }
+            path[depth++] = node;
+            int next = compareResult < 0 ? left(node) : right(node);
+            if (next == NIL) {
+                break;
+            }
+            node = next;
+        }
+        int created = newNode(bytes);
+        if (compareResult < 0) {
+            setLeft(node, created);
+        } else {
+            setRight(node, created);
+        }
+        size++;
+        for (int i = 0; i < depth; i++) {
+            addToSize(path[i], 1);
+        }
+
+        // Rebalance bottom-up; stop once a height is unchanged or after the one rotation an insert needs
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = height(node);
+            update(node);
+            int balance = getBalance(node);
+
+            if (balance > 1) {
+                if (compare(bytes, left(node)) > 0) {
+                    setLeft(node, leftRotate(left(node)));
+                }
+                replaceChild(i == 0 ? NIL : path[i - 1], node, rightRotate(node));
+                break;
+            }
+            if (balance < -1) {
+                if (compare(bytes, right(node)) < 0) {
+                    setRight(node, rightRotate(right(node)));
+                }
+                replaceChild(i == 0 ? NIL : path[i - 1], node, leftRotate(node));
+                break;
+            }
+            if (height(node) == oldHeight) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean search(String key) {
+        byte[] bytes = encode(key);
+        int node = root;
+        for (int depth = 0; node != NIL; depth++) {
+            if (depth == MAX_HEIGHT) {
+                // Child indexes read mid-rotation by an unlocked reader
+                throw new java.util.ConcurrentModificationException("Search passed " + MAX_HEIGHT + " levels");
+            }
+            int compareResult = compare(bytes, node);
+            if (compareResult == 0) {
+                return true;
+            }
+            node = compareResult < 0 ? left(node) : right(node);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean delete(String key) {
+        byte[] bytes = encode(key);
+        int[] path = this.path;
+        int depth = 0;
+        int node = root;
+        while (node != NIL) {
+            int compareResult = compare(bytes, node);
+            if (compareResult == 0) {
+                break;
+            }
+            path[depth++] = node;
+            node = compareResult < 0 ? left(node) : right(node);
+        }
+        if (node == NIL) {
+            return false;
+        }
+
+        if (left(node) != NIL && right(node) != NIL) {
+            // Two children: take the inorder successor's key and unlink the successor instead
+            path[depth++] = node;
+            int successor = right(node);
+            while (left(successor) != NIL) {
+                path[depth++] = successor;
+                successor = left(successor);
+            }
+            copyKey(successor, node);
+            node = successor;
+        }
+        replaceChild(depth == 0 ? NIL : path[depth - 1], node, left(node) != NIL ? left(node) : right(node));
+        freeNode(node);
+        if (--size == 0) {
+            reset();
+            return true;
+        }
+        for (int i = 0; i < depth; i++) {
+            addToSize(path[i], -1);
+        }
+
+        // Rebalance bottom-up until a subtree's height comes out unchanged
+        for (int i = depth - 1; i >= 0; i--) {
+            node = path[i];
+            int oldHeight = height(node);
+            update(node);
+            int balance = getBalance(node);
+            int subtree = node;
+
+            if (balance > 1) {
+                if (getBalance(left(node)) < 0) {
+                    setLeft(node, leftRotate(left(node)));
+                }
+                subtree = rightRotate(node);
+            } else if (balance < -1) {
+                if (getBalance(right(node)) > 0) {
+                    setRight(node, rightRotate(right(node)));
+                }
+                subtree = leftRotate(node);
+            }
+
+            if (subtree != node) {
+                replaceChild(i == 0 ? NIL : path[i - 1], node, subtree);
+            }
+            if (height(subtree) == oldHeight) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int rank(String key) {
+        byte[] bytes = encode(key);
+        int rank = 0;
+        int node = root;
+        while (node != NIL) {
+            int compareResult = compare(bytes, node);
+            if (compareResult == 0) {
+                return rank + size(left(node));
+            }
+            if (compareResult < 0) {
+                node = left(node);
+            } else {
+                rank += size(left(node)) + 1;
+                node = right(node);
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public String select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        int node = root;
+        while (true) {
+            int leftSize = size(left(node));
+            if (k < leftSize) {
+                node = left(node);
+            } else if (k == leftSize) {
+                return keyAt(node);
+            } else {
+                k -= leftSize + 1;
+                node = right(node);
+            }
+        }
+    }
+
+    @Override
+    public java.util.Iterator<String> ascendingIterator(String from, boolean fromInclusive, String to, boolean toInclusive) {
+        return iterator(true, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public java.util.Iterator<String> descendingIterator(String from, boolean fromInclusive, String to, boolean toInclusive) {
+        return iterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    // Bounds are compared against decoded keys, one String per node visited
+    private java.util.Iterator<String> iterator(boolean ascending, String from, boolean fromInclusive, String to, boolean toInclusive) {
+        return new BoundedIterator<Integer, String>(ascending, to, toInclusive) {
+            @Override
+            protected Integer left(Integer node) {
+                return OffHeapAVL.this.left(node);
+            }
+
+            @Override
+            protected Integer right(Integer node) {
+                return OffHeapAVL.this.right(node);
+            }
+
+            @Override
+            protected String key(Integer node) {
+                return keyAt(node);
+            }
+
+            @Override
+            protected boolean isNull(Integer node) {
+                return node == NIL;
+            }
+        }.start(root, from, fromInclusive);
+    }
+
+    // Build a perfectly balanced tree in O(n) from strictly ascending keys (tree must be empty)
+    @Override
+    public void buildFromSorted(java.util.List<String> sortedKeys) {
+        if (size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        Trees.checkStrictlyAscending(sortedKeys);
+        reset();
+        root = buildBalanced(sortedKeys, 0, sortedKeys.size() - 1);
+        size = sortedKeys.size();
+    }
+
+    private int buildBalanced(java.util.List<String> keys, int lo, int hi) {
+        if (lo > hi) {
+            return NIL;
+        }
+        int mid = (lo + hi) >>> 1;
+        int node = newNode(encode(keys.get(mid)));
+        setLeft(node, buildBalanced(keys, lo, mid - 1));
+        setRight(node, buildBalanced(keys, mid + 1, hi));
+        update(node);
+        return node;
+    }
+
+    // Source of UTF-8 encoded keys for buildFromEncoded, e.g. a snapshot file being read
+    interface EncodedKeys {
+        byte[] next() throws java.io.IOException;
+
+        // Called after the last key; may reject the input, which leaves the tree empty
+        default void finish() throws java.io.IOException {
+        }
+    }
+
+    // Same as buildFromSorted, but takes count keys already in UTF-8 straight into the arena,
+    // without a String per key. The keys are built in in-order sequence, so they can be streamed.
+    void buildFromEncoded(int count, EncodedKeys keys) throws java.io.IOException {
+        if (size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        reset();
+        try {
+            int built = buildBalanced(keys, count, new byte[1][]);
+            keys.finish();
+            root = built;
+            size = count;
+        } catch (java.io.IOException | RuntimeException e) {
+            reset();
+            throw e;
+        }
+    }
+
+    // Builds count keys as a balanced subtree; previous[0] holds the last key taken, for the order check
+    private int buildBalanced(EncodedKeys keys, int count, byte[][] previous) throws java.io.IOException {
+        if (count == 0) {
+            return NIL;
+        }
+        int leftCount = (count - 1) >>> 1;
+        int left = buildBalanced(keys, leftCount, previous);
+        byte[] key = keys.next();
+        if (previous[0] != null && compare(previous[0], key) >= 0) {
+            throw new IllegalArgumentException("Keys must be sorted in strictly ascending order");
+        }
+        previous[0] = key;
+        int node = newNode(key);
+        setLeft(node, left);
+        setRight(node, buildBalanced(keys, count - 1 - leftCount, previous));
+        update(node);
+        return node;
+    }
+
+    // Two encoded keys in String.compareTo order
+    private static int compare(byte[] a, byte[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            if (a[i] != b[i]) {
+                return compareUtf16(a[i] & 0xFF, b[i] & 0xFF);
+            }
+        }
+        return a.length - b.length;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int height() {
+        return height(root);
+    }
+
+    public void printdictinory() {
+        System.out.println("Dictionary contents (Off-heap AVL Tree - in-order traversal):");
+        if (root == NIL) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + size);
+        System.out.println("Off-heap storage: " + offHeapBytes() + " bytes");
+        System.out.println("--------------------------------------");
+        inorderTraversal(key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+
+    // Iterative in-order walk with an explicit stack of at most height + 1 nodes
+    public void inorderTraversal(java.util.function.Consumer<String> consumer) {
+        int[] stack = new int[height(root) + 1];
+        int top = 0;
+        int current = root;
+        while (current != NIL || top > 0) {
+            while (current != NIL) {
+                stack[top++] = current;
+                current = left(current);
+            }
+            current = stack[--top];
+            consumer.accept(keyAt(current));
+            current = right(current);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package BSTs;
+
+// Key-value counterpart of Trees<T>: each key carries a value in its own node, so a payload (a
+// definition, a count) needs no side HashMap and no second lookup. Every call makes a single
+// descent, including the updates, which find the key and change or rebalance from that one path.
+// Neither keys nor values can be null, so get returns null exactly when the key is absent.
+public interface OrderedMap<K extends Comparable<K>, V> {
+    V get(K key);
+
+    // Returns the previous value, or null if the key was absent
+    V put(K key, V value);
+
+    // Adds the mapping only if the key is absent; returns the existing value, or null if it was added
+    V putIfAbsent(K key, V value);
+
+    // Returns the removed value, or null if the key was absent
+    V remove(K key);
+
+    // As java.util.Map.compute: remapping receives the current value (null if absent) and its result
+    // becomes the new value, or removes the key if null. Returns the new value. remapping must not
+    // modify this map.
+    V compute(K key, java.util.function.BiFunction<? super K, ? super V, ? extends V> remapping);
+
+    int size();
+    int height();
+
+    // Entries in ascending key order
+    void forEach(java.util.function.BiConsumer<? super K, ? super V> action);
+
+    default boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    default V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+}
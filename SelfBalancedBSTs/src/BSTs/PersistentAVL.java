@@ -0,0 +1,345 @@
+package BSTs;
+
+// AVL tree with immutable nodes. Every insert or delete copies only the root-to-leaf path it
+// touches and shares all other subtrees with the previous version, which is then published
+// through a single volatile field. Readers never lock: each call works on whichever version was
+// current when it started, and snapshot() hands out a version in O(1) that never changes.
+public class PersistentAVL<T extends Comparable<T>> implements Trees<T> {
+    private volatile Version<T> current;
+
+    private static final class Node<T> {
+        final T key;
+        final Node<T> left, right;
+        final int height;
+        final int size; // Number of nodes in this subtree, for rank and select
+
+        Node(T key, Node<T> left, Node<T> right) {
+            this.key = key;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    // Root and size published together so readers never see one without the other
+    private static final class Version<T> {
+        final Node<T> root;
+        final int size;
+
+        Version(Node<T> root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+    }
+
+    public PersistentAVL() {
+        this.current = new Version<>(null, 0);
+    }
+
+    private PersistentAVL(Version<T> version) {
+        this.current = version;
+    }
+
+    // O(1) snapshot: an independent tree that starts out sharing every node with this one
+    public PersistentAVL<T> snapshot() {
+        return new PersistentAVL<>(current);
+    }
+
+    // Get height of a node (handles null case)
+    private static int height(Node<?> node) {
+        if (node == null) return -1;
+        return node.height;
+    }
+
+    // Get subtree size of a node (handles null case)
+    private static int size(Node<?> node) {
+        if (node == null) return 0;
+        return node.size;
+    }
+
+    // Get balance factor of a node
+    private static int getBalance(Node<?> node) {
+        if (node == null) return 0;
+        return height(node.left) - height(node.right);
+    }
+
+    private Node<T> rightRotate(Node<T> y) {
+        Node<T> x = y.left;
+        return new Node<>(x.key, x.left, new Node<>(y.key, x.right, y.right));
+    }
+
+    private Node<T> leftRotate(Node<T> x) {
+        Node<T> y = x.right;
+        return new Node<>(y.key, new Node<>(x.key, x.left, y.left), y.right);
+    }
+
+    // Restore the AVL property at a freshly copied node
+    private Node<T> rebalance(Node<T> node) {
+        int balance = getBalance(node);
+
+        // Left heavy case
+        if (balance > 1) {
+            if (getBalance(node.left) < 0) {
+                // Left-Right Case
+                node = new Node<>(node.key, leftRotate(node.left), node.right);
+            }
+            return rightRotate(node);
+        }
+
+        // Right heavy case
+        if (balance < -1) {
+            if (getBalance(node.right) > 0) {
+                // Right-Left Case
+                node = new Node<>(node.key, node.left, rightRotate(node.right));
+            }
+            return leftRotate(node);
+        }
+
+        return node;
+    }
+
+    // Writers are serialized; readers never wait for them
+    @Override
+    public synchronized boolean insert(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Version<T> version = current;
+        Node<T> newRoot = insertNode(version.root, key);
+        // An unchanged root means the key was already there, so no search pass is needed
+        if (newRoot == version.root) {
+            return false;
+        }
+        current = new Version<>(newRoot, version.size + 1);
+        return true;
+    }
+
+    private Node<T> insertNode(Node<T> node, T key) {
+        if (node == null) {
+            return new Node<>(key, null, null);
+        }
+
+        int compareResult = key.compareTo(node.key);
+
+        if (compareResult < 0) {
+            Node<T> left = insertNode(node.left, key);
+            return left == node.left ? node : rebalance(new Node<>(node.key, left, node.right));
+        } else if (compareResult > 0) {
+            Node<T> right = insertNode(node.right, key);
+            return right == node.right ? node : rebalance(new Node<>(node.key, node.left, right));
+        }
+        return node;
+    }
+
+    @Override
+    public synchronized boolean delete(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Version<T> version = current;
+        Node<T> newRoot = deleteNode(version.root, key);
+        if (newRoot == version.root) {
+            return false;
+        }
+        current = new Version<>(newRoot, version.size - 1);
+        return true;
+    }
+
+    private Node<T> deleteNode(Node<T> node, T key) {
+        if (node == null) {
+            return null;
+        }
+
+        int compareResult = key.compareTo(node.key);
+
+        if (compareResult < 0) {
+            Node<T> left = deleteNode(node.left, key);
+            return left == node.left ? node : rebalance(new Node<>(node.key, left, node.right));
+        } else if (compareResult > 0) {
+            Node<T> right = deleteNode(node.right, key);
+            return right == node.right ? node : rebalance(new Node<>(node.key, node.left, right));
+        }
+
+        // Node with one child or no child
+        if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        }
+
+        // Node with two children: replace it with a copy holding the inorder successor
+        T successor = findMin(node.right).key;
+        return rebalance(new Node<>(successor, node.left, deleteMin(node.right)));
+    }
+
+    private Node<T> deleteMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return rebalance(new Node<>(node.key, deleteMin(node.left), node.right));
+    }
+
+    private Node<T> findMin(Node<T> node) {
+        Node<T> current = node;
+        while (current.left != null) {
+            current = current.left;
+        }
+        return current;
+    }
+
+    @Override
+    public boolean search(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        Node<T> node = current.root;
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return true;
+            }
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    @Override
+    public int rank(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int rank = 0;
+        Node<T> node = current.root;
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return rank + size(node.left);
+            }
+            if (compareResult < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public T select(int k) {
+        return select(current.root, k);
+    }
+
+    // Works on one version's root, so the bounds check and the walk agree even with concurrent writers
+    private T select(Node<T> node, int k) {
+        if (k < 0 || k >= size(node)) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.key;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // Lower median of a single version
+    @Override
+    public T median() {
+        Node<T> root = current.root;
+        if (root == null) {
+            throw new java.util.NoSuchElementException("Tree is empty");
+        }
+        return select(root, (root.size - 1) / 2);
+    }
+
+    @Override
+    public java.util.Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(true, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public java.util.Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    // Iterates the version current at the call; later updates never affect it
+    private java.util.Iterator<T> iterator(boolean ascending, T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new BoundedIterator<Node<T>, T>(ascending, to, toInclusive) {
+            @Override
+            protected Node<T> left(Node<T> node) {
+                return node.left;
+            }
+
+            @Override
+            protected Node<T> right(Node<T> node) {
+                return node.right;
+            }
+
+            @Override
+            protected T key(Node<T> node) {
+                return node.key;
+            }
+        }.start(current.root, from, fromInclusive);
+    }
+
+    // Build a perfectly balanced tree in O(n) from strictly ascending keys (tree must be empty)
+    @Override
+    public synchronized void buildFromSorted(java.util.List<T> sortedKeys) {
+        if (current.size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        Trees.checkStrictlyAscending(sortedKeys);
+        current = new Version<>(buildBalanced(sortedKeys, 0, sortedKeys.size() - 1), sortedKeys.size());
+    }
+
+    private Node<T> buildBalanced(java.util.List<T> keys, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        return new Node<>(keys.get(mid), buildBalanced(keys, lo, mid - 1), buildBalanced(keys, mid + 1, hi));
+    }
+
+    @Override
+    public int size() {
+        return current.size;
+    }
+
+    @Override
+    public int height() {
+        return height(current.root);
+    }
+
+    public void printdictinory() {
+        Version<T> version = current;
+        System.out.println("Dictionary contents (Persistent AVL Tree - in-order traversal):");
+        if (version.root == null) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + version.size);
+        System.out.println("--------------------------------------");
+        inorderTraversal(version.root, key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+
+    // Walks one consistent version; concurrent writers neither block nor affect it
+    public void inorderTraversal(java.util.function.Consumer<T> consumer) {
+        inorderTraversal(current.root, consumer);
+    }
+
+    private void inorderTraversal(Node<T> node, java.util.function.Consumer<T> consumer) {
+        if (node == null) return;
+        inorderTraversal(node.left, consumer);
+        consumer.accept(node.key);
+        inorderTraversal(node.right, consumer);
+    }
+}
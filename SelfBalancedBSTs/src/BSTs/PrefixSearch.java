@@ -0,0 +1,43 @@
+package BSTs;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Type-ahead lookup over any string tree. Every key starting with a prefix lies in the half-open
+// range [prefix, upperBound(prefix)), so a bounded iterator descends once to the prefix and stops
+// at the first key past it: O(log n + limit) instead of a full in-order walk.
+public final class PrefixSearch {
+    private PrefixSearch() {
+    }
+
+    // Up to limit keys that start with prefix, in ascending order
+    public static List<String> search(Trees<String> tree, String prefix, int limit) {
+        if (prefix == null) {
+            throw new IllegalArgumentException("Prefix cannot be null");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        List<String> matches = new ArrayList<>(Math.min(limit, 64));
+        Iterator<String> range = tree.ascendingIterator(prefix, true, upperBound(prefix), false);
+        while (matches.size() < limit && range.hasNext()) {
+            matches.add(range.next());
+        }
+        return matches;
+    }
+
+    // Least string greater than every string that starts with prefix, or null if there is none
+    // (prefix empty or made only of U+FFFF). Trailing U+FFFF chars cannot be incremented, so they
+    // are dropped and the char before them is bumped instead.
+    static String upperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            end--;
+        }
+        if (end == 0) {
+            return null;
+        }
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
+    }
+}
@@ -1,18 +1,29 @@
 package BSTs;
 public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+    private static final int MAX_HEIGHT = 64;
+
     Node root;
     int size;
     Node TNULL; 
+    // Black nodes on any path from the root down (TNULL excluded). It only changes when the
+    // root's colour flips, so the fixups and bulk operations keep it up to date.
+    int blackHeight;
     
     private class Node {
         T key;
         Node parent;
         Node left, right;
-        String colour;
+        boolean colour;
+        int size; // Number of nodes in this subtree, for rank and select (0 for TNULL)
+        int height; // Nodes on the longest path down from here (0 for TNULL)
 
         public Node(T key) {
             this.key = key;
-            this.colour = "RED";
+            this.colour = RED;
+            this.size = 1;
+            this.height = 1;
             this.left = this.right = null;
             this.parent = null;
         }
@@ -20,7 +31,9 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
 
     public RedBlackTree() {
         this.TNULL = new Node(null);
-        this.TNULL.colour = "BLACK";
+        this.TNULL.colour = BLACK;
+        this.TNULL.size = 0;
+        this.TNULL.height = 0;
         this.TNULL.left = TNULL;
         this.TNULL.right = TNULL;
         this.root = TNULL;
@@ -35,7 +48,10 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
         }
         y.parent = x.parent;
         if (x.parent == TNULL) {
-            this.root = y;
+            // Roots of detached subtrees in the bulk operations below have no parent either
+            if (x == this.root) {
+                this.root = y;
+            }
         } else if (x == x.parent.left) {
             x.parent.left = y;
         } else {
@@ -43,6 +59,11 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
         }
         y.left = x;
         x.parent = y;
+        y.size = x.size;
+        x.size = x.left.size + x.right.size + 1;
+        updateHeight(x);
+        updateHeight(y);
+        updateHeights(y.parent);
     }
 
     public void rightRotate(Node x) {
@@ -53,7 +74,10 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
         }
         y.parent = x.parent;
         if (x.parent == TNULL) {
-            this.root = y;
+            // Roots of detached subtrees in the bulk operations below have no parent either
+            if (x == this.root) {
+                this.root = y;
+            }
         } else if (x == x.parent.right) {
             x.parent.right = y;
         } else {
@@ -61,6 +85,11 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
         }
         y.right = x;
         x.parent = y;
+        y.size = x.size;
+        x.size = x.left.size + x.right.size + 1;
+        updateHeight(x);
+        updateHeight(y);
+        updateHeights(y.parent);
     }
 
     @Override
@@ -69,69 +98,73 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
             throw new IllegalArgumentException("Key cannot be null");
         }
         
-        if (search(key)) {
-            return false;
-        }
-        Node z = new Node(key);
-        z.left = this.TNULL;
-        z.right = this.TNULL;
+        // Single descent: either find the key or the leaf position to attach it at
         Node y = TNULL;
         Node x = this.root;
-
+        int compareResult = 0;
         while (x != this.TNULL) {
-            y = x;
-            if (z.key.compareTo(x.key) < 0) {
-                x = x.left;
-            } else {
-                x = x.right;
+            compareResult = key.compareTo(x.key);
+            if (compareResult == 0) {
+                return false;
             }
+            y = x;
+            x = compareResult < 0 ? x.left : x.right;
         }
+
+        Node z = new Node(key);
+        z.left = this.TNULL;
+        z.right = this.TNULL;
         z.parent = y;
         if (y == TNULL) {
             this.root = z;
-        } else if (z.key.compareTo(y.key) < 0) {
+        } else if (compareResult < 0) {
             y.left = z;
         } else {
             y.right = z;
         }
-        
+        // Every ancestor gains a descendant; the fixup's rotations keep sizes right from here on
+        for (Node ancestor = y; ancestor != TNULL; ancestor = ancestor.parent) {
+            ancestor.size++;
+        }
+        updateHeights(y);
+
         insertFixup(z);
         this.size++;
         return true;
     }
 
     public void insertFixup(Node z) {
-        while (z.parent != null && z.parent.colour.equals("RED")) {
+        while (z.parent != null && z.parent.colour == RED) {
             if (z.parent == z.parent.parent.left) {
                 Node y = z.parent.parent.right;
-                if (y.colour.equals("RED")) {
-                    z.parent.colour = "BLACK";
-                    y.colour = "BLACK";
-                    z.parent.parent.colour = "RED";
+                if (y.colour == RED) {
+                    z.parent.colour = BLACK;
+                    y.colour = BLACK;
+                    z.parent.parent.colour = RED;
                     z = z.parent.parent;
                 } else {
                     if (z == z.parent.right) {
                         z = z.parent;
                         leftRotate(z);
                     }
-                    z.parent.colour = "BLACK";
-                    z.parent.parent.colour = "RED";
+                    z.parent.colour = BLACK;
+                    z.parent.parent.colour = RED;
                     rightRotate(z.parent.parent);
                 }
             } else {
                 Node y = z.parent.parent.left;
-                if (y.colour.equals("RED")) {
-                    z.parent.colour = "BLACK";
-                    y.colour = "BLACK";
-                    z.parent.parent.colour = "RED";
+                if (y.colour == RED) {
+                    z.parent.colour = BLACK;
+                    y.colour = BLACK;
+                    z.parent.parent.colour = RED;
                     z = z.parent.parent;
                 } else {
                     if (z == z.parent.left) {
                         z = z.parent;
                         rightRotate(z);
                     }
-                    z.parent.colour = "BLACK";
-                    z.parent.parent.colour = "RED";
+                    z.parent.colour = BLACK;
+                    z.parent.parent.colour = RED;
                     leftRotate(z.parent.parent);
                 }
             }
@@ -139,7 +172,11 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
                 break;
             }
         }
-        this.root.colour = "BLACK";
+        if (this.root.colour == RED) {
+            // Recolouring reached the root: every path gains a black node
+            this.root.colour = BLACK;
+            this.blackHeight++;
+        }
     }
 
     @Override
@@ -151,14 +188,19 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
     }
 
     public boolean search(T key, Node node) {
-        if (node == this.TNULL || key.equals(node.key)) {
-            return node != this.TNULL;
-        }
-        if (key.compareTo(node.key) < 0) {
-            return search(key, node.left);
-        } else {
-            return search(key, node.right);
+        for (int depth = 0; node != this.TNULL; depth++) {
+            if (depth == MAX_HEIGHT) {
+                // Red-black height is at most 2 log2(n + 1), under 64 for any int size, so a
+                // longer path means links read mid-rotation by an unlocked reader
+                throw new java.util.ConcurrentModificationException("Search passed " + MAX_HEIGHT + " levels");
+            }
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return true;
+            }
+            node = compareResult < 0 ? node.left : node.right;
         }
+        return false;
     } 
 
     public void transplant(Node u, Node v) {
@@ -176,13 +218,11 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
     public Node getNode(T key) {
         Node node = this.root;
         while (node != this.TNULL) {
-            if (key.equals(node.key)) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
                 return node;
-            } else if (key.compareTo(node.key) < 0) {
-                node = node.left;
-            } else {
-                node = node.right;
             }
+            node = compareResult < 0 ? node.left : node.right;
         }
         return null;
     }
@@ -200,22 +240,27 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
             throw new IllegalArgumentException("Key cannot be null");
         }
         
-        if (!search(key)) {
+        // Single descent: a missing key means nothing to delete
+        Node z = getNode(key);
+        if (z == null) {
             return false;
         }
-        Node z = getNode(key);
         Node y = z;
-        String yOriginalColour = y.colour;
+        boolean yOriginalColour = y.colour;
         Node x;
 
         if (z.left == this.TNULL) {
+            decrementSizes(z.parent);
             x = z.right;
             transplant(z, z.right);
         } else if (z.right == this.TNULL) {
+            decrementSizes(z.parent);
             x = z.left;
             transplant(z, z.left);
         } else {
             y = minimum(z.right);
+            // y is unlinked from its old spot (z is among its ancestors) and then takes over z's subtree
+            decrementSizes(y.parent);
             yOriginalColour = y.colour;
             x = y.right;
             if (y.parent == z) {
@@ -229,69 +274,622 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
             y.left = z.left;
             y.left.parent = y;
             y.colour = z.colour;
+            y.size = z.size;
+            y.height = z.height;
         }
-        if (yOriginalColour.equals("BLACK")) {
+        // x.parent is the lowest node whose children changed (set even when x is TNULL)
+        updateHeights(x.parent);
+        if (yOriginalColour == BLACK) {
             deleteFixup(x);
         }
         this.size--;
         return true;
     }
 
+    // One node has been removed below node: shrink the subtree sizes from there up to the root
+    private void decrementSizes(Node node) {
+        for (; node != TNULL; node = node.parent) {
+            node.size--;
+        }
+    }
+
+    private void updateHeight(Node node) {
+        node.height = Math.max(node.left.height, node.right.height) + 1;
+    }
+
+    // node's children have changed: recompute heights from there up to the root of its (possibly
+    // detached) subtree, stopping at the first one that comes out unchanged. Called after each
+    // structural change and each rotation, so every height is exact before the next one.
+    private void updateHeights(Node node) {
+        for (; node != TNULL; node = node.parent) {
+            int height = Math.max(node.left.height, node.right.height) + 1;
+            if (height == node.height) {
+                return;
+            }
+            node.height = height;
+        }
+    }
+
     public void deleteFixup(Node x) {
-        while (x != this.root &&  x.colour.equals("BLACK")) {
+        // Set once a rotation absorbs the extra black; otherwise it may reach the root and vanish
+        boolean absorbed = false;
+        while (x != this.root &&  x.colour == BLACK) {
             if (x == x.parent.left) {
                 Node w = x.parent.right;
-                if (w.colour.equals("RED")) {
-                    w.colour = "BLACK";
-                    x.parent.colour = "RED";
+                if (w.colour == RED) {
+                    w.colour = BLACK;
+                    x.parent.colour = RED;
                     leftRotate(x.parent);
                     w = x.parent.right;
                 }
-                if (w.left.colour.equals("BLACK") && w.right.colour.equals("BLACK")) {
-                    w.colour = "RED";
+                if (w.left.colour == BLACK && w.right.colour == BLACK) {
+                    w.colour = RED;
                     x = x.parent;
                 } else {
-                    if (w.right.colour.equals("BLACK")) {
-                        w.left.colour = "BLACK";
-                        w.colour = "RED";
+                    if (w.right.colour == BLACK) {
+                        w.left.colour = BLACK;
+                        w.colour = RED;
                         rightRotate(w);
                         w = x.parent.right;
                     }
                     w.colour = x.parent.colour;
-                    x.parent.colour = "BLACK";
-                    w.right.colour = "BLACK";
+                    x.parent.colour = BLACK;
+                    w.right.colour = BLACK;
                     leftRotate(x.parent);
+                    absorbed = true;
                     x = this.root;
                 }
             } else {
                 Node w = x.parent.left;
-                if (w.colour.equals("RED")) {
-                    w.colour = "BLACK";
-                    x.parent.colour = "RED";
+                if (w.colour == RED) {
+                    w.colour = BLACK;
+                    x.parent.colour = RED;
                     rightRotate(x.parent);
                     w = x.parent.left;
                 }
-                if (w.right.colour.equals("BLACK") &&  w.left.colour.equals("BLACK")) {
-                    w.colour = "RED";
+                if (w.right.colour == BLACK &&  w.left.colour == BLACK) {
+                    w.colour = RED;
                     x = x.parent;
                 } else {
-                    if (w.left.colour.equals("BLACK")) {
-                        w.right.colour = "BLACK";
-                        w.colour = "RED";
+                    if (w.left.colour == BLACK) {
+                        w.right.colour = BLACK;
+                        w.colour = RED;
                         leftRotate(w);
                         w = x.parent.left;
                     }
                     w.colour = x.parent.colour;
-                    x.parent.colour = "BLACK";
-                    w.left.colour = "BLACK";
+                    x.parent.colour = BLACK;
+                    w.left.colour = BLACK;
                     rightRotate(x.parent);
+                    absorbed = true;
                     x = this.root;
                 }
             }
         }
+        if (!absorbed && x == this.root && x.colour == BLACK) {
+            // The extra black reached the root (or the tree is now empty): every path lost one
+            this.blackHeight--;
+        }
+
+        x.colour = BLACK;
 
-        x.colour = "BLACK";
+    }
 
+    @Override
+    public int rank(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        int rank = 0;
+        Node node = this.root;
+        while (node != this.TNULL) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return rank + node.left.size;
+            }
+            if (compareResult < 0) {
+                node = node.left;
+            } else {
+                // Everything in the left subtree and the node itself sorts before key
+                rank += node.left.size + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public T select(int k) {
+        if (k < 0 || k >= this.size) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        Node node = this.root;
+        while (true) {
+            int leftSize = node.left.size;
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.key;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public java.util.Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(true, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public java.util.Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    private java.util.Iterator<T> iterator(boolean ascending, T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new BoundedIterator<Node, T>(ascending, to, toInclusive) {
+            @Override
+            protected Node left(Node node) {
+                return node.left;
+            }
+
+            @Override
+            protected Node right(Node node) {
+                return node.right;
+            }
+
+            @Override
+            protected T key(Node node) {
+                return node.key;
+            }
+
+            @Override
+            protected boolean isNull(Node node) {
+                return node == TNULL;
+            }
+        }.start(root, from, fromInclusive);
+    }
+
+    // ---------------------------------------------------------------- join-based bulk operations
+    // Same scheme as AVL's (Blelloch, Ferizovic and Sun, "Just Join for Parallel Ordered Sets"),
+    // balanced by black height instead of height. Subtrees in flight are detached (parent TNULL),
+    // may have a red root, and carry their black height so a join costs O(black-height difference).
+    // While one runs, root is TNULL, so the rotations and insertFixup never touch it.
+
+    // Appends key and all of greater's keys, which must all sort after this tree's keys and key.
+    // greater is left empty.
+    public void join(T key, RedBlackTree<T> greater) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (greater == this) {
+            throw new IllegalArgumentException("Cannot join a tree with itself");
+        }
+        T last = last();
+        T first = greater.first();
+        if ((last != null && last.compareTo(key) >= 0) || (first != null && key.compareTo(first) >= 0)) {
+            throw new IllegalArgumentException("Keys must be sorted in strictly ascending order");
+        }
+        Node spare = shareSentinel(greater);
+        Piece left = detachRoot();
+        Piece right = greater.detachRoot();
+        attachRoot(join(left, new Node(key), right));
+        releaseSentinel(greater, spare);
+    }
+
+    // Moves every key greater than key into greater, which must be empty, and keeps the smaller ones.
+    // key itself is removed; returns whether it was present. O(log n), plus relinking the leaves of
+    // the smaller part to its tree's own TNULL.
+    public boolean split(T key, RedBlackTree<T> greater) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (greater == this || greater.size != 0) {
+            throw new IllegalArgumentException("Split target must be a different, empty tree");
+        }
+        Split parts = split(detachRoot(), key);
+        if (parts.left.root.size < parts.right.root.size) {
+            // The larger part keeps the sentinel it already uses
+            Node sentinel = greater.TNULL;
+            greater.TNULL = this.TNULL;
+            this.TNULL = sentinel;
+            relinkLeaves(parts.left.root, greater.TNULL, this.TNULL);
+        } else {
+            relinkLeaves(parts.right.root, this.TNULL, greater.TNULL);
+        }
+        attachRoot(parts.left);
+        greater.attachRoot(parts.right);
+        return parts.found;
+    }
+
+    // this = this ∪ other; other is left empty. O(m log(n/m + 1)) work for sizes m <= n.
+    public void union(RedBlackTree<T> other) {
+        combine(UNION, other, null);
+    }
+
+    // As union, also handing common each of other's keys this tree already held, as the splits
+    // find them: no extra searches. A large merge runs on several threads, so common must be
+    // thread-safe; keys arrive in no particular order.
+    public void union(RedBlackTree<T> other, java.util.function.Consumer<? super T> common) {
+        combine(UNION, other, common);
+    }
+
+    // this = this ∩ other; other is left empty
+    public void intersection(RedBlackTree<T> other) {
+        combine(INTERSECTION, other, null);
+    }
+
+    // this = this \ other; other is left empty
+    public void difference(RedBlackTree<T> other) {
+        combine(DIFFERENCE, other, null);
+    }
+
+    // As difference, also handing common each key it removed; same threading as union's
+    public void difference(RedBlackTree<T> other, java.util.function.Consumer<? super T> common) {
+        combine(DIFFERENCE, other, common);
+    }
+
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+
+    // The work is driven by the smaller side: below this many nodes there the two halves are
+    // combined in the current thread, as forking would cost more than it saves
+    private static final int PARALLEL_THRESHOLD = 1024;
+
+    private void combine(int operation, RedBlackTree<T> other, java.util.function.Consumer<? super T> common) {
+        if (other == this) {
+            if (operation == DIFFERENCE) {
+                detachRoot();
+            }
+            return;
+        }
+        Node spare = shareSentinel(other);
+        Piece a = detachRoot();
+        Piece b = other.detachRoot();
+        Piece result = Math.min(a.root.size, b.root.size) < PARALLEL_THRESHOLD
+                ? combine(operation, a, b, common)
+                : java.util.concurrent.ForkJoinPool.commonPool().invoke(new SetOperation(operation, a, b, common));
+        attachRoot(result);
+        releaseSentinel(other, spare);
+    }
+
+    // common (may be null) receives every key found in both a and b, which is the pivot of each
+    // split that finds it
+    private Piece combine(int operation, Piece a, Piece b, java.util.function.Consumer<? super T> common) {
+        if (a.root == TNULL) {
+            return operation == UNION ? b : a;
+        }
+        if (b.root == TNULL) {
+            return operation == INTERSECTION ? b : a;
+        }
+        boolean parallel = Math.min(a.root.size, b.root.size) >= PARALLEL_THRESHOLD;
+        // Union and intersection split b around a's root; difference splits a around b's root
+        Node pivot;
+        Piece leftA, leftB, rightA, rightB;
+        Split parts;
+        if (operation == DIFFERENCE) {
+            pivot = b.root;
+            parts = split(a, pivot.key);
+            leftA = parts.left;
+            rightA = parts.right;
+            leftB = child(b, pivot.left);
+            rightB = child(b, pivot.right);
+        } else {
+            pivot = a.root;
+            parts = split(b, pivot.key);
+            leftA = child(a, pivot.left);
+            rightA = child(a, pivot.right);
+            leftB = parts.left;
+            rightB = parts.right;
+        }
+
+        Piece left;
+        Piece right;
+        if (parallel) {
+            SetOperation leftTask = new SetOperation(operation, leftA, leftB, common);
+            leftTask.fork();
+            right = combine(operation, rightA, rightB, common);
+            left = leftTask.join();
+        } else {
+            left = combine(operation, leftA, leftB, common);
+            right = combine(operation, rightA, rightB, common);
+        }
+        if (parts.found && common != null) {
+            common.accept(pivot.key);
+        }
+
+        if (operation == UNION || (operation == INTERSECTION && parts.found)) {
+            return join(left, pivot, right);
+        }
+        return joinWithoutKey(left, right);
+    }
+
+    private final class SetOperation extends java.util.concurrent.RecursiveTask<Piece> {
+        private static final long serialVersionUID = 1L;
+
+        private final int operation;
+        private final Piece a;
+        private final Piece b;
+        private final java.util.function.Consumer<? super T> common;
+
+        SetOperation(int operation, Piece a, Piece b, java.util.function.Consumer<? super T> common) {
+            this.operation = operation;
+            this.a = a;
+            this.b = b;
+            this.common = common;
+        }
+
+        @Override
+        protected Piece compute() {
+            return combine(operation, a, b, common);
+        }
+    }
+
+    // A detached subtree and its black height (black nodes on any path down, TNULL excluded)
+    private final class Piece {
+        final Node root;
+        final int blackHeight;
+
+        Piece(Node root, int blackHeight) {
+            this.root = root;
+            this.blackHeight = blackHeight;
+        }
+    }
+
+    // Keys of a subtree below and above a split key, and whether the key itself was there
+    private final class Split {
+        Piece left;
+        boolean found;
+        Piece right;
+
+        Split(Piece left, boolean found, Piece right) {
+            this.left = left;
+            this.found = found;
+            this.right = right;
+        }
+    }
+
+    // Detach a child of piece's root as a piece of its own
+    private Piece child(Piece piece, Node child) {
+        if (child != TNULL) {
+            child.parent = TNULL;
+        }
+        return new Piece(child, piece.blackHeight - (piece.root.colour == BLACK ? 1 : 0));
+    }
+
+    private Split split(Piece piece, T key) {
+        Node node = piece.root;
+        if (node == TNULL) {
+            return new Split(piece, false, piece);
+        }
+        Piece left = child(piece, node.left);
+        Piece right = child(piece, node.right);
+        int compareResult = key.compareTo(node.key);
+        if (compareResult == 0) {
+            return new Split(left, true, right);
+        }
+        if (compareResult < 0) {
+            Split parts = split(left, key);
+            parts.right = join(parts.right, node, right);
+            return parts;
+        }
+        Split parts = split(right, key);
+        parts.left = join(left, node, parts.left);
+        return parts;
+    }
+
+    // Valid tree of left, mid, right (all of left < mid.key < all of right), reusing mid as a node.
+    // The shorter piece hangs as mid's child at the point on the taller one's spine with the same
+    // black height; mid starts red and insertFixup repairs any red-red pair above it.
+    private Piece join(Piece left, Node mid, Piece right) {
+        Node l = left.root;
+        Node r = right.root;
+        int leftHeight = left.blackHeight;
+        int rightHeight = right.blackHeight;
+        // A root can always be recoloured black
+        if (l.colour == RED) {
+            l.colour = BLACK;
+            leftHeight++;
+        }
+        if (r.colour == RED) {
+            r.colour = BLACK;
+            rightHeight++;
+        }
+        if (leftHeight == rightHeight) {
+            link(mid, l, r);
+            mid.parent = TNULL;
+            mid.colour = BLACK;
+            return new Piece(mid, leftHeight + 1);
+        }
+
+        Node top = leftHeight > rightHeight ? l : r;
+        boolean alongRight = leftHeight > rightHeight;
+        int height = Math.max(leftHeight, rightHeight);
+        int target = Math.min(leftHeight, rightHeight);
+        // Walk down to the first black node of the shorter piece's black height (TNULL if that is 0)
+        Node parent = TNULL;
+        Node spine = top;
+        while (spine.colour == RED || height > target) {
+            if (spine.colour == BLACK) {
+                height--;
+            }
+            parent = spine;
+            spine = alongRight ? spine.right : spine.left;
+        }
+        Node shorter = alongRight ? r : l;
+        if (alongRight) {
+            link(mid, spine, shorter);
+            parent.right = mid;
+        } else {
+            link(mid, shorter, spine);
+            parent.left = mid;
+        }
+        mid.parent = parent;
+        mid.colour = RED;
+        for (Node ancestor = parent; ancestor != TNULL; ancestor = ancestor.parent) {
+            ancestor.size += shorter.size + 1;
+        }
+        updateHeights(parent);
+
+        insertFixup(mid);
+        // A rotation at the top leaves the old root just below the new one
+        Node newRoot = top.parent == TNULL ? top : top.parent;
+        int blackHeight = Math.max(leftHeight, rightHeight);
+        if (newRoot.colour == RED) {
+            newRoot.colour = BLACK;
+            blackHeight++;
+        }
+        return new Piece(newRoot, blackHeight);
+    }
+
+    // Make left and right mid's children and recompute its subtree size and height
+    private void link(Node mid, Node left, Node right) {
+        mid.left = left;
+        mid.right = right;
+        if (left != TNULL) {
+            left.parent = mid;
+        }
+        if (right != TNULL) {
+            right.parent = mid;
+        }
+        mid.size = left.size + right.size + 1;
+        updateHeight(mid);
+    }
+
+    // Join two pieces without a middle key by borrowing left's largest node
+    private Piece joinWithoutKey(Piece left, Piece right) {
+        if (left.root == TNULL) {
+            return right;
+        }
+        if (right.root == TNULL) {
+            return left;
+        }
+        java.util.List<Node> last = new java.util.ArrayList<>(1);
+        Piece rest = removeLast(left, last);
+        return join(rest, last.get(0), right);
+    }
+
+    // Detach a piece's largest node into last and return the rebalanced remainder
+    private Piece removeLast(Piece piece, java.util.List<Node> last) {
+        Node node = piece.root;
+        Piece left = child(piece, node.left);
+        if (node.right == TNULL) {
+            last.add(node);
+            return left;
+        }
+        Piece right = child(piece, node.right);
+        return join(left, node, removeLast(right, last));
+    }
+
+    // Take the whole tree out as a piece, leaving this tree empty
+    private Piece detachRoot() {
+        Piece piece = new Piece(this.root, this.blackHeight);
+        this.root = TNULL;
+        this.size = 0;
+        this.blackHeight = 0;
+        return piece;
+    }
+
+    // Only sentinels have size 0, and the piece's may be another tree's
+    private void attachRoot(Piece piece) {
+        this.root = piece.root.size == 0 ? this.TNULL : piece.root;
+        this.size = this.root.size;
+        this.blackHeight = this.root == this.TNULL ? 0 : piece.blackHeight + (this.root.colour == RED ? 1 : 0);
+        this.root.colour = BLACK;
+    }
+
+    // Each tree has its own TNULL, so before two trees' nodes can be mixed the smaller tree's leaves
+    // are pointed at the larger one's sentinel, which both trees then use: O(min(n, m)). Returns the
+    // sentinel left over, to be handed back to other once it has been emptied.
+    private Node shareSentinel(RedBlackTree<T> other) {
+        Node spare;
+        if (this.size >= other.size) {
+            spare = other.TNULL;
+            relinkLeaves(other.root, spare, this.TNULL);
+            if (other.root == spare) {
+                other.root = this.TNULL;
+            }
+        } else {
+            spare = this.TNULL;
+            relinkLeaves(this.root, spare, other.TNULL);
+            if (this.root == spare) {
+                this.root = other.TNULL;
+            }
+            this.TNULL = other.TNULL;
+        }
+        other.TNULL = this.TNULL;
+        return spare;
+    }
+
+    // other has been emptied: give it back a sentinel of its own
+    private static <T extends Comparable<T>> void releaseSentinel(RedBlackTree<T> other, RedBlackTree<T>.Node spare) {
+        other.TNULL = spare;
+        other.root = spare;
+        other.size = 0;
+        other.blackHeight = 0;
+    }
+
+    private void relinkLeaves(Node node, Node from, Node to) {
+        if (node == from) {
+            return;
+        }
+        if (node.left == from) {
+            node.left = to;
+        } else {
+            relinkLeaves(node.left, from, to);
+        }
+        if (node.right == from) {
+            node.right = to;
+        } else {
+            relinkLeaves(node.right, from, to);
+        }
+        if (node.parent == from) {
+            node.parent = to;
+        }
+    }
+
+    // Build a balanced tree in O(n) from strictly ascending keys (tree must be empty).
+    // Every level is black except the deepest one, which is red unless it is full.
+    @Override
+    public void buildFromSorted(java.util.List<T> sortedKeys) {
+        if (this.size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        Trees.checkStrictlyAscending(sortedKeys);
+        int n = sortedKeys.size();
+        this.root = buildBalanced(sortedKeys, 0, n - 1, 0, redLevel(n), this.TNULL);
+        this.size = n;
+        for (Node node = this.root; node != TNULL; node = node.left) {
+            if (node.colour == BLACK) {
+                this.blackHeight++;
+            }
+        }
+    }
+
+    private Node buildBalanced(java.util.List<T> keys, int lo, int hi, int depth, int redLevel, Node parent) {
+        if (lo > hi) {
+            return this.TNULL;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(keys.get(mid));
+        node.parent = parent;
+        node.colour = depth == redLevel ? RED : BLACK;
+        node.size = hi - lo + 1;
+        node.left = buildBalanced(keys, lo, mid - 1, depth + 1, redLevel, node);
+        node.right = buildBalanced(keys, mid + 1, hi, depth + 1, redLevel, node);
+        updateHeight(node);
+        return node;
+    }
+
+    // Depth at which nodes are coloured red (root at depth 0); beyond the deepest level when it is full
+    private static int redLevel(int n) {
+        int level = 0;
+        for (int m = n - 1; m >= 0; m = m / 2 - 1) {
+            level++;
+        }
+        return level;
     }
 
     @Override
@@ -299,17 +897,21 @@ public class RedBlackTree<T extends Comparable<T>> implements Trees<T> {
         return this.size;
     }
 
+    // Empty = 0, single node = 1; kept per node, so O(1)
     @Override
     public int height() {
-        return height(this.root);
+        return this.root.height;
     }
 
     public int height(Node node) {
-        if (node == this.TNULL) {
-       // if (node.left == this.TNULL && node.right == this.TNULL) {   
-            return 0;
-        }
-        return Math.max(height(node.left), height(node.right)) + 1;
+        return node.height;
+    }
+
+    // Black nodes on every path from the root to a leaf (TNULL excluded); O(1). The height is
+    // always between this and twice this, so the two together show how far the tree is from
+    // perfectly balanced.
+    public int blackHeight() {
+        return this.blackHeight;
     }
 
     public void printdictinory() { 
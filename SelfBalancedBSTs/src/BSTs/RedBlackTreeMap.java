@@ -0,0 +1,380 @@
+package BSTs;
+
+// Red-black tree of key-value pairs: same sentinel, parent links and CLRS fixups as RedBlackTree,
+// with the value stored next to the key. The parent links mean an update needs no recorded path:
+// the descent that finds the key (or its parent-to-be) is the only one.
+public class RedBlackTreeMap<K extends Comparable<K>, V> implements OrderedMap<K, V> {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private Node root;
+    private int size;
+    private final Node TNULL;
+    // Where the last failed find stopped: the parent a new node attaches to, and on which side.
+    // Cleared once used so it never keeps a removed node alive.
+    private Node attachParent;
+    private int attachSide;
+
+    private class Node {
+        K key;
+        V value;
+        Node parent;
+        Node left, right;
+        boolean colour;
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.colour = RED;
+        }
+    }
+
+    public RedBlackTreeMap() {
+        this.TNULL = new Node(null, null);
+        this.TNULL.colour = BLACK;
+        this.TNULL.left = TNULL;
+        this.TNULL.right = TNULL;
+        this.root = TNULL;
+    }
+
+    private static <K> K requireKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    private static <V> V requireValue(V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        return value;
+    }
+
+    private void leftRotate(Node x) {
+        Node y = x.right;
+        x.right = y.left;
+        if (y.left != TNULL) {
+            y.left.parent = x;
+        }
+        y.parent = x.parent;
+        if (x.parent == TNULL) {
+            this.root = y;
+        } else if (x == x.parent.left) {
+            x.parent.left = y;
+        } else {
+            x.parent.right = y;
+        }
+        y.left = x;
+        x.parent = y;
+    }
+
+    private void rightRotate(Node x) {
+        Node y = x.left;
+        x.left = y.right;
+        if (y.right != TNULL) {
+            y.right.parent = x;
+        }
+        y.parent = x.parent;
+        if (x.parent == TNULL) {
+            this.root = y;
+        } else if (x == x.parent.right) {
+            x.parent.right = y;
+        } else {
+            x.parent.left = y;
+        }
+        y.right = x;
+        x.parent = y;
+    }
+
+    // ---- lookups ----
+
+    @Override
+    public V get(K key) {
+        requireKey(key);
+        Node node = this.root;
+        while (node != this.TNULL) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return node.value;
+            }
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    // ---- updates: one descent each ----
+
+    @Override
+    public V put(K key, V value) {
+        requireKey(key);
+        requireValue(value);
+        Node node = find(key);
+        if (node == null) {
+            attach(key, value);
+            return null;
+        }
+        V previous = node.value;
+        node.value = value;
+        return previous;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        requireKey(key);
+        requireValue(value);
+        Node node = find(key);
+        if (node == null) {
+            attach(key, value);
+            return null;
+        }
+        return node.value;
+    }
+
+    @Override
+    public V remove(K key) {
+        Node node = find(key);
+        if (node == null) {
+            attachParent = null;
+            return null;
+        }
+        V previous = node.value;
+        unlink(node);
+        return previous;
+    }
+
+    @Override
+    public V compute(K key, java.util.function.BiFunction<? super K, ? super V, ? extends V> remapping) {
+        Node node = find(key);
+        V updated = remapping.apply(key, node == null ? null : node.value);
+        if (updated == null) {
+            if (node != null) {
+                unlink(node);
+            }
+            attachParent = null;
+        } else if (node == null) {
+            attach(key, updated);
+        } else {
+            node.value = updated;
+        }
+        return updated;
+    }
+
+    // Returns the node holding key, or null with attachParent and attachSide set to where it belongs
+    private Node find(K key) {
+        requireKey(key);
+        Node y = TNULL;
+        Node x = this.root;
+        int compareResult = 0;
+        while (x != this.TNULL) {
+            compareResult = key.compareTo(x.key);
+            if (compareResult == 0) {
+                return x;
+            }
+            y = x;
+            x = compareResult < 0 ? x.left : x.right;
+        }
+        attachParent = y;
+        attachSide = compareResult;
+        return null;
+    }
+
+    private void attach(K key, V value) {
+        Node y = attachParent;
+        attachParent = null;
+        Node z = new Node(key, value);
+        z.left = this.TNULL;
+        z.right = this.TNULL;
+        z.parent = y;
+        if (y == TNULL) {
+            this.root = z;
+        } else if (attachSide < 0) {
+            y.left = z;
+        } else {
+            y.right = z;
+        }
+        insertFixup(z);
+        this.size++;
+    }
+
+    private void insertFixup(Node z) {
+        while (z.parent.colour == RED) {
+            if (z.parent == z.parent.parent.left) {
+                Node y = z.parent.parent.right;
+                if (y.colour == RED) {
+                    z.parent.colour = BLACK;
+                    y.colour = BLACK;
+                    z.parent.parent.colour = RED;
+                    z = z.parent.parent;
+                } else {
+                    if (z == z.parent.right) {
+                        z = z.parent;
+                        leftRotate(z);
+                    }
+                    z.parent.colour = BLACK;
+                    z.parent.parent.colour = RED;
+                    rightRotate(z.parent.parent);
+                }
+            } else {
+                Node y = z.parent.parent.left;
+                if (y.colour == RED) {
+                    z.parent.colour = BLACK;
+                    y.colour = BLACK;
+                    z.parent.parent.colour = RED;
+                    z = z.parent.parent;
+                } else {
+                    if (z == z.parent.left) {
+                        z = z.parent;
+                        rightRotate(z);
+                    }
+                    z.parent.colour = BLACK;
+                    z.parent.parent.colour = RED;
+                    leftRotate(z.parent.parent);
+                }
+            }
+        }
+        this.root.colour = BLACK;
+    }
+
+    private void transplant(Node u, Node v) {
+        if (u.parent == TNULL) {
+            this.root = v;
+        } else if (u == u.parent.left) {
+            u.parent.left = v;
+        } else {
+            u.parent.right = v;
+        }
+        v.parent = u.parent;
+    }
+
+    private Node minimum(Node node) {
+        while (node.left != this.TNULL) {
+            node = node.left;
+        }
+        return node;
+    }
+
+    // Remove the node find returned; the successor moves as a node, so no entry is copied
+    private void unlink(Node z) {
+        Node y = z;
+        boolean yOriginalColour = y.colour;
+        Node x;
+        if (z.left == this.TNULL) {
+            x = z.right;
+            transplant(z, z.right);
+        } else if (z.right == this.TNULL) {
+            x = z.left;
+            transplant(z, z.left);
+        } else {
+            y = minimum(z.right);
+            yOriginalColour = y.colour;
+            x = y.right;
+            if (y.parent == z) {
+                x.parent = y;
+            } else {
+                transplant(y, y.right);
+                y.right = z.right;
+                y.right.parent = y;
+            }
+            transplant(z, y);
+            y.left = z.left;
+            y.left.parent = y;
+            y.colour = z.colour;
+        }
+        if (yOriginalColour == BLACK) {
+            deleteFixup(x);
+        }
+        this.size--;
+    }
+
+    private void deleteFixup(Node x) {
+        while (x != this.root && x.colour == BLACK) {
+            if (x == x.parent.left) {
+                Node w = x.parent.right;
+                if (w.colour == RED) {
+                    w.colour = BLACK;
+                    x.parent.colour = RED;
+                    leftRotate(x.parent);
+                    w = x.parent.right;
+                }
+                if (w.left.colour == BLACK && w.right.colour == BLACK) {
+                    w.colour = RED;
+                    x = x.parent;
+                } else {
+                    if (w.right.colour == BLACK) {
+                        w.left.colour = BLACK;
+                        w.colour = RED;
+                        rightRotate(w);
+                        w = x.parent.right;
+                    }
+                    w.colour = x.parent.colour;
+                    x.parent.colour = BLACK;
+                    w.right.colour = BLACK;
+                    leftRotate(x.parent);
+                    x = this.root;
+                }
+            } else {
+                Node w = x.parent.left;
+                if (w.colour == RED) {
+                    w.colour = BLACK;
+                    x.parent.colour = RED;
+                    rightRotate(x.parent);
+                    w = x.parent.left;
+                }
+                if (w.right.colour == BLACK && w.left.colour == BLACK) {
+                    w.colour = RED;
+                    x = x.parent;
+                } else {
+                    if (w.left.colour == BLACK) {
+                        w.right.colour = BLACK;
+                        w.colour = RED;
+                        leftRotate(w);
+                        w = x.parent.left;
+                    }
+                    w.colour = x.parent.colour;
+                    x.parent.colour = BLACK;
+                    w.left.colour = BLACK;
+                    rightRotate(x.parent);
+                    x = this.root;
+                }
+            }
+        }
+        x.colour = BLACK;
+    }
+
+    // ---- reporting ----
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Same convention as RedBlackTree: empty = 0, single node = 1
+    @Override
+    public int height() {
+        return height(this.root);
+    }
+
+    private int height(Node node) {
+        if (node == this.TNULL) {
+            return 0;
+        }
+        return Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    // Iterative in-order walk; a red-black tree is at most 2 log2(n + 1) deep
+    @Override
+    public void forEach(java.util.function.BiConsumer<? super K, ? super V> action) {
+        java.util.ArrayDeque<Node> stack = new java.util.ArrayDeque<>();
+        Node current = this.root;
+        while (current != this.TNULL || !stack.isEmpty()) {
+            while (current != this.TNULL) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            action.accept(current.key, current.value);
+            current = current.right;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package BSTs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+// Binary dump of a string dictionary, so a restart can skip re-reading and sorting word files:
+//
+//   magic "BSTS" | version (1 byte) | backend name length (2 bytes) + UTF-8 | key count (4 bytes)
+//   then per key, in ascending order: UTF-8 length as an unsigned varint | UTF-8 bytes
+//
+// Keys are written in tree order, so reading is one sequential pass over a memory-mapped file and
+// the result feeds buildFromSorted directly: O(n) from disk to a balanced tree.
+public final class Snapshot {
+    private static final int MAGIC = 0x42535453; // "BSTS"
+    private static final byte VERSION = 1;
+    private static final int NAME_OFFSET = 7; // after magic, version and name length
+    private static final int WRITE_BUFFER = 1 << 20;
+    private static final int MAX_WINDOW = 1 << 30;
+
+    private final String backend;
+    private final List<String> keys;
+
+    private Snapshot(String backend, List<String> keys) {
+        this.backend = backend;
+        this.keys = keys;
+    }
+
+    // Name of the backend the snapshot was saved from (informational; any backend can load it)
+    public String backend() {
+        return backend;
+    }
+
+    // Keys in strictly ascending order
+    public List<String> keys() {
+        return keys;
+    }
+
+    // Write every key of tree to path, replacing it atomically once the file is complete.
+    // Returns the number of keys written.
+    public static int save(Trees<String> tree, String backend, Path path) throws IOException {
+        byte[] name = backend.getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Backend name is too long");
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER);
+            buffer.putInt(MAGIC).put(VERSION).putShort((short) name.length).put(name).putInt(0);
+            // The count is patched in at the end: it is whatever the iterator actually produced
+            for (Iterator<String> it = tree.ascendingIterator(); it.hasNext(); count++) {
+                byte[] key = it.next().getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < key.length + 5) {
+                    drain(channel, buffer);
+                }
+                putVarint(buffer, key.length);
+                if (key.length <= buffer.remaining()) {
+                    buffer.put(key);
+                } else {
+                    drain(channel, buffer);
+                    channel.write(ByteBuffer.wrap(key));
+                }
+            }
+            drain(channel, buffer);
+            buffer.putInt(count).flip();
+            channel.write(buffer, NAME_OFFSET + name.length);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    // Read a whole snapshot into memory
+    public static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel);
+            String backend = readHeader(reader);
+            int count = keyCount(reader);
+            List<String> keys = new ArrayList<>(count);
+            byte[] scratch = new byte[64];
+            for (int i = 0; i < count; i++) {
+                int length = reader.keyLength();
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                reader.bytes(scratch, length);
+                keys.add(new String(scratch, 0, length, StandardCharsets.UTF_8));
+            }
+            if (!reader.atEnd()) {
+                throw new IOException("Corrupt snapshot: data after the last key");
+            }
+            return new Snapshot(backend, Collections.unmodifiableList(keys));
+        }
+    }
+
+    // Read a snapshot into an empty tree with a linear-time balanced build; returns the snapshot's backend name
+    public static String load(Path path, Trees<String> tree) throws IOException {
+        if (tree.size() != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        if (tree instanceof OffHeapAVL) {
+            return loadEncoded(path, (OffHeapAVL) tree);
+        }
+        Snapshot snapshot = read(path);
+        tree.buildFromSorted(snapshot.keys);
+        return snapshot.backend;
+    }
+
+    // The off-heap tree keeps keys as UTF-8 too, so its bytes go from the mapped file straight
+    // into the key arena: no String per key, and no heap growth for large dictionaries
+    private static String loadEncoded(Path path, OffHeapAVL tree) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel);
+            String backend = readHeader(reader);
+            int count = keyCount(reader);
+            tree.buildFromEncoded(count, new OffHeapAVL.EncodedKeys() {
+                @Override
+                public byte[] next() throws IOException {
+                    int length = reader.keyLength();
+                    byte[] key = new byte[length];
+                    reader.bytes(key, length);
+                    return key;
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    if (!reader.atEnd()) {
+                        throw new IOException("Corrupt snapshot: data after the last key");
+                    }
+                }
+            });
+            return backend;
+        }
+    }
+
+    // Backend name from the header only, without reading the keys
+    public static String backendOf(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(new Reader(channel));
+        }
+    }
+
+    private static String readHeader(Reader reader) throws IOException {
+        if (reader.int32() != MAGIC) {
+            throw new IOException("Not a dictionary snapshot");
+        }
+        byte version = reader.int8();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        int nameLength = reader.int16() & 0xFFFF;
+        byte[] name = new byte[nameLength];
+        reader.bytes(name, nameLength);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    // Every key takes at least its one-byte length, so a count larger than the rest of the file
+    // cannot be right; checking it first keeps a corrupt header from sizing any allocation
+    private static int keyCount(Reader reader) throws IOException {
+        int count = reader.int32();
+        if (count < 0) {
+            throw new IOException("Corrupt snapshot: negative key count");
+        }
+        if (count > reader.remaining()) {
+            throw new IOException("Corrupt snapshot: key count exceeds file size");
+        }
+        return count;
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    // Sequential reads through a memory-mapped window, remapped when a read would cross its end,
+    // so files over 2 GB (the limit of one mapping) still load
+    private static final class Reader {
+        private final FileChannel channel;
+        private final long fileSize;
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.fileSize = channel.size();
+            map(0);
+        }
+
+        int int32() throws IOException {
+            return ensure(4).getInt();
+        }
+
+        int int16() throws IOException {
+            return ensure(2).getShort();
+        }
+
+        byte int8() throws IOException {
+            return ensure(1).get();
+        }
+
+        int varint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = ensure(1).get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    if (value < 0) {
+                        break;
+                    }
+                    return value;
+                }
+            }
+            throw new IOException("Corrupt snapshot: bad key length");
+        }
+
+        // A key length, checked against the bytes left before anyone allocates a buffer for it
+        int keyLength() throws IOException {
+            int length = varint();
+            if (length > remaining()) {
+                throw new IOException("Corrupt snapshot: truncated");
+            }
+            return length;
+        }
+
+        long remaining() {
+            return fileSize - (windowStart + window.position());
+        }
+
+        void bytes(byte[] into, int length) throws IOException {
+            if (length <= MAX_WINDOW) {
+                ensure(length).get(into, 0, length);
+                return;
+            }
+            throw new IOException("Corrupt snapshot: key too long");
+        }
+
+        boolean atEnd() {
+            return remaining() == 0;
+        }
+
+        private MappedByteBuffer ensure(int bytes) throws IOException {
+            if (window.remaining() < bytes) {
+                long position = windowStart + window.position();
+                if (fileSize - position < bytes) {
+                    throw new IOException("Corrupt snapshot: truncated");
+                }
+                map(position);
+            }
+            return window;
+        }
+
+        private void map(long position) throws IOException {
+            windowStart = position;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_WINDOW, fileSize - position));
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package BSTs;
+
+// Splay tree (Sleator and Tarjan): no balance information at all; instead every access rotates
+// the node it reached up to the root. Keys that are searched often therefore stay within a few
+// levels of the root, so under a skewed (e.g. Zipfian) workload most lookups cost far less than
+// log n, while any sequence of m operations still costs O(m log n) amortized.
+//
+// Because search, rank, select and bounded iterators all splay, reads modify the tree: callers
+// sharing it between threads must treat every operation as a write. The one exception is a full
+// iteration (no from bound), which only walks the tree, so contents can be printed or saved
+// alongside other readers.
+public class SplayTree<T extends Comparable<T>> implements Trees<T> {
+    private Node root;
+    private int size;
+
+    private class Node {
+        T key;
+        Node left, right, parent;
+        int size; // Number of nodes in this subtree, for rank and select
+
+        Node(T key, Node parent) {
+            this.key = key;
+            this.parent = parent;
+            this.size = 1;
+        }
+    }
+
+    private static int size(SplayTree<?>.Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static <T> T requireKey(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    // ---- splaying ----
+
+    // Rotate x above its parent, keeping subtree sizes right
+    private void rotate(Node x) {
+        Node p = x.parent;
+        Node g = p.parent;
+        if (x == p.left) {
+            p.left = x.right;
+            if (x.right != null) x.right.parent = p;
+            x.right = p;
+        } else {
+            p.right = x.left;
+            if (x.left != null) x.left.parent = p;
+            x.left = p;
+        }
+        p.parent = x;
+        x.parent = g;
+        if (g == null) {
+            root = x;
+        } else if (g.left == p) {
+            g.left = x;
+        } else {
+            g.right = x;
+        }
+        update(p);
+        update(x);
+    }
+
+    // Bring x to the root with zig-zig and zig-zag steps, which roughly halve the depth of every
+    // node on the access path
+    private void splay(Node x) {
+        while (x.parent != null) {
+            Node p = x.parent;
+            Node g = p.parent;
+            if (g != null) {
+                rotate((x == p.left) == (p == g.left) ? p : x);
+            }
+            rotate(x);
+        }
+    }
+
+    // Descend towards key and splay the node where the search stopped: the key itself if present,
+    // otherwise its predecessor or successor. Returns the comparison of key with the new root.
+    private int splayTo(T key) {
+        Node node = root;
+        Node last = null;
+        int compareResult = 0;
+        while (node != null) {
+            last = node;
+            compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                break;
+            }
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        if (last != null) {
+            splay(last);
+        }
+        return compareResult;
+    }
+
+    @Override
+    public boolean search(T key) {
+        requireKey(key);
+        return root != null && splayTo(key) == 0;
+    }
+
+    @Override
+    public boolean insert(T key) {
+        requireKey(key);
+        Node node = root;
+        Node parent = null;
+        int compareResult = 0;
+        while (node != null) {
+            parent = node;
+            compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                splay(node);
+                return false;
+            }
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        Node added = new Node(key, parent);
+        if (parent == null) {
+            root = added;
+        } else if (compareResult < 0) {
+            parent.left = added;
+        } else {
+            parent.right = added;
+        }
+        // Count the new node in every ancestor; the rotations then keep the sizes right
+        for (Node ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.size++;
+        }
+        splay(added);
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean delete(T key) {
+        requireKey(key);
+        if (root == null || splayTo(key) != 0) {
+            return false;
+        }
+        // The key is at the root: splay the largest key of the left subtree to its top (it then
+        // has no right child) and hang the right subtree there
+        Node left = root.left;
+        Node right = root.right;
+        if (left == null) {
+            root = right;
+        } else {
+            left.parent = null;
+            root = left;
+            Node max = left;
+            while (max.right != null) {
+                max = max.right;
+            }
+            splay(max);
+            max.right = right;
+            if (right != null) right.parent = max;
+            update(max);
+        }
+        if (root != null) {
+            root.parent = null;
+        }
+        size--;
+        return true;
+    }
+
+    // ---- order statistics ----
+
+    @Override
+    public int rank(T key) {
+        requireKey(key);
+        if (root == null) {
+            return 0;
+        }
+        int compareResult = splayTo(key);
+        // The root is key itself or a neighbour of it; everything in its left subtree sorts before it
+        return size(root.left) + (compareResult > 0 ? 1 : 0);
+    }
+
+    @Override
+    public T select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                splay(node);
+                return node.key;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // ---- navigation and iteration ----
+
+    @Override
+    public T first() {
+        return root == null ? null : splayEdge(true);
+    }
+
+    @Override
+    public T last() {
+        return root == null ? null : splayEdge(false);
+    }
+
+    private T splayEdge(boolean leftmost) {
+        Node node = root;
+        while ((leftmost ? node.left : node.right) != null) {
+            node = leftmost ? node.left : node.right;
+        }
+        splay(node);
+        return node.key;
+    }
+
+    @Override
+    public java.util.Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(true, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public java.util.Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    // A from bound is splayed to the root first, so the iterator starts within a step or two of
+    // it however deep the search path was
+    private java.util.Iterator<T> iterator(boolean ascending, T from, boolean fromInclusive, T to, boolean toInclusive) {
+        if (from != null && root != null) {
+            splayTo(from);
+        }
+        return new BoundedIterator<Node, T>(ascending, to, toInclusive) {
+            @Override
+            protected Node left(Node node) {
+                return node.left;
+            }
+
+            @Override
+            protected Node right(Node node) {
+                return node.right;
+            }
+
+            @Override
+            protected T key(Node node) {
+                return node.key;
+            }
+        }.start(root, from, fromInclusive);
+    }
+
+    // Build a perfectly balanced tree in O(n) from strictly ascending keys (tree must be empty)
+    @Override
+    public void buildFromSorted(java.util.List<T> sortedKeys) {
+        if (size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        Trees.checkStrictlyAscending(sortedKeys);
+        root = buildBalanced(sortedKeys, 0, sortedKeys.size() - 1, null);
+        size = sortedKeys.size();
+    }
+
+    private Node buildBalanced(java.util.List<T> keys, int lo, int hi, Node parent) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(keys.get(mid), parent);
+        node.left = buildBalanced(keys, lo, mid - 1, node);
+        node.right = buildBalanced(keys, mid + 1, hi, node);
+        update(node);
+        return node;
+    }
+
+    // ---- reporting ----
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Same convention as AVL (empty = -1, single node = 0). Nothing tracks the height here, so
+    // this walks the whole tree: O(n), with an explicit stack since the tree can be a long path.
+    @Override
+    public int height() {
+        if (root == null) {
+            return -1;
+        }
+        int height = 0;
+        java.util.ArrayDeque<Node> nodes = new java.util.ArrayDeque<>();
+        java.util.ArrayDeque<Integer> depths = new java.util.ArrayDeque<>();
+        nodes.push(root);
+        depths.push(0);
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            int depth = depths.pop();
+            height = Math.max(height, depth);
+            if (node.left != null) {
+                nodes.push(node.left);
+                depths.push(depth + 1);
+            }
+            if (node.right != null) {
+                nodes.push(node.right);
+                depths.push(depth + 1);
+            }
+        }
+        return height;
+    }
+
+    // Key at the root: the last key accessed (or, after a miss, the neighbour the search stopped
+    // at); null when empty. Does not splay.
+    public T rootKey() {
+        return root == null ? null : root.key;
+    }
+
+    public void printdictinory() {
+        System.out.println("Dictionary contents (Splay Tree - in-order traversal):");
+        if (root == null) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + size);
+        System.out.println("--------------------------------------");
+        ascendingIterator().forEachRemaining(key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+}
@@ -7,6 +7,120 @@ public interface Trees<T extends Comparable<T>>  {
     void printdictinory();
     int size();
     int height();
+
+    // Order statistics: rank(key) counts the keys that sort strictly before key (which need not be
+    // present), select(k) returns the k-th smallest key counting from 0, median() the lower median.
+    int rank(T key);
+    T select(int k);
+
+    default T median() {
+        int size = size();
+        if (size == 0) {
+            throw new java.util.NoSuchElementException("Tree is empty");
+        }
+        return select((size - 1) / 2);
+    }
+
+    // Keys between two bounds, in ascending order from `from` up to `to` or descending from `from`
+    // down to `to`. A null bound leaves that side open. Backed by an explicit stack, so the first key
+    // costs O(log n) and each further key O(1) amortized (ConcurrentAVL re-descends for every key, to
+    // stay in order under concurrent rotations); the iterator does not support remove().
+    java.util.Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive);
+    java.util.Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive);
+
+    default java.util.Iterator<T> ascendingIterator() {
+        return ascendingIterator(null, true, null, true);
+    }
+
+    default java.util.Iterator<T> descendingIterator() {
+        return descendingIterator(null, true, null, true);
+    }
+
+    // Navigation, NavigableSet style: each returns null when there is no such key
+    default T first() {
+        return firstOf(ascendingIterator());
+    }
+
+    default T last() {
+        return firstOf(descendingIterator());
+    }
+
+    // Greatest key <= key
+    default T floor(T key) {
+        return firstOf(descendingIterator(requireKey(key), true, null, true));
+    }
+
+    // Least key >= key
+    default T ceiling(T key) {
+        return firstOf(ascendingIterator(requireKey(key), true, null, true));
+    }
+
+    // Least key > key
+    default T higher(T key) {
+        return firstOf(ascendingIterator(requireKey(key), false, null, true));
+    }
+
+    // Greatest key < key
+    default T lower(T key) {
+        return firstOf(descendingIterator(requireKey(key), false, null, true));
+    }
+
+    // Remove and return the smallest key; retried if another thread removes it first
+    default T pollFirst() {
+        T first;
+        while ((first = first()) != null) {
+            if (delete(first)) {
+                return first;
+            }
+        }
+        return null;
+    }
+
+    default T pollLast() {
+        T last;
+        while ((last = last()) != null) {
+            if (delete(last)) {
+                return last;
+            }
+        }
+        return null;
+    }
+
+    private static <T> T firstOf(java.util.Iterator<T> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private static <T> T requireKey(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    // Fill an empty tree from keys in strictly ascending order.
+    // Backends without a linear-time build fall back to one insert per key.
+    default void buildFromSorted(java.util.List<T> sortedKeys) {
+        if (size() != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        for (T key : sortedKeys) {
+            insert(key);
+        }
+    }
+
+    // Shared argument check for the linear-time buildFromSorted overrides
+    static <T extends Comparable<T>> void checkStrictlyAscending(java.util.List<T> keys) {
+        T previous = null;
+        for (T key : keys) {
+            if (key == null) {
+                throw new IllegalArgumentException("Key cannot be null");
+            }
+            if (previous != null && previous.compareTo(key) >= 0) {
+                throw new IllegalArgumentException("Keys must be sorted in strictly ascending order");
+            }
+            previous = key;
+        }
+    }
   
 
 
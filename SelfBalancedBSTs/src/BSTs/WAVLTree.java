@@ -0,0 +1,468 @@
+package BSTs;
+
+// Weak AVL tree (Haeupler, Sen and Tarjan, "Rank-Balanced Trees"). Every node has a rank; the
+// rank difference from a parent to each child (a missing child has rank -1) is 1 or 2, and every
+// leaf has rank 0. Insertion rebalances exactly as AVL does, so a tree built only by inserts is
+// an AVL tree (rank = height, at most ~1.44 log2 n). Deletion is what differs: where AVL may
+// rotate at every level on the way up, here a delete ends after at most two rotations, and the
+// demotions it walks up with cost O(1) amortized. Heights stay under 2 log2 n in any case.
+//
+// Like AVL, the ancestors of the changed node are kept in a reusable path array, so nodes carry
+// no parent links.
+public class WAVLTree<T extends Comparable<T>> implements Trees<T> {
+    // Rank is at most 2 log2 n, so 64 levels cover any int-sized tree
+    private static final int MAX_HEIGHT = 64;
+
+    private Node root;
+    private int size;
+    // Ancestors of the node being inserted or deleted, reused across calls and
+    // cleared afterwards so it never keeps removed nodes alive
+    private final Node[] path = newNodeArray(MAX_HEIGHT);
+
+    private class Node {
+        T key;
+        Node left, right;
+        int rank;
+        int size; // Number of nodes in this subtree, for rank and select
+
+        Node(T key) {
+            this.key = key;
+            this.size = 1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node[] newNodeArray(int length) {
+        return (Node[]) new WAVLTree<?>.Node[length];
+    }
+
+    private static <T> T requireKey(T key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        return key;
+    }
+
+    private static int rank(WAVLTree<?>.Node node) {
+        return node == null ? -1 : node.rank;
+    }
+
+    private static int size(WAVLTree<?>.Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private void updateSize(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private Node rightRotate(Node y) {
+        Node x = y.left;
+        y.left = x.right;
+        x.right = y;
+        updateSize(y);
+        updateSize(x);
+        return x;
+    }
+
+    private Node leftRotate(Node x) {
+        Node y = x.right;
+        x.right = y.left;
+        y.left = x;
+        updateSize(x);
+        updateSize(y);
+        return y;
+    }
+
+    // Point parent's link (or root) at replacement instead of child
+    private void replaceChild(Node parent, Node child, Node replacement) {
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == child) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+    }
+
+    @Override
+    public boolean insert(T key) {
+        requireKey(key);
+        if (root == null) {
+            root = new Node(key);
+            size++;
+            return true;
+        }
+
+        // Descend once, remembering the path; finding the key means it already exists
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        Node added;
+        while (true) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                java.util.Arrays.fill(path, 0, depth, null);
+                return false;
+            }
+            path[depth++] = node;
+            Node next = compareResult < 0 ? node.left : node.right;
+            if (next == null) {
+                added = new Node(key);
+                if (compareResult < 0) {
+                    node.left = added;
+                } else {
+                    node.right = added;
+                }
+                break;
+            }
+            node = next;
+        }
+        size++;
+        for (int i = 0; i < depth; i++) {
+            path[i].size++;
+        }
+
+        // x is a 0-child (same rank as its parent) until fixed. If its sibling is a 1-child,
+        // promoting the parent moves the problem up a level; otherwise one single or double
+        // rotation ends it.
+        Node x = added;
+        for (int i = depth - 1; i >= 0; i--) {
+            Node p = path[i];
+            if (p.rank != x.rank) {
+                break;
+            }
+            boolean left = p.left == x;
+            Node sibling = left ? p.right : p.left;
+            if (p.rank - rank(sibling) == 1) {
+                p.rank++;
+                x = p;
+                continue;
+            }
+            // Sibling is a 2-child. x was just promoted, so one child of x is a 1-child and the
+            // other a 2-child; which one decides between a single and a double rotation.
+            Node inner = left ? x.right : x.left;
+            Node subtree;
+            if (x.rank - rank(inner) == 2) {
+                subtree = left ? rightRotate(p) : leftRotate(p);
+                p.rank--;
+            } else {
+                if (left) {
+                    p.left = leftRotate(x);
+                    subtree = rightRotate(p);
+                } else {
+                    p.right = rightRotate(x);
+                    subtree = leftRotate(p);
+                }
+                inner.rank++;
+                x.rank--;
+                p.rank--;
+            }
+            replaceChild(i == 0 ? null : path[i - 1], p, subtree);
+            break;
+        }
+        java.util.Arrays.fill(path, 0, depth, null);
+        return true;
+    }
+
+    @Override
+    public boolean search(T key) {
+        requireKey(key);
+        Node node = root;
+        for (int depth = 0; node != null; depth++) {
+            if (depth == MAX_HEIGHT) {
+                // Longer than any rank-balanced path: links torn by a concurrent rotation
+                throw new java.util.ConcurrentModificationException("Search passed " + MAX_HEIGHT + " levels");
+            }
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return true;
+            }
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean delete(T key) {
+        requireKey(key);
+
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                break;
+            }
+            path[depth++] = node;
+            node = compareResult < 0 ? node.left : node.right;
+        }
+        if (node == null) {
+            java.util.Arrays.fill(path, 0, depth, null);
+            return false;
+        }
+
+        if (node.left != null && node.right != null) {
+            // Node with two children: take the inorder successor's key and unlink the successor instead
+            path[depth++] = node;
+            Node successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node = successor;
+        }
+
+        // Node with one child or no child; its child (a leaf, if any) takes its place
+        Node x = node.left != null ? node.left : node.right;
+        replaceChild(depth == 0 ? null : path[depth - 1], node, x);
+        size--;
+        for (int i = 0; i < depth; i++) {
+            path[i].size--;
+        }
+        rebalanceAfterDelete(x, depth);
+        java.util.Arrays.fill(path, 0, depth, null);
+        return true;
+    }
+
+    // x (possibly null) has just replaced a removed node below path[depth - 1]. Removing it can
+    // leave its parent a leaf of rank 1, which is demoted, or make x a 3-child. A 3-child whose
+    // sibling is a 2-child, or a 2,2 node, is fixed by demotions that may move the problem up;
+    // anything else takes one single or double rotation and stops.
+    private void rebalanceAfterDelete(Node x, int depth) {
+        Node[] path = this.path;
+        int i = depth - 1;
+        if (i < 0) {
+            return;
+        }
+        Node p = path[i];
+        if (p.left == null && p.right == null) {
+            // A 2,2 leaf
+            p.rank = 0;
+            x = p;
+            i--;
+        }
+        for (; i >= 0; i--) {
+            p = path[i];
+            if (p.rank - rank(x) != 3) {
+                return;
+            }
+            boolean left = p.left == x;
+            Node sibling = left ? p.right : p.left;
+            if (p.rank - sibling.rank == 2) {
+                p.rank--;
+                x = p;
+                continue;
+            }
+            Node inner = left ? sibling.left : sibling.right;
+            Node outer = left ? sibling.right : sibling.left;
+            if (sibling.rank - rank(inner) == 2 && sibling.rank - rank(outer) == 2) {
+                p.rank--;
+                sibling.rank--;
+                x = p;
+                continue;
+            }
+            Node subtree;
+            if (sibling.rank - rank(outer) == 1) {
+                subtree = left ? leftRotate(p) : rightRotate(p);
+                sibling.rank++;
+                p.rank--;
+                if (p.left == null && p.right == null) {
+                    p.rank--; // Would otherwise be a 2,2 leaf
+                }
+            } else {
+                if (left) {
+                    p.right = rightRotate(sibling);
+                    subtree = leftRotate(p);
+                } else {
+                    p.left = leftRotate(sibling);
+                    subtree = rightRotate(p);
+                }
+                inner.rank += 2;
+                sibling.rank--;
+                p.rank -= 2;
+            }
+            replaceChild(i == 0 ? null : path[i - 1], p, subtree);
+            return;
+        }
+    }
+
+    // ---- order statistics ----
+
+    @Override
+    public int rank(T key) {
+        requireKey(key);
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) {
+                return rank + size(node.left);
+            }
+            if (compareResult < 0) {
+                node = node.left;
+            } else {
+                // Everything in the left subtree and the node itself sorts before key
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public T select(int k) {
+        if (k < 0 || k >= size) {
+            throw new IllegalArgumentException("Index out of range: " + k);
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node.key;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    // ---- navigation and iteration ----
+
+    @Override
+    public java.util.Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(true, from, fromInclusive, to, toInclusive);
+    }
+
+    @Override
+    public java.util.Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return iterator(false, from, fromInclusive, to, toInclusive);
+    }
+
+    private java.util.Iterator<T> iterator(boolean ascending, T from, boolean fromInclusive, T to, boolean toInclusive) {
+        return new BoundedIterator<Node, T>(ascending, to, toInclusive) {
+            @Override
+            protected Node left(Node node) {
+                return node.left;
+            }
+
+            @Override
+            protected Node right(Node node) {
+                return node.right;
+            }
+
+            @Override
+            protected T key(Node node) {
+                return node.key;
+            }
+        }.start(root, from, fromInclusive);
+    }
+
+    // Build a perfectly balanced tree in O(n) from strictly ascending keys (tree must be empty).
+    // Ranks are set to heights: the halves differ in height by at most one, so every rank
+    // difference is 1 or 2 and every leaf has rank 0.
+    @Override
+    public void buildFromSorted(java.util.List<T> sortedKeys) {
+        if (size != 0) {
+            throw new IllegalStateException("Tree must be empty before a bulk build");
+        }
+        Trees.checkStrictlyAscending(sortedKeys);
+        root = buildBalanced(sortedKeys, 0, sortedKeys.size() - 1);
+        size = sortedKeys.size();
+    }
+
+    private Node buildBalanced(java.util.List<T> keys, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(keys.get(mid));
+        node.left = buildBalanced(keys, lo, mid - 1);
+        node.right = buildBalanced(keys, mid + 1, hi);
+        node.rank = Math.max(rank(node.left), rank(node.right)) + 1;
+        updateSize(node);
+        return node;
+    }
+
+    // ---- reporting ----
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Same convention as AVL (empty = -1, single node = 0). Ranks only bound the height once
+    // deletes have happened, so this walks the tree: O(n), with an explicit stack.
+    @Override
+    public int height() {
+        if (root == null) {
+            return -1;
+        }
+        int height = 0;
+        java.util.ArrayDeque<Node> nodes = new java.util.ArrayDeque<>();
+        java.util.ArrayDeque<Integer> depths = new java.util.ArrayDeque<>();
+        nodes.push(root);
+        depths.push(0);
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            int depth = depths.pop();
+            height = Math.max(height, depth);
+            if (node.left != null) {
+                nodes.push(node.left);
+                depths.push(depth + 1);
+            }
+            if (node.right != null) {
+                nodes.push(node.right);
+                depths.push(depth + 1);
+            }
+        }
+        return height;
+    }
+
+    // Rank of the root: equals the height while only inserts have happened, and bounds it always
+    public int rootRank() {
+        return rank(root);
+    }
+
+    // Whether the whole tree obeys the WAVL rule: every rank difference is 1 or 2, every leaf has
+    // rank 0, and subtree sizes add up. O(n), for checking the rebalancing rather than for use.
+    public boolean isRankBalanced() {
+        java.util.ArrayDeque<Node> nodes = new java.util.ArrayDeque<>();
+        if (root != null) {
+            nodes.push(root);
+        }
+        while (!nodes.isEmpty()) {
+            Node node = nodes.pop();
+            int leftDifference = node.rank - rank(node.left);
+            int rightDifference = node.rank - rank(node.right);
+            if (leftDifference < 1 || leftDifference > 2 || rightDifference < 1 || rightDifference > 2) {
+                return false;
+            }
+            if (node.left == null && node.right == null && node.rank != 0) {
+                return false;
+            }
+            if (node.size != size(node.left) + size(node.right) + 1) {
+                return false;
+            }
+            if (node.left != null) nodes.push(node.left);
+            if (node.right != null) nodes.push(node.right);
+        }
+        return true;
+    }
+
+    public void printdictinory() {
+        System.out.println("Dictionary contents (WAVL Tree - in-order traversal):");
+        if (root == null) {
+            System.out.println("Dictionary is empty");
+            return;
+        }
+
+        System.out.println("Total words: " + size);
+        System.out.println("--------------------------------------");
+        ascendingIterator().forEachRemaining(key -> System.out.println(key));
+        System.out.println("--------------------------------------");
+    }
+}
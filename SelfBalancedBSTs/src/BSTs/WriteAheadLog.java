@@ -0,0 +1,303 @@
+package BSTs;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+// Append-only log of dictionary mutations with group commit. append() only encodes the record
+// into an in-memory buffer; sync() makes everything appended so far durable. The first thread to
+// sync becomes the leader: it optionally waits out the commit interval so more records can join,
+// then writes the whole buffer and calls force() once for all of them. Threads that sync while a
+// force is running wait for it (or lead the next one). Records appended during a force go to a
+// second buffer, so appending never waits for the disk.
+//
+//   record: payload length (4 bytes) | CRC32C of payload (4 bytes) | payload = op (1 byte) + UTF-8 key
+//
+// Every record sets a key's membership outright, so replaying the log onto any state taken after
+// the log began (e.g. the snapshot it was truncated at) gives the same final dictionary.
+public final class WriteAheadLog implements Closeable {
+    private static final byte INSERT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_KEY_BYTES = 1 << 20;
+
+    // Receives the records found on open, oldest first
+    public interface Replay {
+        void apply(boolean insert, String key);
+    }
+
+    private final FileChannel channel;
+    private final long commitIntervalNanos;
+    private final CRC32C crc = new CRC32C();
+    // A Condition rather than Object.wait, which rounds sub-millisecond commit intervals up to 1 ms
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushed = lock.newCondition();
+
+    // Guarded by lock
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    private ByteBuffer spare = ByteBuffer.allocate(1 << 16);
+    private long appended;        // sequence number of the last appended record
+    private long durable;         // every record up to this one has been forced
+    private boolean flushing;     // a leader is writing; others wait for it
+    private IOException failure;  // sticky: once a write fails, the log refuses further work
+    private long forces;
+
+    private WriteAheadLog(FileChannel channel, long commitIntervalNanos) {
+        this.channel = channel;
+        this.commitIntervalNanos = commitIntervalNanos;
+    }
+
+    // Open (creating if needed) the log at path, hand every intact record to replay, cut off a torn
+    // tail left by a crash, and position for appending. A commit interval of 0 forces as soon as asked.
+    public static WriteAheadLog open(Path path, long commitIntervalNanos, Replay replay) throws IOException {
+        if (commitIntervalNanos < 0) {
+            throw new IllegalArgumentException("Commit interval cannot be negative");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long valid = replay(channel, replay);
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+            channel.position(valid);
+            return new WriteAheadLog(channel, commitIntervalNanos);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Returns the offset just past the last intact record
+    private static long replay(FileChannel channel, Replay replay) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0)), 1 << 16));
+        CRC32C crc = new CRC32C();
+        long offset = 0;
+        byte[] payload = new byte[256];
+        while (true) {
+            int length;
+            int checksum;
+            try {
+                length = in.readInt();
+                checksum = in.readInt();
+                if (length < 1 || length > MAX_KEY_BYTES + 1) {
+                    return offset;
+                }
+                if (length > payload.length) {
+                    payload = new byte[Math.max(length, payload.length * 2)];
+                }
+                in.readFully(payload, 0, length);
+            } catch (EOFException e) {
+                return offset;
+            }
+            crc.reset();
+            crc.update(payload, 0, length);
+            if ((int) crc.getValue() != checksum || (payload[0] != INSERT && payload[0] != DELETE)) {
+                return offset;
+            }
+            replay.apply(payload[0] == INSERT, new String(payload, 1, length - 1, StandardCharsets.UTF_8));
+            offset += HEADER_BYTES + length;
+        }
+    }
+
+    // Buffer a record; it is durable once a later sync() returns
+    public void append(boolean insert, String key) throws IOException {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Key is too long to log");
+        }
+        int length = bytes.length + 1;
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new IOException("Log is unusable after a failed write", failure);
+            }
+            if (buffer.remaining() < HEADER_BYTES + length) {
+                buffer = grow(buffer, HEADER_BYTES + length);
+            }
+            crc.reset();
+            crc.update(insert ? INSERT : DELETE);
+            crc.update(bytes);
+            buffer.putInt(length).putInt((int) crc.getValue()).put(insert ? INSERT : DELETE).put(bytes);
+            appended++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Block until every record appended before this call is on disk
+    public void sync() throws IOException {
+        long target;
+        lock.lock();
+        try {
+            target = appended;
+        } finally {
+            lock.unlock();
+        }
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+            boolean interrupted = false;
+            lock.lock();
+            try {
+                while (true) {
+                    if (failure != null) {
+                        throw new IOException("Log write failed", failure);
+                    }
+                    if (durable >= target) {
+                        return;
+                    }
+                    if (!flushing) {
+                        break;
+                    }
+                    awaitFlush();
+                }
+                flushing = true;
+                // Leader: let the commit interval pass so concurrent mutations share this force.
+                // An interrupt only cuts the wait short; the leader still has to write the batch.
+                long left = commitIntervalNanos;
+                while (left > 0 && !interrupted) {
+                    try {
+                        left = flushed.awaitNanos(left);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                batch = buffer;
+                buffer = spare;
+                upTo = appended;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                batch.clear();
+                spare = batch;
+                flushing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durable = Math.max(durable, upTo);
+                    forces++;
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Drop every record once a snapshot holds their effect. Records buffered but not yet written
+    // are dropped too, and their syncs return, as the snapshot now makes them durable. The caller
+    // must keep mutations out from before the snapshot is taken until this returns.
+    public void truncate() throws IOException {
+        lock.lock();
+        try {
+            while (flushing) {
+                awaitFlush();
+            }
+            if (failure != null) {
+                throw new IOException("Log write failed", failure);
+            }
+            flushing = true;
+        } finally {
+            lock.unlock();
+        }
+        IOException error = null;
+        try {
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(true);
+        } catch (IOException e) {
+            error = e;
+        }
+        lock.lock();
+        try {
+            flushing = false;
+            if (error != null) {
+                failure = error;
+            } else {
+                buffer.clear();
+                durable = appended;
+            }
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    // Number of force() calls so far: records per force shows how well commits are grouped
+    public long forces() {
+        lock.lock();
+        try {
+            return forces;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long records() {
+        lock.lock();
+        try {
+            return appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Wait for the running flush to finish; caller holds the lock
+    private void awaitFlush() throws InterruptedIOException {
+        try {
+            flushed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the log");
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        return bigger.put(buffer);
+    }
+}
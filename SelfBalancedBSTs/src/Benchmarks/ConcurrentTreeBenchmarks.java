@@ -0,0 +1,269 @@
+package Benchmarks;
+
+import BSTs.AVL;
+import BSTs.ConcurrentAVL;
+import BSTs.Trees;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Multi-threaded throughput of a mixed search/insert/delete workload for the concurrent AVL and
+ * for AVL behind one reader/writer lock. JMH runs the benchmark method on -t threads against
+ * one shared tree and reports the combined ops/s; run once per thread count, e.g.
+ *
+ *   for t in 1 2 4 8; do java -cp "out:lib/*" Benchmarks.ConcurrentTreeBenchmarks -t $t -p readPercent=90,50; done
+ *
+ * Parameters (-p): backend, readPercent, keyRange.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ConcurrentTreeBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        JmhMain.run(ConcurrentTreeBenchmarks.class, args);
+    }
+
+    static Trees<Integer> newTree(String backend) {
+        switch (backend) {
+            case "ConcurrentAVL": return new ConcurrentAVL<>();
+            case "LockedAVL": return new LockedTree<>(new AVL<Integer>());
+            default: throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+    }
+
+    // One tree shared by every benchmark thread, half full, so inserts and deletes both succeed
+    // about half the time and the size stays put
+    @State(Scope.Benchmark)
+    public static class SharedTree {
+        @Param({"ConcurrentAVL", "LockedAVL"})
+        public String backend;
+
+        @Param("90")
+        public int readPercent;
+
+        @Param("100000")
+        public int keyRange;
+
+        Trees<Integer> tree;
+        // Hands each thread its own seed
+        final AtomicLong seeds = new AtomicLong(42);
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            tree = newTree(backend);
+            SplittableRandom rand = new SplittableRandom(42);
+            for (int i = 0; i < keyRange / 2; i++) {
+                tree.insert(rand.nextInt(keyRange));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        SplittableRandom rand;
+
+        @Setup(Level.Trial)
+        public void setUp(SharedTree shared) {
+            rand = new SplittableRandom(shared.seeds.getAndIncrement() * 1_000_003L);
+        }
+    }
+
+    // Steady-state mix: readPercent% searches, the rest split evenly between inserts and deletes
+    @Benchmark
+    public boolean mixed(SharedTree shared, ThreadRandom random) {
+        SplittableRandom rand = random.rand;
+        int key = rand.nextInt(shared.keyRange);
+        int dice = rand.nextInt(100);
+        if (dice < shared.readPercent) {
+            return shared.tree.search(key);
+        }
+        return (dice & 1) == 0 ? shared.tree.insert(key) : shared.tree.delete(key);
+    }
+
+    // Baseline: a single-threaded tree made thread-safe with one reader/writer lock
+    static final class LockedTree<T extends Comparable<T>> implements Trees<T> {
+        private final Trees<T> tree;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        LockedTree(Trees<T> tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        public boolean insert(T key) {
+            lock.writeLock().lock();
+            try {
+                return tree.insert(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean delete(T key) {
+            lock.writeLock().lock();
+            try {
+                return tree.delete(key);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean search(T key) {
+            lock.readLock().lock();
+            try {
+                return tree.search(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void printdictinory() {
+            lock.readLock().lock();
+            try {
+                tree.printdictinory();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public int size() {
+            lock.readLock().lock();
+            try {
+                return tree.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public int height() {
+            lock.readLock().lock();
+            try {
+                return tree.height();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public int rank(T key) {
+            lock.readLock().lock();
+            try {
+                return tree.rank(key);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public T select(int k) {
+            lock.readLock().lock();
+            try {
+                return tree.select(k);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public T median() {
+            lock.readLock().lock();
+            try {
+                return tree.median();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Only positioning at the start bound is guarded; advancing further must not race writers
+        @Override
+        public java.util.Iterator<T> ascendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+            return read(() -> tree.ascendingIterator(from, fromInclusive, to, toInclusive));
+        }
+
+        @Override
+        public java.util.Iterator<T> descendingIterator(T from, boolean fromInclusive, T to, boolean toInclusive) {
+            return read(() -> tree.descendingIterator(from, fromInclusive, to, toInclusive));
+        }
+
+        @Override
+        public T first() {
+            return read(tree::first);
+        }
+
+        @Override
+        public T last() {
+            return read(tree::last);
+        }
+
+        @Override
+        public T floor(T key) {
+            return read(() -> tree.floor(key));
+        }
+
+        @Override
+        public T ceiling(T key) {
+            return read(() -> tree.ceiling(key));
+        }
+
+        @Override
+        public T higher(T key) {
+            return read(() -> tree.higher(key));
+        }
+
+        @Override
+        public T lower(T key) {
+            return read(() -> tree.lower(key));
+        }
+
+        @Override
+        public T pollFirst() {
+            return write(tree::pollFirst);
+        }
+
+        @Override
+        public T pollLast() {
+            return write(tree::pollLast);
+        }
+
+        private <R> R read(Supplier<R> op) {
+            lock.readLock().lock();
+            try {
+                return op.get();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private <R> R write(Supplier<R> op) {
+            lock.writeLock().lock();
+            try {
+                return op.get();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
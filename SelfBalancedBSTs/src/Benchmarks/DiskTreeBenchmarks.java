@@ -0,0 +1,85 @@
+package Benchmarks;
+
+import BSTs.DiskBPlusTree;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Page reads per operation for the disk B+tree at several buffer pool sizes. Each row bulk-builds
+ * size keys, closes the file, reopens it with a cold pool, then runs random lookups (half of them
+ * misses) followed by random inserts. Reads/lookup is what the pool could not serve: about one
+ * page (the leaf) once the internal pages are cached, falling toward zero when everything fits.
+ *
+ *   java -cp out Benchmarks.DiskTreeBenchmarks -p size=1000000,10000000 -p pool=16,256,4096
+ *
+ * Parameters (-p): size (default 100000,1000000), pool (pages, default 16,256,4096), pageSize
+ * (bytes, default 8192), ops (lookups and inserts each, default 100000), dir (where the page file
+ * is written, default the system temp directory). The OS page cache still sits under the pool,
+ * so these are pool misses rather than device reads.
+ */
+public final class DiskTreeBenchmarks {
+
+    private DiskTreeBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Params opts = Params.parse(args);
+        Path dir = Paths.get(opts.param("dir", System.getProperty("java.io.tmpdir")));
+        System.out.printf("%12s %7s %7s %10s %14s %14s %14s %14s%n",
+                "Keys", "Pool", "Levels", "Build ms", "Lookups/s", "Reads/lookup", "Inserts/s", "Reads/insert");
+        for (int size : opts.intParams("size", "100000,1000000")) {
+            for (int pool : opts.intParams("pool", "16,256,4096")) {
+                for (int pageSize : opts.intParams("pageSize", "8192")) {
+                    for (int ops : opts.intParams("ops", "100000")) {
+                        measure(dir, size, pool, pageSize, ops);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void measure(Path dir, int size, int pool, int pageSize, int ops) throws Exception {
+        Path file = Files.createTempFile(dir, "bplustree-benchmark", ".pages");
+        try {
+            // Even keys go in, so odd probes miss and odd inserts succeed
+            List<Integer> keys = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                keys.add(i * 2);
+            }
+            long begin = System.nanoTime();
+            int levels;
+            try (DiskBPlusTree<Integer> tree = new DiskBPlusTree<>(file, DiskBPlusTree.INTEGERS, pageSize, pool)) {
+                tree.buildFromSorted(keys);
+                levels = tree.height();
+            }
+            long build = System.nanoTime() - begin;
+            keys = null;
+
+            Random random = new Random(42);
+            try (DiskBPlusTree<Integer> tree = new DiskBPlusTree<>(file, DiskBPlusTree.INTEGERS, pageSize, pool)) {
+                begin = System.nanoTime();
+                for (int i = 0; i < ops; i++) {
+                    tree.search(random.nextInt(2 * size));
+                }
+                long lookups = System.nanoTime() - begin;
+                long lookupReads = tree.pageReads();
+
+                begin = System.nanoTime();
+                for (int i = 0; i < ops; i++) {
+                    tree.insert(random.nextInt(size) * 2 + 1);
+                }
+                long inserts = System.nanoTime() - begin;
+                long insertReads = tree.pageReads() - lookupReads;
+                System.out.printf("%,12d %7d %7d %,10.0f %,14.0f %14.2f %,14.0f %14.2f%n",
+                        size, pool, levels, build / 1e6, ops / (lookups / 1e9), (double) lookupReads / ops,
+                        ops / (inserts / 1e9), (double) insertReads / ops);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
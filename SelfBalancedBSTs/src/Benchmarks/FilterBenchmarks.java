@@ -0,0 +1,112 @@
+package Benchmarks;
+
+import BSTs.CountingBloomFilter;
+import BSTs.Trees;
+import java.util.SplittableRandom;
+
+/*
+ * Spell-check style lookups, where a share of the searched words are not in the dictionary:
+ * the time per search of the bare tree against a CountingBloomFilter in front of it (the Bloom
+ * filter lookup mode of DictionaryImplementation), with the filter's memory and its expected
+ * and observed false-positive rates.
+ *
+ *   java -Xmx3g -cp out Benchmarks.FilterBenchmarks -p size=1000000 -p missPercent=0,50,90,99
+ *
+ * Parameters (-p): backend (any TreeBenchmarks backend, default AVL,RedBlackTree), size (keys in
+ * the tree, default 1000000), missPercent (share of searches for absent words, default 0,50,90),
+ * fpp (target false-positive rate, default 0.01), lookups (searches per round, default 1000000).
+ * Each figure is the best of ROUNDS rounds over the same pre-generated search words.
+ */
+public final class FilterBenchmarks {
+    private static final int ROUNDS = 5;
+    private static final int MIN_KEY_LENGTH = 8;
+    private static final int MAX_KEY_LENGTH = 16;
+
+    private FilterBenchmarks() {
+    }
+
+    public static void main(String[] args) {
+        Params opts = Params.parse(args);
+        int lookups = opts.intParams("lookups", "1000000")[0];
+        System.out.printf("%-13s %10s %6s %6s %12s %12s %8s %10s %10s %10s %9s%n",
+                "Backend", "Keys", "Miss%", "Target", "Tree ns/op", "Filter ns/op", "Speedup",
+                "Expected", "Observed", "Filter MB", "Bits/key");
+        for (String backend : opts.params("backend", "AVL,RedBlackTree")) {
+            for (int size : opts.intParams("size", "1000000")) {
+                Trees<String> tree = TreeBenchmarks.newTree(backend);
+                SplittableRandom random = new SplittableRandom(42);
+                String[] keys = new String[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = nextKey(random);
+                    tree.insert(keys[i]);
+                }
+                for (String fpp : opts.params("fpp", "0.01")) {
+                    CountingBloomFilter<String> filter = new CountingBloomFilter<>(size, Double.parseDouble(fpp));
+                    for (String key : keys) {
+                        filter.add(key);
+                    }
+                    for (int missPercent : opts.intParams("missPercent", "0,50,90")) {
+                        measure(backend, tree, filter, keys, missPercent, lookups);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void measure(String backend, Trees<String> tree, CountingBloomFilter<String> filter,
+            String[] keys, int missPercent, int lookups) {
+        // Absent words come from another seed; a clash with a present word is vanishingly rare
+        // and would only count as a hit, never as a false positive
+        SplittableRandom random = new SplittableRandom(missPercent);
+        String[] probes = new String[lookups];
+        for (int i = 0; i < lookups; i++) {
+            probes[i] = random.nextInt(100) < missPercent ? nextKey(random) : keys[random.nextInt(keys.length)];
+        }
+
+        long treeNanos = Long.MAX_VALUE;
+        long filterNanos = Long.MAX_VALUE;
+        int treeFound = 0;
+        int filterFound = 0;
+        int falsePositives = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            treeFound = 0;
+            for (String probe : probes) {
+                if (tree.search(probe)) treeFound++;
+            }
+            treeNanos = Math.min(treeNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            filterFound = 0;
+            falsePositives = 0;
+            for (String probe : probes) {
+                if (filter.mightContain(probe)) {
+                    if (tree.search(probe)) filterFound++; else falsePositives++;
+                }
+            }
+            filterNanos = Math.min(filterNanos, System.nanoTime() - start);
+        }
+        if (treeFound != filterFound) {
+            throw new IllegalStateException(backend + ": the filter hid " + (treeFound - filterFound) + " present keys");
+        }
+        int misses = lookups - treeFound;
+
+        double treeNs = (double) treeNanos / lookups;
+        double filterNs = (double) filterNanos / lookups;
+        String observed = misses == 0 ? "n/a" : String.format("%.3f%%", 100.0 * falsePositives / misses);
+        System.out.printf("%-13s %,10d %6d %6s %12.1f %12.1f %7.2fx %9.3f%% %10s %10.1f %9.1f%n",
+                backend, keys.length, missPercent, String.format("%.3f", filter.targetFalsePositiveRate()),
+                treeNs, filterNs, treeNs / filterNs, 100 * filter.expectedFalsePositiveRate(), observed,
+                filter.memoryBytes() / (1024.0 * 1024.0), filter.memoryBytes() * 8.0 / keys.length);
+    }
+
+    // Random word-like keys of 8-16 lowercase letters, as in MemoryBenchmarks
+    private static String nextKey(SplittableRandom random) {
+        char[] chars = new char[MAX_KEY_LENGTH];
+        int length = MIN_KEY_LENGTH + random.nextInt(MAX_KEY_LENGTH - MIN_KEY_LENGTH + 1);
+        for (int c = 0; c < length; c++) {
+            chars[c] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars, 0, length);
+    }
+}
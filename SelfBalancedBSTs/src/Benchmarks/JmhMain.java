@@ -0,0 +1,24 @@
+package Benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point shared by the JMH suites: takes the usual JMH command line (-wi, -i, -f, -t,
+// -p key=v1,v2, -rf csv, ...) and, unless a benchmark regex is given, runs the whole suite.
+// Equivalent to `java -cp "out:lib/*" org.openjdk.jmh.Main Benchmarks.<Suite>`.
+final class JmhMain {
+
+    private JmhMain() {
+    }
+
+    static void run(Class<?> suite, String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(suite.getName() + "\\.");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,154 @@
+package Benchmarks;
+
+import BSTs.HashIndex;
+import BSTs.OffHeapAVL;
+import BSTs.Trees;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+/*
+ * Loads a large set of string keys into each backend and reports, next to insert and search
+ * throughput, how much heap the loaded tree retains, how much it holds off-heap, and how many
+ * GC pauses (and how long) the load and the searches caused.
+ *
+ *   java -Xmx4g -cp out Benchmarks.MemoryBenchmarks -p size=10000000 -p backend=OffHeapAVL
+ *
+ * index=hash runs the hybrid mode of DictionaryImplementation: a HashIndex of the keys answers
+ * searches and the duplicate check of every insert, so comparing it with index=none prices the
+ * extra heap against the lookup time saved. The duplicate column re-inserts every key, which the
+ * index rejects without descending the tree.
+ *
+ *   java -Xmx4g -cp out Benchmarks.MemoryBenchmarks -p size=1000000,5000000 -p backend=AVL -p index=none,hash
+ *
+ * Parameters (-p): backend (AVL, RedBlackTree, OffHeapAVL), size (default 1000000),
+ * index (none, hash; default none).
+ * Backends run one after another in this JVM; pass a single backend for the cleanest numbers.
+ */
+public final class MemoryBenchmarks {
+    static final String[] BACKENDS = {"AVL", "RedBlackTree", "OffHeapAVL"};
+    private static final int MIN_KEY_LENGTH = 8;
+    private static final int MAX_KEY_LENGTH = 16;
+
+    private MemoryBenchmarks() {
+    }
+
+    public static void main(String[] args) {
+        Params opts = Params.parse(args);
+        System.out.printf("%-14s %-6s %10s %14s %14s %14s %12s %12s %12s %10s %10s%n",
+                "Backend", "Index", "Keys", "Insert ops/s", "Search ops/s", "Dup ops/s", "Heap MB", "Off-heap MB", "Index slots", "GC count", "GC ms");
+        for (String backend : opts.params("backend", String.join(",", BACKENDS))) {
+            for (int size : opts.intParams("size", "1000000")) {
+                for (String index : opts.params("index", "none")) {
+                    if (!index.equals("none") && !index.equals("hash")) {
+                        throw new IllegalArgumentException("Unknown index: " + index);
+                    }
+                    measure(backend, size, index.equals("hash"));
+                }
+            }
+        }
+    }
+
+    private static void measure(String backend, int size, boolean hashIndexed) {
+        long heapBefore = settledHeap();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcMillis();
+
+        Trees<String> tree = newTree(backend);
+        HashIndex<String> index = hashIndexed ? new HashIndex<>() : null;
+        char[] chars = new char[MAX_KEY_LENGTH];
+        SplittableRandom random = new SplittableRandom(42);
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            insert(tree, index, nextKey(random, chars));
+        }
+        long insertNanos = System.nanoTime() - start;
+
+        int found = 0;
+        random = new SplittableRandom(42);
+        start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            String key = nextKey(random, chars);
+            if (index != null ? index.contains(key) : tree.search(key)) found++;
+        }
+        long searchNanos = System.nanoTime() - start;
+
+        int duplicates = 0;
+        random = new SplittableRandom(42);
+        start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            if (!insert(tree, index, nextKey(random, chars))) duplicates++;
+        }
+        long duplicateNanos = System.nanoTime() - start;
+
+        long gcCount = gcCount() - gcCountBefore;
+        long gcTime = gcMillis() - gcTimeBefore;
+        long heapRetained = settledHeap() - heapBefore;
+        long offHeap = tree instanceof OffHeapAVL ? ((OffHeapAVL) tree).offHeapBytes() : 0;
+        int indexSlots = index == null ? 0 : index.capacity(); // Read after measuring, so the index counts
+        if (found != size || duplicates != size) {
+            throw new IllegalStateException(backend + " lost keys: found " + found + " and rejected " + duplicates + " of " + size);
+        }
+
+        System.out.printf("%-14s %-6s %,10d %,14.0f %,14.0f %,14.0f %,12.1f %,12.1f %,12d %,10d %,10d%n",
+                backend, hashIndexed ? "hash" : "none", size, size / (insertNanos / 1e9), size / (searchNanos / 1e9),
+                size / (duplicateNanos / 1e9), heapRetained / (1024.0 * 1024.0), offHeap / (1024.0 * 1024.0), indexSlots, gcCount, gcTime);
+    }
+
+    // Same steps as DictionaryImplementation: with an index, only keys it does not hold reach the tree
+    private static boolean insert(Trees<String> tree, HashIndex<String> index, String key) {
+        if (index == null) {
+            return tree.insert(key);
+        }
+        if (index.contains(key)) {
+            return false;
+        }
+        tree.insert(key);
+        return index.add(key);
+    }
+
+    private static Trees<String> newTree(String backend) {
+        if (backend.equals("OffHeapAVL")) {
+            return new OffHeapAVL();
+        }
+        if (backend.equals("AVL") || backend.equals("RedBlackTree")) {
+            return TreeBenchmarks.newTree(backend);
+        }
+        throw new IllegalArgumentException("Unknown backend: " + backend);
+    }
+
+    // Random word-like keys of 8-16 lowercase letters, generated on the fly rather than held in an
+    // array so the heap figure only counts what the tree itself keeps. Both passes replay the same
+    // seed, so generation costs the same for every backend and searches hit every inserted key.
+    private static String nextKey(SplittableRandom random, char[] chars) {
+        int length = MIN_KEY_LENGTH + random.nextInt(MAX_KEY_LENGTH - MIN_KEY_LENGTH + 1);
+        for (int c = 0; c < length; c++) {
+            chars[c] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars, 0, length);
+    }
+
+    // Heap in use once garbage from earlier work has been collected
+    private static long settledHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
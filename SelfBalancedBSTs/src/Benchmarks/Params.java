@@ -0,0 +1,47 @@
+package Benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// `-p key=v1,v2` parameters for the standalone reporters (memory, filter, WAL, disk), which print
+// their own tables of heap, GC, page-read or fsync figures rather than running under JMH. The
+// spelling matches JMH's, so the same command lines work for both kinds of suite.
+final class Params {
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    private Params() {
+    }
+
+    static Params parse(String[] args) {
+        Params params = new Params();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].equals("-p") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected -p key=value but got: " + args[i]);
+            }
+            String kv = args[++i];
+            int eq = kv.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected -p key=value but got: " + kv);
+            }
+            params.values.put(kv.substring(0, eq), kv.substring(eq + 1));
+        }
+        return params;
+    }
+
+    String param(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    String[] params(String key, String defaultValue) {
+        return param(key, defaultValue).split(",");
+    }
+
+    int[] intParams(String key, String defaultValue) {
+        String[] strings = params(key, defaultValue);
+        int[] result = new int[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            result[i] = Integer.parseInt(strings[i].trim());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package Benchmarks;
+
+import BSTs.AVL;
+import BSTs.PrefixSearch;
+import BSTs.RedBlackTree;
+import BSTs.Trees;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Type-ahead queries against the 100k-word corpus: PrefixSearch's bounded range descent (range)
+ * against a full inorderTraversal scan that filters by prefix (scan, the only option before
+ * bounded iterators). One op is one query returning up to `limit` words.
+ *
+ *   java -cp "out:lib/*" Benchmarks.PrefixSearchBenchmarks -p prefixLength=1,2,3 -p limit=10
+ *
+ * Parameters (-p): backend (AVL, RedBlackTree), prefixLength, limit, size (default 100000),
+ * resources (default SelfBalancedBSTs/Resources).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrefixSearchBenchmarks {
+    private static final int QUERIES = 1000;
+
+    @Param({"AVL", "RedBlackTree"})
+    public String backend;
+
+    @Param({"1", "2", "3"})
+    public int prefixLength;
+
+    @Param("10")
+    public int limit;
+
+    @Param("100000")
+    public int size;
+
+    @Param("SelfBalancedBSTs/Resources")
+    public String resources;
+
+    private Trees<String> tree;
+    private String[] prefixes;
+    private int next;
+
+    public static void main(String[] args) throws Exception {
+        JmhMain.run(PrefixSearchBenchmarks.class, args);
+    }
+
+    // Read-only workload: build the tree and pick the query prefixes once
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] words = Workloads.stringsOrFail("Random", size, Paths.get(resources));
+        tree = TreeBenchmarks.newTree(backend);
+        for (String word : words) {
+            tree.insert(word);
+        }
+        // Prefixes of real words, so every query has at least one match
+        String[] sample = Workloads.shuffled(words, 7);
+        prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = sample[i % sample.length];
+            prefixes[i] = word.substring(0, Math.min(prefixLength, word.length()));
+        }
+    }
+
+    @Benchmark
+    public List<String> range() {
+        return PrefixSearch.search(tree, nextPrefix(), limit);
+    }
+
+    // The traversal cannot stop early, so it visits every key even once limit matches are found
+    @Benchmark
+    public List<String> scan() {
+        String prefix = nextPrefix();
+        List<String> matches = new ArrayList<>();
+        inorderTraversal(key -> {
+            if (matches.size() < limit && key.startsWith(prefix)) {
+                matches.add(key);
+            }
+        });
+        return matches;
+    }
+
+    private String nextPrefix() {
+        if (next == prefixes.length) {
+            next = 0;
+        }
+        return prefixes[next++];
+    }
+
+    private void inorderTraversal(java.util.function.Consumer<String> consumer) {
+        if (tree instanceof AVL) {
+            ((AVL<String>) tree).inorderTraversal(consumer);
+        } else {
+            ((RedBlackTree<String>) tree).inorderTraversal(consumer);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package Benchmarks;
+
+import BSTs.IntAVL;
+import BSTs.IntRedBlackTree;
+import BSTs.LongAVL;
+import BSTs.LongRedBlackTree;
+import BSTs.Trees;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Primitive-key trees (IntAVL, IntRedBlackTree, LongAVL, LongRedBlackTree) against the generic
+ * AVL/RedBlackTree over boxed Integer/Long keys, for the same insert/search/deleteAll benchmarks
+ * and data patterns as TreeBenchmarks (see there for what each one scores).
+ *
+ * Run from the repository root after compiling src, e.g.
+ *   java -cp "out:lib/*" Benchmarks.PrimitiveTreeBenchmarks -p size=100000 'search'
+ *
+ * Parameters (-p): impl (primitive, boxed), backend (AVL, RedBlackTree), keyType (int, long),
+ * pattern, size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PrimitiveTreeBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        JmhMain.run(PrimitiveTreeBenchmarks.class, args);
+    }
+
+    // One tree of the chosen kind, addressed by index into the key sequence. Each fork loads a
+    // single implementation, so the calls through this class stay monomorphic and are inlined.
+    abstract static class KeyedTree {
+        abstract boolean insert(int index);
+
+        abstract boolean search(int index);
+
+        abstract boolean delete(int index);
+    }
+
+    @State(Scope.Thread)
+    public static class Keys {
+        @Param({"primitive", "boxed"})
+        public String impl;
+
+        @Param({"AVL", "RedBlackTree"})
+        public String backend;
+
+        @Param({"int", "long"})
+        public String keyType;
+
+        @Param({"Random", "Sorted", "Reverse_Sorted", "Duplicate_Heavy"})
+        public String pattern;
+
+        @Param("10000")
+        public int size;
+
+        // The same key sequences the boxed benchmarks see, unboxed
+        Integer[] boxed;
+        int[] ints;
+        long[] longs;
+        Long[] boxedLongs;
+        // Positions into the key sequence, in TreeBenchmarks' shuffled probe order
+        int[] probeOrder;
+
+        @Setup(Level.Trial)
+        public void load() {
+            if (!backend.equals("AVL") && !backend.equals("RedBlackTree")) {
+                throw new IllegalArgumentException("Unknown backend: " + backend);
+            }
+            boxed = Workloads.integers(pattern, size);
+            ints = Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+            longs = Arrays.stream(ints).asLongStream().toArray();
+            boxedLongs = Arrays.stream(longs).boxed().toArray(Long[]::new);
+            Integer[] positions = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                positions[i] = i;
+            }
+            probeOrder = Arrays.stream(Workloads.shuffled(positions, 7)).mapToInt(Integer::intValue).toArray();
+        }
+
+        KeyedTree newTree() {
+            boolean avl = backend.equals("AVL");
+            switch (impl + ":" + keyType) {
+                case "primitive:int":
+                    return avl ? new IntAVLAdapter(ints) : new IntRedBlackAdapter(ints);
+                case "primitive:long":
+                    return avl ? new LongAVLAdapter(longs) : new LongRedBlackAdapter(longs);
+                case "boxed:int":
+                    return new BoxedAdapter<>(TreeBenchmarks.<Integer>newTree(backend), boxed);
+                case "boxed:long":
+                    return new BoxedAdapter<>(TreeBenchmarks.<Long>newTree(backend), boxedLongs);
+                default:
+                    throw new IllegalArgumentException("Unknown impl/key type: " + impl + "/" + keyType);
+            }
+        }
+
+        KeyedTree filledTree() {
+            KeyedTree tree = newTree();
+            for (int i = 0; i < size; i++) {
+                tree.insert(i);
+            }
+            return tree;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Growing {
+        KeyedTree tree;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Keys keys) {
+            tree = keys.newTree();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Filled {
+        KeyedTree tree;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Keys keys) {
+            tree = keys.filledTree();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Full {
+        KeyedTree tree;
+
+        @Setup(Level.Invocation)
+        public void setUp(Keys keys) {
+            tree = keys.filledTree();
+        }
+    }
+
+    @Benchmark
+    public boolean insert(Keys keys, Growing state) {
+        if (state.next == keys.size) {
+            state.tree = keys.newTree();
+            state.next = 0;
+        }
+        return state.tree.insert(state.next++);
+    }
+
+    @Benchmark
+    public boolean search(Keys keys, Filled state) {
+        if (state.next == keys.size) {
+            state.next = 0;
+        }
+        return state.tree.search(keys.probeOrder[state.next++]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = 1)
+    @Measurement(iterations = 20, batchSize = 1)
+    public void deleteAll(Keys keys, Full state, Blackhole bh) {
+        for (int index : keys.probeOrder) {
+            bh.consume(state.tree.delete(index));
+        }
+    }
+
+    static final class IntAVLAdapter extends KeyedTree {
+        private final IntAVL tree = new IntAVL();
+        private final int[] keys;
+
+        IntAVLAdapter(int[] keys) {
+            this.keys = keys;
+        }
+
+        boolean insert(int index) { return tree.insert(keys[index]); }
+        boolean search(int index) { return tree.search(keys[index]); }
+        boolean delete(int index) { return tree.delete(keys[index]); }
+    }
+
+    static final class IntRedBlackAdapter extends KeyedTree {
+        private final IntRedBlackTree tree = new IntRedBlackTree();
+        private final int[] keys;
+
+        IntRedBlackAdapter(int[] keys) {
+            this.keys = keys;
+        }
+
+        boolean insert(int index) { return tree.insert(keys[index]); }
+        boolean search(int index) { return tree.search(keys[index]); }
+        boolean delete(int index) { return tree.delete(keys[index]); }
+    }
+
+    static final class LongAVLAdapter extends KeyedTree {
+        private final LongAVL tree = new LongAVL();
+        private final long[] keys;
+
+        LongAVLAdapter(long[] keys) {
+            this.keys = keys;
+        }
+
+        boolean insert(int index) { return tree.insert(keys[index]); }
+        boolean search(int index) { return tree.search(keys[index]); }
+        boolean delete(int index) { return tree.delete(keys[index]); }
+    }
+
+    static final class LongRedBlackAdapter extends KeyedTree {
+        private final LongRedBlackTree tree = new LongRedBlackTree();
+        private final long[] keys;
+
+        LongRedBlackAdapter(long[] keys) {
+            this.keys = keys;
+        }
+
+        boolean insert(int index) { return tree.insert(keys[index]); }
+        boolean search(int index) { return tree.search(keys[index]); }
+        boolean delete(int index) { return tree.delete(keys[index]); }
+    }
+
+    static final class BoxedAdapter<T extends Comparable<T>> extends KeyedTree {
+        private final Trees<T> tree;
+        private final T[] keys;
+
+        BoxedAdapter(Trees<T> tree, T[] keys) {
+            this.tree = tree;
+            this.keys = keys;
+        }
+
+        boolean insert(int index) { return tree.insert(keys[index]); }
+        boolean search(int index) { return tree.search(keys[index]); }
+        boolean delete(int index) { return tree.delete(keys[index]); }
+    }
+}
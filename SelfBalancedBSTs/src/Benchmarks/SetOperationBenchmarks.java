@@ -0,0 +1,136 @@
+package Benchmarks;
+
+import BSTs.AVL;
+import BSTs.RedBlackTree;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Merging a batch of m keys into (or subtracting it from) a tree of n keys: the join-based
+ * union/difference (union, difference) against one insert/delete per key (unionPerKey,
+ * differencePerKey), the way batchInsert/batchDelete used to. The join benchmarks include
+ * building the batch tree from its sorted keys. Each single-shot op is one whole batch on a fresh
+ * copy of the tree, which is rebuilt outside the timed region.
+ *
+ *   java -cp "out:lib/*" Benchmarks.SetOperationBenchmarks -p size=1000000 -p batch=1000,100000,1000000
+ *
+ * Parameters (-p): backend (AVL, RedBlackTree), size (n, default 100000), batch (m, default
+ * 1000,100000).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, batchSize = 1)
+@Measurement(iterations = 20, batchSize = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SetOperationBenchmarks {
+    @Param({"AVL", "RedBlackTree"})
+    public String backend;
+
+    @Param("100000")
+    public int size;
+
+    @Param({"1000", "100000"})
+    public int batch;
+
+    private boolean avl;
+    private List<Integer> treeKeys;
+    private List<Integer> batchKeys;
+    private Integer[] perKeyOrder;
+    private AVL<Integer> avlTree;
+    private RedBlackTree<Integer> rbTree;
+
+    public static void main(String[] args) throws Exception {
+        JmhMain.run(SetOperationBenchmarks.class, args);
+    }
+
+    @Setup(Level.Trial)
+    public void load() {
+        if (!backend.equals("AVL") && !backend.equals("RedBlackTree")) {
+            throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+        avl = backend.equals("AVL");
+        // Tree holds the even numbers below 2n; the batch is spread over the same range, so
+        // about half of it is already present
+        treeKeys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            treeKeys.add(2 * i);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        int[] keys = random.ints(batch, 0, 2 * Math.max(size, batch)).sorted().distinct().toArray();
+        batchKeys = new ArrayList<>(keys.length);
+        Arrays.stream(keys).forEach(batchKeys::add);
+        // Per-key updates go in shuffled order so they get no sequential-access advantage
+        perKeyOrder = Workloads.shuffled(batchKeys.toArray(new Integer[0]), 7);
+    }
+
+    // Every benchmark mutates the tree, so each op starts from a fresh copy
+    @Setup(Level.Invocation)
+    public void copyTree() {
+        if (avl) {
+            avlTree = new AVL<>();
+            avlTree.buildFromSorted(treeKeys);
+        } else {
+            rbTree = new RedBlackTree<>();
+            rbTree.buildFromSorted(treeKeys);
+        }
+    }
+
+    @Benchmark
+    public int union() {
+        if (avl) {
+            AVL<Integer> other = new AVL<>();
+            other.buildFromSorted(batchKeys);
+            avlTree.union(other);
+            return avlTree.size();
+        }
+        RedBlackTree<Integer> other = new RedBlackTree<>();
+        other.buildFromSorted(batchKeys);
+        rbTree.union(other);
+        return rbTree.size();
+    }
+
+    @Benchmark
+    public int difference() {
+        if (avl) {
+            AVL<Integer> other = new AVL<>();
+            other.buildFromSorted(batchKeys);
+            avlTree.difference(other);
+            return avlTree.size();
+        }
+        RedBlackTree<Integer> other = new RedBlackTree<>();
+        other.buildFromSorted(batchKeys);
+        rbTree.difference(other);
+        return rbTree.size();
+    }
+
+    @Benchmark
+    public void unionPerKey(Blackhole bh) {
+        for (Integer key : perKeyOrder) {
+            bh.consume(avl ? avlTree.insert(key) : rbTree.insert(key));
+        }
+    }
+
+    @Benchmark
+    public void differencePerKey(Blackhole bh) {
+        for (Integer key : perKeyOrder) {
+            bh.consume(avl ? avlTree.delete(key) : rbTree.delete(key));
+        }
+    }
+}
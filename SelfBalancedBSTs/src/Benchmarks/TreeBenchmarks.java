@@ -0,0 +1,229 @@
+package Benchmarks;
+
+import BSTs.AVL;
+import BSTs.BTree;
+import BSTs.ConcurrentAVL;
+import BSTs.PersistentAVL;
+import BSTs.RedBlackTree;
+import BSTs.SplayTree;
+import BSTs.Trees;
+import BSTs.WAVLTree;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * Insert/search/delete benchmarks for every Trees<T> backend, over Integer keys and the
+ * string corpora in Resources, for each data pattern.
+ *
+ * Run from the repository root after compiling src (with lib/* on the classpath, so the JMH
+ * annotation processor generates the benchmark stubs), e.g.
+ *   java -cp "out:lib/*" Benchmarks.TreeBenchmarks -p size=10000,100000 -rf csv
+ *
+ * Parameters (-p): backend, keyType, pattern, size, resources (default SelfBalancedBSTs/Resources),
+ * and zipf for the zipf benchmark. Every benchmark but deleteAll scores one operation:
+ * - insert adds the keys in order, starting over on an empty tree once all are in, so the score
+ *   is the average over tree sizes 0..size;
+ * - search, range and zipf probe a tree built once per fork. range reads the RANGE_LENGTH keys
+ *   after the probe key through a bounded iterator. zipf draws its probes from a Zipf
+ *   distribution over the keys (a few hot keys take most lookups), with the exponent set by
+ *   -p zipf (default 0.99, as in YCSB; higher is more skewed);
+ * - deleteAll empties a freshly filled tree in shuffled order. Refilling cannot happen inside a
+ *   timed call, so each single-shot invocation is one whole pass: divide the score by size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TreeBenchmarks {
+    public static final String[] BACKENDS = {"AVL", "RedBlackTree", "WAVLTree", "BTree", "SplayTree", "ConcurrentAVL", "PersistentAVL"};
+    static final int RANGE_LENGTH = 50;
+
+    public static void main(String[] args) throws Exception {
+        JmhMain.run(TreeBenchmarks.class, args);
+    }
+
+    public static <T extends Comparable<T>> Trees<T> newTree(String backend) {
+        switch (backend) {
+            case "AVL": return new AVL<>();
+            case "RedBlackTree": return new RedBlackTree<>();
+            case "BTree": return new BTree<>();
+            case "SplayTree": return new SplayTree<>();
+            case "WAVLTree": return new WAVLTree<>();
+            case "ConcurrentAVL": return new ConcurrentAVL<>();
+            case "PersistentAVL": return new PersistentAVL<>();
+            default: throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+    }
+
+    // The key sequence and its shuffled probe order. Integer and String keys share one raw type,
+    // as each fork only ever sees one of them.
+    @State(Scope.Thread)
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static class Keys {
+        @Param({"AVL", "RedBlackTree", "WAVLTree", "BTree", "SplayTree", "ConcurrentAVL", "PersistentAVL"})
+        public String backend;
+
+        @Param({"Integer", "String"})
+        public String keyType;
+
+        @Param({"Random", "Sorted", "Reverse_Sorted", "Duplicate_Heavy"})
+        public String pattern;
+
+        @Param("10000")
+        public int size;
+
+        @Param("SelfBalancedBSTs/Resources")
+        public String resources;
+
+        Comparable[] keys;
+        Comparable[] probeOrder;
+
+        @Setup(Level.Trial)
+        public void load() {
+            switch (keyType) {
+                case "Integer":
+                    keys = Workloads.integers(pattern, size);
+                    break;
+                case "String":
+                    keys = Workloads.stringsOrFail(pattern, size, Paths.get(resources));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown key type: " + keyType);
+            }
+            probeOrder = Workloads.shuffled(keys, 7);
+        }
+
+        Trees newTree() {
+            return TreeBenchmarks.newTree(backend);
+        }
+
+        Trees filledTree() {
+            Trees tree = newTree();
+            for (Comparable key : keys) {
+                tree.insert(key);
+            }
+            return tree;
+        }
+    }
+
+    @State(Scope.Thread)
+    @SuppressWarnings("rawtypes")
+    public static class Growing {
+        Trees tree;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Keys keys) {
+            tree = keys.newTree();
+        }
+    }
+
+    // The contents never change here (a splay tree only reshapes), so the tree is built once
+    @State(Scope.Thread)
+    @SuppressWarnings("rawtypes")
+    public static class Filled {
+        Trees tree;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Keys keys) {
+            tree = keys.filledTree();
+        }
+    }
+
+    @State(Scope.Thread)
+    @SuppressWarnings("rawtypes")
+    public static class Zipfian {
+        @Param("0.99")
+        public double zipf;
+
+        Trees tree;
+        Comparable[] draws;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Keys keys) {
+            tree = keys.filledTree();
+            draws = Workloads.zipfian(keys.keys, keys.keys.length, zipf, 7);
+        }
+    }
+
+    // Rebuilt before every single-shot pass, outside the timed region
+    @State(Scope.Thread)
+    @SuppressWarnings("rawtypes")
+    public static class Full {
+        Trees tree;
+
+        @Setup(Level.Invocation)
+        public void setUp(Keys keys) {
+            tree = keys.filledTree();
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public boolean insert(Keys keys, Growing state) {
+        if (state.next == keys.keys.length) {
+            state.tree = keys.newTree();
+            state.next = 0;
+        }
+        return state.tree.insert(keys.keys[state.next++]);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public boolean search(Keys keys, Filled state) {
+        if (state.next == keys.probeOrder.length) {
+            state.next = 0;
+        }
+        return state.tree.search(keys.probeOrder[state.next++]);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public void range(Keys keys, Filled state, Blackhole bh) {
+        if (state.next == keys.probeOrder.length) {
+            state.next = 0;
+        }
+        Iterator<?> range = state.tree.ascendingIterator(keys.probeOrder[state.next++], false, null, true);
+        for (int i = 0; i < RANGE_LENGTH && range.hasNext(); i++) {
+            bh.consume(range.next());
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public boolean zipf(Zipfian state) {
+        if (state.next == state.draws.length) {
+            state.next = 0;
+        }
+        return state.tree.search(state.draws[state.next++]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = 1)
+    @Measurement(iterations = 20, batchSize = 1)
+    @SuppressWarnings("unchecked")
+    public void deleteAll(Keys keys, Full state, Blackhole bh) {
+        for (Comparable<?> key : keys.probeOrder) {
+            bh.consume(state.tree.delete(key));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package Benchmarks;
+
+import BSTs.Trees;
+import BSTs.WriteAheadLog;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/*
+ * Durable insert throughput through the write-ahead log at several group-commit intervals, using
+ * the same pattern as DictionaryImplementation: append and insert under the write lock, then
+ * sync() outside it. Every insert waits until it is on disk. The threads share the forces, so the
+ * records-per-force column shows how well commits are grouped. interval=none is the in-memory
+ * baseline without a log.
+ *
+ *   java -cp out Benchmarks.WalBenchmarks -p interval=none,0,100,1000 -p threads=1,8,32
+ *
+ * Parameters (-p): interval (microseconds, or none; default none,0,100,1000,5000), threads
+ * (default 1,4,16), ops (inserts per thread, default 2000), backend (default AVL), dir (where the
+ * log is written, default the system temp directory; use the disk you care about).
+ */
+public final class WalBenchmarks {
+
+    private WalBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Params opts = Params.parse(args);
+        Path dir = Paths.get(opts.param("dir", System.getProperty("java.io.tmpdir")));
+        String backend = opts.param("backend", "AVL");
+        System.out.printf("%-9s %8s %14s %10s %14s %14s %14s%n",
+                "Interval", "Threads", "Inserts/s", "Forces", "Records/force", "Mean us", "p99 us");
+        for (String interval : opts.params("interval", "none,0,100,1000,5000")) {
+            for (int threads : opts.intParams("threads", "1,4,16")) {
+                for (int ops : opts.intParams("ops", "2000")) {
+                    measure(dir, backend, interval, threads, ops);
+                }
+            }
+        }
+    }
+
+    private static void measure(Path dir, String backend, String interval, int threads, int ops) throws Exception {
+        Path logFile = Files.createTempFile(dir, "wal-benchmark", ".log");
+        Trees<String> tree = TreeBenchmarks.newTree(backend);
+        StampedLock lock = new StampedLock();
+        WriteAheadLog log = interval.equals("none") ? null
+                : WriteAheadLog.open(logFile, TimeUnit.MICROSECONDS.toNanos(Long.parseLong(interval)), (insert, key) -> { });
+        long[][] latencies = new long[threads][ops];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ops; i++) {
+                        String key = "key-" + thread + "-" + i;
+                        long begin = System.nanoTime();
+                        long stamp = lock.writeLock();
+                        try {
+                            if (log != null) log.append(true, key);
+                            tree.insert(key);
+                        } finally {
+                            lock.unlockWrite(stamp);
+                        }
+                        if (log != null) log.sync();
+                        latencies[thread][i] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException | IOException e) {
+                    failure[0] = e;
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        if (failure[0] != null) {
+            throw new IllegalStateException("Benchmark thread failed", failure[0]);
+        }
+        long forces = log == null ? 0 : log.forces();
+        if (log != null) {
+            log.close();
+        }
+        Files.deleteIfExists(logFile);
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        double mean = Arrays.stream(all).average().orElse(0) / 1000.0;
+        double p99 = all[(int) Math.min(all.length - 1, Math.ceil(all.length * 0.99) - 1)] / 1000.0;
+        long total = (long) threads * ops;
+        System.out.printf("%-9s %8d %,14.0f %,10d %14s %,14.1f %,14.1f%n",
+                interval, threads, total / (elapsed / 1e9), forces,
+                forces == 0 ? "-" : String.format("%.1f", (double) total / forces), mean, p99);
+    }
+}
@@ -0,0 +1,140 @@
+package Benchmarks;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Key sequences shared by the benchmark suites. Integer patterns use the same seeds as ComprehensiveBSTTests.
+public final class Workloads {
+    public static final String[] PATTERNS = {"Random", "Sorted", "Reverse_Sorted", "Duplicate_Heavy"};
+
+    private static final Pattern CORPUS_NAME = Pattern.compile("output_(\\d+)_\\d+_lines\\.txt");
+
+    private Workloads() {
+    }
+
+    public static Integer[] integers(String pattern, int size) {
+        Integer[] data = new Integer[size];
+        Random rand = new Random(42);
+        switch (pattern) {
+            case "Random":
+                for (int i = 0; i < size; i++) data[i] = rand.nextInt(Integer.MAX_VALUE);
+                break;
+            case "Sorted":
+                for (int i = 0; i < size; i++) data[i] = i;
+                break;
+            case "Reverse_Sorted":
+                for (int i = 0; i < size; i++) data[i] = size - i;
+                break;
+            case "Duplicate_Heavy":
+                for (int i = 0; i < size; i++) data[i] = rand.nextInt(Math.max(size / 10, 1));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown data pattern: " + pattern);
+        }
+        return data;
+    }
+
+    // Words from the smallest Resources/output_<n>_*_lines.txt corpus holding at least size lines
+    public static String[] strings(String pattern, int size, Path resources) throws IOException {
+        String[] words = corpus(size, resources);
+        String[] data;
+        switch (pattern) {
+            case "Random":
+                data = Arrays.copyOf(words, size);
+                break;
+            case "Sorted":
+                data = Arrays.copyOf(words, size);
+                Arrays.sort(data);
+                break;
+            case "Reverse_Sorted":
+                data = Arrays.copyOf(words, size);
+                Arrays.sort(data, Collections.reverseOrder());
+                break;
+            case "Duplicate_Heavy": {
+                data = new String[size];
+                Random rand = new Random(42);
+                int distinct = Math.max(size / 10, 1);
+                for (int i = 0; i < size; i++) data[i] = words[rand.nextInt(distinct)];
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown data pattern: " + pattern);
+        }
+        return data;
+    }
+
+    // Same as strings() for use in key suppliers, which cannot throw checked exceptions
+    public static String[] stringsOrFail(String pattern, int size, Path resources) {
+        try {
+            return strings(pattern, size, resources);
+        } catch (IOException e) {
+            throw new IllegalStateException("Error reading corpus: " + e.getMessage(), e);
+        }
+    }
+
+    // count draws from keys under a Zipf law: the key of popularity rank r (1-based) comes up with
+    // probability proportional to 1 / r^exponent. Ranks go to keys in a seeded shuffled order, so
+    // the hot keys are spread over the key range rather than being the smallest ones.
+    public static <T> T[] zipfian(T[] keys, int count, double exponent, long seed) {
+        T[] byPopularity = shuffled(keys, seed);
+        double[] cumulative = new double[keys.length];
+        double total = 0;
+        for (int r = 0; r < keys.length; r++) {
+            total += 1 / Math.pow(r + 1, exponent);
+            cumulative[r] = total;
+        }
+        T[] draws = Arrays.copyOf(keys, count);
+        Random rand = new Random(seed + 1);
+        for (int i = 0; i < count; i++) {
+            int r = Arrays.binarySearch(cumulative, rand.nextDouble() * total);
+            draws[i] = byPopularity[Math.min(r < 0 ? -r - 1 : r, keys.length - 1)];
+        }
+        return draws;
+    }
+
+    // Deterministic permutation of the keys, used for search and delete order
+    public static <T> T[] shuffled(T[] keys, long seed) {
+        T[] copy = Arrays.copyOf(keys, keys.length);
+        Random rand = new Random(seed);
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            T tmp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = tmp;
+        }
+        return copy;
+    }
+
+    private static String[] corpus(int size, Path resources) throws IOException {
+        Path best = null;
+        int bestLines = Integer.MAX_VALUE;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(resources, "output_*_lines.txt")) {
+            for (Path file : files) {
+                Matcher m = CORPUS_NAME.matcher(file.getFileName().toString());
+                if (!m.matches()) continue;
+                int lines = Integer.parseInt(m.group(1));
+                if (lines >= size && lines < bestLines) {
+                    best = file;
+                    bestLines = lines;
+                }
+            }
+        }
+        if (best == null) {
+            throw new IllegalArgumentException("No corpus in " + resources + " with at least " + size + " lines");
+        }
+        List<String> words = new ArrayList<>(bestLines);
+        for (String line : Files.readAllLines(best)) {
+            words.add(line.trim());
+        }
+        return words.toArray(new String[0]);
+    }
+}
@@ -1,12 +1,80 @@
 import BSTs.AVL;
+import BSTs.CountingBloomFilter;
+import BSTs.DiskBPlusTree;
+import BSTs.HashIndex;
+import BSTs.OffHeapAVL;
+import BSTs.PersistentAVL;
+import BSTs.PrefixSearch;
 import BSTs.RedBlackTree;
+import BSTs.Snapshot;
+import BSTs.SplayTree;
 import BSTs.Trees;
+import BSTs.WAVLTree;
+import BSTs.WriteAheadLog;
 import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+public class DictionaryImplementation implements java.io.Closeable {
+    // What answers search before (or instead of) the tree
+    public enum Lookup {
+        // Every search descends the tree
+        TREE,
+        // An exact hash set of the keys answers search and the existence checks; most memory
+        HASH_INDEX,
+        // A counting Bloom filter turns most misses away before the tree; a few bytes per key
+        BLOOM_FILTER
+    }
+
+    // Target false-positive rate of the Bloom filter, which starts small and is rebuilt twice as
+    // large from the tree whenever the dictionary outgrows it
+    private static final double FILTER_FALSE_POSITIVE_RATE = 0.01;
+    private static final int FILTER_INITIAL_KEYS = 1024;
+    // Keys read and sorted at a time when an AVL or red-black backend merges a batch file in
+    private static final int BATCH_CHUNK = 1 << 16;
 
-public class DictionaryImplementation {
     private final Trees<String> dictionary;
+    // Backend name as passed to the constructor; recorded in snapshots
+    private final String type;
+    // Result lines and contents dumps go here; see Reporter for the console, silent and async sinks
+    private final Reporter reporter;
+    // Searches and size try an optimistic stamp first, walks (height, prefix search) take the read
+    // stamp and mutations the write stamp
+    private final StampedLock lock = new StampedLock();
+    // Persistent backends publish each version atomically, so their readers skip the lock entirely
+    private final boolean lockFreeReads;
+    // A splay tree restructures itself on every lookup, so its reads take the write stamp
+    private final boolean selfAdjusting;
+    // AVL and red-black backends take whole batches through join-based union and difference
+    private final boolean mergeable;
+    // Hybrid mode (null when off): a hash set of every key answers search and the existence checks
+    // in insert and delete in O(1); the tree is only descended to change it and for ordered work
+    // (prefix search, printing, snapshots). Guarded by the same lock as the tree.
+    private final HashIndex<String> index;
+    // Filter mode (null when off): holds exactly the dictionary's keys, so a search or delete it
+    // rules out never reaches the tree. Replaced by a larger one as the dictionary grows; guarded
+    // by the lock like the index.
+    private CountingBloomFilter<String> filter;
+    // Searches the filter turned away, and searches it let through that the tree then missed
+    private final LongAdder filterRejections = new LongAdder();
+    private final LongAdder filterFalsePositives = new LongAdder();
+    // Optional write-ahead log (see openLog): appended under the write lock, synced after releasing it
+    private volatile WriteAheadLog log;
 
     public DictionaryImplementation(String typeD) {
+        this(typeD, Reporter.console());
+    }
+
+    public DictionaryImplementation(String typeD, Reporter reporter) {
+        this(typeD, reporter, Lookup.TREE);
+    }
+
+    public DictionaryImplementation(String typeD, Reporter reporter, Lookup lookup) {
+        this.reporter = reporter;
+        this.type = typeD;
         switch (typeD) {
             case "AVL" : {dictionary = new AVL<>();
                 break;
@@ -14,116 +82,725 @@ public class DictionaryImplementation {
             case "Red Black Tree" : {dictionary = new RedBlackTree<>();
                 break;
             }
+            case "Persistent AVL" : {dictionary = new PersistentAVL<>();
+                break;
+            }
+            case "Off-heap AVL" : {dictionary = new OffHeapAVL();
+                break;
+            }
+            case "Disk B+tree" : {dictionary = openPageFile();
+                break;
+            }
+            case "Splay Tree" : {dictionary = new SplayTree<>();
+                break;
+            }
+            case "WAVL Tree" : {dictionary = new WAVLTree<>();
+                break;
+            }
             default : throw new IllegalArgumentException("Invalid dictionary type.");
         }  
+        index = lookup == Lookup.HASH_INDEX ? new HashIndex<>() : null;
+        filter = lookup == Lookup.BLOOM_FILTER ? new CountingBloomFilter<>(FILTER_INITIAL_KEYS, FILTER_FALSE_POSITIVE_RATE) : null;
+        // Index and filter are mutable, so with either one a persistent backend reads under the lock
+        lockFreeReads = dictionary instanceof PersistentAVL && lookup == Lookup.TREE;
+        selfAdjusting = dictionary instanceof SplayTree;
+        mergeable = dictionary instanceof AVL || dictionary instanceof RedBlackTree;
+    }
+
+    // The disk backend keeps its pages in a temporary file, removed when the dictionary is closed
+    private static Trees<String> openPageFile() {
+        try {
+            return DiskBPlusTree.temporary(DiskBPlusTree.STRINGS);
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException("Cannot create the page file", e);
+        }
     }
-    public synchronized void insert(String toInsert) {
+    public void insert(String toInsert) {
         long start = System.nanoTime();
          
-        boolean res = dictionary.insert(toInsert);
+        boolean res;
+        try {
+            res = mutate(true, toInsert);
+        } catch (IOException e) {
+            System.err.println("Error writing log: " + e.getMessage());
+            return;
+        }
+        long end = System.nanoTime();
         if(res) {
-            System.out.println("(" + toInsert + ")" + "\u001B[32m Successfully INSERTED ✅\u001B[0m");
+            reporter.println("(" + toInsert + ")" + "\u001B[32m Successfully INSERTED ✅\u001B[0m");
         } else {
-            System.out.println("\u001B[33m Already Exist\u001B[0m ");
+            reporter.println("\u001B[33m Already Exist\u001B[0m ");
         }
 
         // dictionary.printTreeStructure();
-        long end = System.nanoTime();
-        System.out.println("Insert Time: " + (end - start) / 1_000_000.0 + " ms");
-        dictionary.printdictinory();
+        reporter.println("Insert Time: " + (end - start) / 1_000_000.0 + " ms");
+        printContents();
     }
 
-    public synchronized void delete(String toDelete) {
+    public void delete(String toDelete) {
         long start = System.nanoTime();
-        if (dictionary.delete(toDelete)) {
-            System.out.println("(" + toDelete + ")" + "\u001B[32m Successfully DELETED ✅\u001B[0m");
-        } else {
-            System.out.println("(" + toDelete + ")" + "\u001B[31m Not found ❌\u001B[0m");
+        boolean res;
+        try {
+            res = mutate(false, toDelete);
+        } catch (IOException e) {
+            System.err.println("Error writing log: " + e.getMessage());
+            return;
         }
         long end = System.nanoTime();
-        System.out.println("Delete Time: " + (end - start) / 1_000_000.0 + " ms");
-                 dictionary.printdictinory();
+        if (res) {
+            reporter.println("(" + toDelete + ")" + "\u001B[32m Successfully DELETED ✅\u001B[0m");
+        } else {
+            reporter.println("(" + toDelete + ")" + "\u001B[31m Not found ❌\u001B[0m");
+        }
+        reporter.println("Delete Time: " + (end - start) / 1_000_000.0 + " ms");
+        printContents();
     }
     
     public boolean search(String toSearch) {
         long start = System.nanoTime();
         boolean result;
-        if (dictionary.search(toSearch)) {
-            System.out.println("\u001B[32m Found in dictionary ✅\u001B[0m");
-            result = true;
-        } else {
-            System.out.println("\u001B[31m Not found in dictionary ❌\u001B[0m");
+        boolean screened = false;
+        if (index != null) {
+            result = optimisticRead(() -> index.contains(toSearch));
+        } else if (filter != null && !optimisticRead(() -> filter.mightContain(toSearch))) {
+            // Certainly absent: no descent, and for the splay tree no write lock
             result = false;
+            screened = true;
+            filterRejections.increment();
+        } else {
+            result = read(() -> dictionary.search(toSearch));
+            if (!result && filter != null) {
+                filterFalsePositives.increment();
+            }
         }
         long end = System.nanoTime();
-        System.out.println("Search Time: " + (end - start) / 1_000_000.0 + " ms");
+        if (result) {
+            reporter.println("\u001B[32m Found in dictionary ✅\u001B[0m");
+        } else {
+            reporter.println("\u001B[31m Not found in dictionary ❌\u001B[0m");
+        }
+        reporter.println("Search Time: " + (end - start) / 1_000_000.0 + " ms");
+        if (filter != null) {
+            reporter.println(screened ? "Ruled out by the Bloom filter without searching the tree" : "Passed the Bloom filter");
+            printFilterStats();
+        }
+        reporter.flush();
         return result;
     }
+    // Type-ahead lookup: up to limit words starting with prefix, in dictionary order
+    public java.util.List<String> prefixSearch(String prefix, int limit) {
+        long start = System.nanoTime();
+        java.util.List<String> matches = walk(() -> PrefixSearch.search(dictionary, prefix, limit));
+        long end = System.nanoTime();
+        if (matches.isEmpty()) {
+            reporter.println("\u001B[31m No words start with (" + prefix + ") ❌\u001B[0m");
+        }
+        for (String match : matches) {
+            reporter.println(match);
+        }
+        reporter.println("Prefix Search Time: " + (end - start) / 1_000_000.0 + " ms");
+        reporter.flush();
+        return matches;
+    }
     public int size() {
-        return dictionary.size();
+        return read(dictionary::size);
     }
     public int height() {
-        return dictionary.height();
+        return walk(dictionary::height);
     }
     public void batchInsert(String fileToInsert) {
+        long gcStart = gcMillis();
         long start = System.nanoTime();
-        try {
-            java.nio.file.Path path = java.nio.file.Paths.get(fileToInsert);
-            java.util.List<String> lines = java.nio.file.Files.readAllLines(path);
-            
+        int readCount = 0;
+        try (WordFileReader reader = new WordFileReader(java.nio.file.Paths.get(fileToInsert))) {
             int insertedCount = 0;
             int failedCount = 0;
+            String key;
             
-            for (String line : lines) {
-                boolean result = dictionary.insert(line.trim());
-                if (result) {
-                    insertedCount++;
+            if (mergeable) {
+                // Sorted chunks of at most BATCH_CHUNK keys, each merged in with one join-based
+                // union, O(m log(n/m + 1)) instead of m inserts, in memory bounded by the chunk
+                for (java.util.List<String> chunk = readSortedChunk(reader); !chunk.isEmpty(); chunk = readSortedChunk(reader)) {
+                    readCount += chunk.size();
+                    java.util.List<String> unique = new java.util.ArrayList<>(chunk.size());
+                    for (String sorted : chunk) {
+                        if (!unique.isEmpty() && unique.get(unique.size() - 1).equals(sorted)) {
+                            failedCount++;
+                            reporter.println(sorted);
+                        } else {
+                            unique.add(sorted);
+                        }
+                    }
+                    java.util.List<String> existing = new java.util.ArrayList<>();
+                    int merged = mergeChunk(unique, existing);
+                    insertedCount += merged;
+                    failedCount += unique.size() - merged; // Already in the dictionary
+                    for (String present : existing) {
+                        reporter.println(present);
+                    }
+                }
+            } else if (size() == 0) {
+                // Empty dictionary: sort once and build a balanced tree in linear time
+                java.util.List<String> keys = new java.util.ArrayList<>();
+                while ((key = reader.nextKey()) != null) {
+                    keys.add(key);
+                }
+                readCount = keys.size();
+                java.util.Collections.sort(keys);
+                java.util.List<String> unique = new java.util.ArrayList<>(keys.size());
+                for (String sorted : keys) {
+                    if (!unique.isEmpty() && unique.get(unique.size() - 1).equals(sorted)) {
+                        failedCount++;
+                        reporter.println(sorted);
+                    } else {
+                        unique.add(sorted);
+                    }
+                }
+                // The file was read without the lock, so re-check emptiness before building
+                boolean built = writeLocked(() -> {
+                    if (dictionary.size() != 0) {
+                        return false;
+                    }
+                    logAll(true, unique);
+                    dictionary.buildFromSorted(unique);
+                    track(true, unique);
+                    return true;
+                });
+                if (built) {
+                    insertedCount = unique.size();
                 } else {
-                    failedCount++;
-                    System.out.println(line.trim());
+                    for (String sorted : unique) {
+                        if (apply(true, sorted)) {
+                            insertedCount++;
+                        } else {
+                            failedCount++;
+                            reporter.println(sorted);
+                        }
+                    }
+                }
+            } else {
+                while ((key = reader.nextKey()) != null) {
+                    readCount++;
+                    boolean result = apply(true, key);
+                    if (result) {
+                        insertedCount++;
+                    } else {
+                        failedCount++;
+                        reporter.println(key);
+                    }
                 }
             }
-            System.out.println("Inserted successfully: " + insertedCount + " strings.");
+            syncLog(); // One group commit for the whole batch
+            reporter.println("Inserted successfully: " + insertedCount + " strings.");
             if (failedCount != 0) {
-                System.out.println("Failed to insert: " + failedCount + " strings.");
+                reporter.println("Failed to insert: " + failedCount + " strings.");
             }
-            System.out.println("Current size: " + dictionary.size());
+            reporter.println("Current size: " + size());
+        } catch (LogException e) {
+            System.err.println("Error writing log: " + e.getMessage());
         } catch (IOException e) {
             System.err.println("Error reading file: " + e.getMessage());
         }
         long end = System.nanoTime();
-        System.out.println("Batch Insert Time: " + (end - start) / 1_000_000.0 + " ms");
-                 dictionary.printdictinory();
+        reporter.println("Batch Insert Time: " + (end - start) / 1_000_000.0 + " ms");
+        printThroughput(readCount, end - start);
+        printMemory(gcMillis() - gcStart);
+        printContents();
     }
     
     public void batchDelete(String fileToDelete) {
+        long gcStart = gcMillis();
         long start = System.nanoTime();
-        try {
-            java.nio.file.Path path = java.nio.file.Paths.get(fileToDelete);
-            java.util.List<String> lines = java.nio.file.Files.readAllLines(path);
-            
+        int readCount = 0;
+        try (WordFileReader reader = new WordFileReader(java.nio.file.Paths.get(fileToDelete))) {
             int deletedCount = 0;
             int failedCount = 0;
+            String key;
             
-            for (String line : lines) {
-                boolean result = dictionary.delete(line.trim());
-                if (result) {
-                    deletedCount++;
-                } else {
-                    failedCount++;
+            if (mergeable) {
+                // Sorted chunks of at most BATCH_CHUNK keys, each removed with one join-based
+                // difference instead of m deletes
+                for (java.util.List<String> chunk = readSortedChunk(reader); !chunk.isEmpty(); chunk = readSortedChunk(reader)) {
+                    readCount += chunk.size();
+                    java.util.List<String> unique = new java.util.ArrayList<>(chunk.size());
+                    for (String sorted : chunk) {
+                        if (unique.isEmpty() || !unique.get(unique.size() - 1).equals(sorted)) {
+                            unique.add(sorted);
+                        }
+                    }
+                    Trees<String> batch = newMergeableTree();
+                    batch.buildFromSorted(unique);
+                    int removedCount = writeLocked(() -> {
+                        logAll(false, unique);
+                        java.util.Queue<String> removed = new java.util.concurrent.ConcurrentLinkedQueue<>();
+                        difference(batch, removed::add);
+                        track(false, new java.util.ArrayList<>(removed));
+                        return removed.size();
+                    });
+                    deletedCount += removedCount;
+                    failedCount += chunk.size() - removedCount; // Absent, or repeated in the file
+                }
+            } else {
+                while ((key = reader.nextKey()) != null) {
+                    readCount++;
+                    boolean result = apply(false, key);
+                    if (result) {
+                        deletedCount++;
+                    } else {
+                        failedCount++;
+                    }
                 }
             }
             
-            System.out.println("Deleted successfully: " + deletedCount + " strings.");
+            syncLog();
+            reporter.println("Deleted successfully: " + deletedCount + " strings.");
             if (failedCount != 0) {
-                System.out.println("Failed to delete: " + failedCount + " strings.");
+                reporter.println("Failed to delete: " + failedCount + " strings.");
             }
+        } catch (LogException e) {
+            System.err.println("Error writing log: " + e.getMessage());
         } catch (IOException e) {
             System.err.println("Error reading file: " + e.getMessage());
         }
         long end = System.nanoTime();
-        System.out.println("Batch Delete Time: " + (end - start) / 1_000_000.0 + " ms");
-                 dictionary.printdictinory();
+        reporter.println("Batch Delete Time: " + (end - start) / 1_000_000.0 + " ms");
+        printThroughput(readCount, end - start);
+        printMemory(gcMillis() - gcStart);
+        printContents();
+    }
+
+    // Write the dictionary to a binary snapshot (see BSTs.Snapshot) that loadSnapshot can restore.
+    // With a log open this is a checkpoint: the snapshot holds every logged mutation, so the log is
+    // emptied, and a restart must load this snapshot before replaying the log.
+    public void saveSnapshot(String snapshotFile) {
+        long start = System.nanoTime();
+        try {
+            java.nio.file.Path path = java.nio.file.Paths.get(snapshotFile);
+            WriteAheadLog current = log;
+            int count;
+            if (current != null) {
+                // The read lock keeps mutations out from the snapshot until the log is truncated
+                count = readLocked(() -> {
+                    int saved = Snapshot.save(dictionary, type, path);
+                    current.truncate();
+                    return saved;
+                });
+            } else {
+                count = lockFreeReads ? Snapshot.save(dictionary, type, path) : readLocked(() -> Snapshot.save(dictionary, type, path));
+            }
+            long end = System.nanoTime();
+            reporter.println("Saved " + count + " strings to " + snapshotFile);
+            if (current != null) {
+                reporter.println("Log truncated: replay it on top of this snapshot after a restart");
+            }
+            reporter.println("Snapshot Save Time: " + (end - start) / 1_000_000.0 + " ms");
+        } catch (IOException e) {
+            System.err.println("Error writing snapshot: " + e.getMessage());
+        }
+        reporter.flush();
+    }
+
+    // Restore an empty dictionary from a snapshot: one pass over the mapped file, then a linear-time build
+    public void loadSnapshot(String snapshotFile) {
+        long gcStart = gcMillis();
+        long start = System.nanoTime();
+        try {
+            java.nio.file.Path path = java.nio.file.Paths.get(snapshotFile);
+            // Only an empty dictionary can load, so holding the write lock for the whole read costs
+            // nothing, and lets the off-heap backend stream keys from the file into its arena
+            String savedFrom = writeLocked(() -> {
+                if (dictionary.size() != 0) {
+                    return null;
+                }
+                if (log == null) {
+                    String backend = Snapshot.load(path, dictionary);
+                    if (index != null || filter != null) {
+                        java.util.List<String> loaded = new java.util.ArrayList<>(dictionary.size());
+                        dictionary.ascendingIterator().forEachRemaining(loaded::add);
+                        track(true, loaded);
+                    }
+                    return backend;
+                }
+                // With a log open the loaded keys are logged like any other insert
+                Snapshot snapshot = Snapshot.read(path);
+                logAll(true, snapshot.keys());
+                dictionary.buildFromSorted(snapshot.keys());
+                track(true, snapshot.keys());
+                return snapshot.backend();
+            });
+            syncLog();
+            long end = System.nanoTime();
+            if (savedFrom == null) {
+                reporter.println("\u001B[31m The dictionary must be empty to load a snapshot ❌\u001B[0m");
+                reporter.flush();
+                return;
+            }
+            int loaded = size();
+            reporter.println("Loaded " + loaded + " strings (saved from " + savedFrom + ")");
+            reporter.println("Snapshot Load Time: " + (end - start) / 1_000_000.0 + " ms");
+            printThroughput(loaded, end - start);
+            printMemory(gcMillis() - gcStart);
+        } catch (IOException e) {
+            System.err.println("Error reading snapshot: " + e.getMessage());
+        }
+        reporter.flush();
+    }
+
+    // Make inserts and deletes durable through a write-ahead log at logFile. Records already in the
+    // file are replayed first, so open it after loading the snapshot it was last truncated at.
+    // Mutations that arrive within commitIntervalMicros of each other share one force() to disk.
+    public void openLog(String logFile, long commitIntervalMicros) {
+        long start = System.nanoTime();
+        try {
+            int[] replayed = {0};
+            WriteAheadLog opened = writeLocked(() -> {
+                closeLog();
+                return WriteAheadLog.open(java.nio.file.Paths.get(logFile),
+                        java.util.concurrent.TimeUnit.MICROSECONDS.toNanos(commitIntervalMicros), (insert, key) -> {
+                            replayed[0]++;
+                            change(insert, key);
+                        });
+            });
+            log = opened;
+            long end = System.nanoTime();
+            reporter.println("Replayed " + replayed[0] + " log records from " + logFile);
+            reporter.println("Current size: " + size());
+            reporter.println("Log Replay Time: " + (end - start) / 1_000_000.0 + " ms");
+        } catch (IOException e) {
+            System.err.println("Error opening log: " + e.getMessage());
+        }
+        reporter.flush();
+    }
+
+    // Log, then apply, one mutation under the write lock, and wait for it to be durable outside it
+    private boolean mutate(boolean insert, String key) throws IOException {
+        boolean changed = apply(insert, key);
+        syncLog();
+        return changed;
+    }
+
+    // Log-then-apply without waiting for the disk; batches sync once at the end
+    private boolean apply(boolean insert, String key) throws IOException {
+        if (log == null) {
+            return write(() -> change(insert, key));
+        }
+        return writeLocked(() -> {
+            logAll(insert, java.util.Collections.singletonList(key));
+            return change(insert, key);
+        });
+    }
+
+    // Caller holds the write lock. In hybrid mode the index says whether the key is there, so a
+    // duplicate insert or the delete of a missing key never descends the tree; the filter can
+    // only vouch for absence, which spares the descent when deleting a missing key.
+    private boolean change(boolean insert, String key) {
+        if (index != null) {
+            if (index.contains(key) == insert) {
+                return false;
+            }
+        } else if (filter != null && !insert && !filter.mightContain(key)) {
+            return false;
+        }
+        boolean changed = insert ? dictionary.insert(key) : dictionary.delete(key);
+        if (changed) {
+            track(insert, java.util.Collections.singletonList(key));
+        }
+        return changed;
+    }
+
+    // Caller holds the write lock; keys were just added to (or removed from) the tree. The filter
+    // counts, so it must see each key exactly once.
+    private void track(boolean insert, java.util.List<String> keys) {
+        if (index != null) {
+            if (insert) index.addAll(keys); else index.removeAll(keys);
+        }
+        if (filter != null) {
+            for (String key : keys) {
+                if (insert) filter.add(key); else filter.remove(key);
+            }
+            if (filter.isOverloaded()) {
+                // Past its sized load the false-positive rate climbs: rebuild for twice the keys,
+                // which keeps the cost of rebuilding amortized O(1) per insert
+                CountingBloomFilter<String> grown = new CountingBloomFilter<>(2 * dictionary.size(), FILTER_FALSE_POSITIVE_RATE);
+                dictionary.ascendingIterator().forEachRemaining(grown::add);
+                filter = grown;
+            }
+        }
+    }
+
+    // Caller holds the write lock
+    private void logAll(boolean insert, java.util.List<String> keys) throws LogException {
+        WriteAheadLog current = log;
+        if (current == null) {
+            return;
+        }
+        try {
+            for (String key : keys) {
+                current.append(insert, key);
+            }
+        } catch (IOException e) {
+            throw new LogException(e);
+        }
+    }
+
+    private void syncLog() throws LogException {
+        WriteAheadLog current = log;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.sync();
+        } catch (IOException e) {
+            throw new LogException(e);
+        }
+    }
+
+    // Caller holds the write lock (or the dictionary is being closed)
+    private void closeLog() throws IOException {
+        WriteAheadLog current = log;
+        log = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    // Log failures, told apart from errors reading the input file
+    private static final class LogException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        LogException(IOException cause) {
+            super(cause.getMessage(), cause);
+        }
+    }
+
+    // Next keys of a batch file, sorted, at most BATCH_CHUNK of them; empty at the end of the file
+    private static java.util.List<String> readSortedChunk(WordFileReader reader) throws IOException {
+        java.util.List<String> chunk = new java.util.ArrayList<>();
+        String key;
+        while (chunk.size() < BATCH_CHUNK && (key = reader.nextKey()) != null) {
+            chunk.add(key);
+        }
+        java.util.Collections.sort(chunk);
+        return chunk;
+    }
+
+    // Adds a sorted, duplicate-free chunk with one union and returns how many keys were new.
+    // Keys already present go into existing, sorted; the union's splits find them, so nothing is
+    // searched twice.
+    private int mergeChunk(java.util.List<String> unique, java.util.List<String> existing) throws IOException {
+        Trees<String> batch = newMergeableTree();
+        batch.buildFromSorted(unique);
+        return writeLocked(() -> {
+            logAll(true, unique);
+            java.util.Queue<String> present = new java.util.concurrent.ConcurrentLinkedQueue<>();
+            union(batch, present::add);
+            existing.addAll(present);
+            java.util.Collections.sort(existing);
+            java.util.List<String> added = new java.util.ArrayList<>(unique.size() - existing.size());
+            int next = 0;
+            for (String key : unique) {
+                if (next < existing.size() && existing.get(next).equals(key)) {
+                    next++;
+                } else {
+                    added.add(key);
+                }
+            }
+            track(true, added);
+            return added.size();
+        });
+    }
+
+    private Trees<String> newMergeableTree() {
+        return dictionary instanceof AVL ? new AVL<>() : new RedBlackTree<>();
+    }
+
+    private void union(Trees<String> batch, java.util.function.Consumer<String> present) {
+        if (dictionary instanceof AVL) {
+            ((AVL<String>) dictionary).union((AVL<String>) batch, present);
+        } else {
+            ((RedBlackTree<String>) dictionary).union((RedBlackTree<String>) batch, present);
+        }
+    }
+
+    private void difference(Trees<String> batch, java.util.function.Consumer<String> removed) {
+        if (dictionary instanceof AVL) {
+            ((AVL<String>) dictionary).difference((AVL<String>) batch, removed);
+        } else {
+            ((RedBlackTree<String>) dictionary).difference((RedBlackTree<String>) batch, removed);
+        }
+    }
+
+    // Tree reads: lock-free for persistent backends, exclusive for the splay tree, otherwise optimistic
+    private <R> R read(Supplier<R> op) {
+        if (lockFreeReads) {
+            return op.get();
+        }
+        if (selfAdjusting) {
+            return write(op);
+        }
+        return optimisticRead(op);
+    }
+
+    // Reads that iterate or visit many nodes; WAVL's height walks the whole tree. Links seen without
+    // the lock may be torn, even cyclic, and an iterator would push onto its stack forever before
+    // any validate, so these never run optimistically.
+    private <R> R walk(Supplier<R> op) {
+        if (lockFreeReads) {
+            return op.get();
+        }
+        if (selfAdjusting) {
+            return write(op);
+        }
+        long stamp = lock.readLock();
+        try {
+            return op.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Optimistic read: run without blocking and keep the result only if no writer got in meanwhile.
+    // Tree fields are plain, so a racing reader may see a rotation's stores in any order and follow
+    // a misrouted or cyclic path. Only bounded work may come here: a search stops with an exception
+    // past its backend's height bound, and any exception falls back to the read lock. Hash index
+    // and filter lookups come straight here: they leave even a splay tree untouched.
+    private <R> R optimisticRead(Supplier<R> op) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                R result = op.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // Concurrent mutation observed mid-traversal; retry below under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return op.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Locked variants for file work, which can throw IOException where Supplier cannot
+    private <R> R readLocked(IOSupplier<R> op) throws IOException {
+        long stamp = lock.readLock();
+        try {
+            return op.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <R> R writeLocked(IOSupplier<R> op) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            return op.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private interface IOSupplier<R> {
+        R get() throws IOException;
+    }
+
+    private <R> R write(Supplier<R> op) {
+        long stamp = lock.writeLock();
+        try {
+            return op.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Printing walks the whole tree, so it needs a stable view but must not exclude other readers.
+    // Ends every mutation, so it also hands the operation's report to the sink.
+    private void printContents() {
+        if (reporter.enabled()) {
+            if (lockFreeReads) {
+                reporter.printContents(dictionary);
+            } else {
+                long stamp = lock.readLock();
+                try {
+                    reporter.printContents(dictionary);
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+        }
+        reporter.flush();
+    }
+
+    // Syncs and closes the log, and waits for buffered report output to be written
+    @Override
+    public void close() {
+        try {
+            writeLocked(() -> {
+                closeLog();
+                return null;
+            });
+        } catch (IOException e) {
+            System.err.println("Error closing log: " + e.getMessage());
+        }
+        if (dictionary instanceof java.io.Closeable) {
+            try {
+                writeLocked(() -> {
+                    ((java.io.Closeable) dictionary).close();
+                    return null;
+                });
+            } catch (IOException e) {
+                System.err.println("Error closing page file: " + e.getMessage());
+            }
+        }
+        reporter.close();
+    }
+
+    private void printThroughput(int keys, long nanos) {
+        if (nanos > 0) {
+            reporter.println(String.format("Throughput: %,.0f keys/sec", keys / (nanos / 1_000_000_000.0)));
+        }
+    }
+
+    // Heap in use now, GC time spent during the batch, and off-heap storage for the off-heap backend
+    private void printMemory(long gcPauseMillis) {
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        reporter.println(String.format("Heap used: %,.1f MB", heapUsed / (1024.0 * 1024.0)));
+        reporter.println("GC pause time: " + gcPauseMillis + " ms");
+        if (dictionary instanceof OffHeapAVL) {
+            long offHeap = read(((OffHeapAVL) dictionary)::offHeapBytes);
+            reporter.println(String.format("Off-heap used: %,.1f MB", offHeap / (1024.0 * 1024.0)));
+        }
+        if (index != null) {
+            int[] slots = optimisticRead(() -> new int[] {index.size(), index.capacity()});
+            reporter.println(String.format("Hash index: %,d keys in %,d slots", slots[0], slots[1]));
+        }
+        if (filter != null) {
+            printFilterStats();
+        }
+    }
+
+    // Memory of the filter, the rate it should show at its current load, and the rate it has shown:
+    // of the searches for absent keys, the share it let through to the tree
+    private void printFilterStats() {
+        double[] stats = optimisticRead(() -> new double[] {filter.memoryBytes(), filter.expectedFalsePositiveRate()});
+        long rejected = filterRejections.sum();
+        long falsePositives = filterFalsePositives.sum();
+        long misses = rejected + falsePositives;
+        String observed = misses == 0 ? "n/a" : String.format("%.2f%%", 100.0 * falsePositives / misses);
+        reporter.println(String.format("Bloom filter: %,.1f KB, expected false positives %.2f%%, observed %s (%,d of %,d misses)",
+                stats[0] / 1024.0, 100 * stats[1], observed, falsePositives, misses));
+    }
+
+    // Total collection time reported by every collector since JVM start
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
     }
     
 
@@ -0,0 +1,75 @@
+import BSTs.Trees;
+import java.io.Closeable;
+import java.util.Iterator;
+
+// Where DictionaryImplementation sends its result lines and contents dumps. The console sink
+// prints in place as before; the silent sink drops everything (and lets callers skip the
+// contents walk); the async sink batches lines, prints them on a background thread, and reports
+// only the size in place of a contents dump.
+public interface Reporter extends Closeable {
+    void println(String line);
+
+    // False when output is discarded, so callers can skip work that only feeds the report
+    default boolean enabled() {
+        return true;
+    }
+
+    // Caller holds whatever lock keeps the dictionary stable for the walk
+    default void printContents(Trees<String> dictionary) {
+        println("Dictionary contents (in-order traversal):");
+        if (dictionary.size() == 0) {
+            println("Dictionary is empty");
+            return;
+        }
+        println("Total words: " + dictionary.size());
+        println("--------------------------------------");
+        for (Iterator<String> keys = dictionary.ascendingIterator(); keys.hasNext(); ) {
+            println(keys.next());
+        }
+        println("--------------------------------------");
+    }
+
+    // Hand off anything buffered so far; called at the end of every operation
+    default void flush() {
+    }
+
+    @Override
+    default void close() {
+        flush();
+    }
+
+    static Reporter console() {
+        return new Reporter() {
+            @Override
+            public void println(String line) {
+                System.out.println(line);
+            }
+
+            @Override
+            public void printContents(Trees<String> dictionary) {
+                dictionary.printdictinory();
+            }
+        };
+    }
+
+    static Reporter silent() {
+        return new Reporter() {
+            @Override
+            public void println(String line) {
+            }
+
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+
+            @Override
+            public void printContents(Trees<String> dictionary) {
+            }
+        };
+    }
+
+    static Reporter async() {
+        return new AsyncReporter(System.out, AsyncReporter.DEFAULT_BATCH);
+    }
+}
@@ -205,4 +205,152 @@ public class AVLtests {
         double logn = 1.44 * (Math.log(250 + 2) / Math.log(2)) - 0.328 + 1;
         assertTrue("AVL not balanced after deletions", height <= logn);
     }
+
+    @Test
+    public void testBuildFromSorted() {
+        java.util.List<Integer> keys = new java.util.ArrayList<>();
+        for (int i = 1; i <= 1000; i++) keys.add(i);
+        avl.buildFromSorted(keys);
+        assertEquals(1000, avl.size());
+        assertEquals(9, avl.height()); // floor(log2(1000))
+        java.util.List<Integer> inorder = new java.util.ArrayList<>();
+        avl.inorderTraversal(inorder::add);
+        assertEquals(keys, inorder);
+
+        // Heights must be correct for later rebalancing to keep working
+        for (int i = 1; i <= 1000; i += 2) assertTrue(avl.delete(i));
+        for (int i = 1001; i <= 1500; i++) assertTrue(avl.insert(i));
+        double logn = 1.44 * (Math.log(1000 + 2) / Math.log(2)) - 0.328 + 1;
+        assertTrue("AVL not balanced after bulk build", avl.height() <= logn);
+    }
+
+    @Test
+    public void testBuildFromSortedRejectsUnsortedAndNonEmpty() {
+        try {
+            avl.buildFromSorted(java.util.Arrays.asList(1, 3, 3));
+            fail("Duplicate keys should be rejected");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(0, avl.size());
+        avl.insert(1);
+        try {
+            avl.buildFromSorted(java.util.Arrays.asList(2, 3));
+            fail("Bulk build into a non-empty tree should be rejected");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testRankSelectMedian() {
+        TreeContract.rankSelectMedian(avl, n -> n);
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeContract.navigationAndBoundedIterators(avl, n -> n);
+    }
+
+    @Test
+    public void testSetOperations() {
+        // 6000 keys per side takes the parallel path, 300 the sequential one
+        for (int count : new int[]{300, 6000}) {
+            java.util.Random random = new java.util.Random(count);
+            java.util.TreeSet<Integer> a = new java.util.TreeSet<>();
+            java.util.TreeSet<Integer> b = new java.util.TreeSet<>();
+            while (a.size() < count) a.add(random.nextInt(count * 3));
+            while (b.size() < count) b.add(random.nextInt(count * 3));
+            for (int op = 0; op < 3; op++) {
+                AVL<Integer> left = new AVL<>();
+                AVL<Integer> right = new AVL<>();
+                left.buildFromSorted(new java.util.ArrayList<>(a));
+                for (int key : b) right.insert(key);
+                java.util.TreeSet<Integer> expected = new java.util.TreeSet<>(a);
+                if (op == 0) {
+                    left.union(right);
+                    expected.addAll(b);
+                } else if (op == 1) {
+                    left.intersection(right);
+                    expected.retainAll(b);
+                } else {
+                    left.difference(right);
+                    expected.removeAll(b);
+                }
+                assertEquals(new java.util.ArrayList<>(expected), TreeContract.drain(left.ascendingIterator()));
+                assertEquals(expected.size(), left.size());
+                assertTrue(left.height() <= 1.45 * (Math.log(left.size() + 2) / Math.log(2)));
+                for (int k = 0; k < expected.size(); k += 97) {
+                    assertEquals(k, left.rank(left.select(k)));
+                }
+                assertEquals(0, right.size()); // other is consumed
+                assertTrue(right.insert(1)); // ...but stays usable
+                assertTrue(left.insert(-1));
+                assertTrue(left.delete(-1));
+            }
+        }
+    }
+
+    // The keys union and difference hand back are exactly those in both trees, on both paths
+    @Test
+    public void testSetOperationsReportCommonKeys() {
+        for (int count : new int[]{300, 6000}) {
+            java.util.Random random = new java.util.Random(count + 1);
+            java.util.TreeSet<Integer> a = new java.util.TreeSet<>();
+            java.util.TreeSet<Integer> b = new java.util.TreeSet<>();
+            while (a.size() < count) a.add(random.nextInt(count * 3));
+            while (b.size() < count) b.add(random.nextInt(count * 3));
+            java.util.TreeSet<Integer> common = new java.util.TreeSet<>(a);
+            common.retainAll(b);
+            for (boolean union : new boolean[]{true, false}) {
+                AVL<Integer> left = new AVL<>();
+                AVL<Integer> right = new AVL<>();
+                left.buildFromSorted(new java.util.ArrayList<>(a));
+                right.buildFromSorted(new java.util.ArrayList<>(b));
+                java.util.Queue<Integer> reported = new java.util.concurrent.ConcurrentLinkedQueue<>();
+                if (union) {
+                    left.union(right, reported::add);
+                } else {
+                    left.difference(right, reported::add);
+                }
+                java.util.List<Integer> sorted = new java.util.ArrayList<>(reported);
+                java.util.Collections.sort(sorted);
+                assertEquals(new java.util.ArrayList<>(common), sorted);
+                assertEquals(union ? a.size() + b.size() - common.size() : a.size() - common.size(), left.size());
+            }
+        }
+    }
+
+    @Test
+    public void testSplitAndJoin() {
+        AVL<Integer> tree = new AVL<>();
+        for (int i = 0; i < 1000; i += 2) tree.insert(i);
+        AVL<Integer> greater = new AVL<>();
+        assertTrue(tree.split(500, greater));
+        assertEquals(250, tree.size());
+        assertEquals(249, greater.size());
+        assertEquals(Integer.valueOf(498), tree.last());
+        assertEquals(Integer.valueOf(502), greater.first());
+        assertFalse(tree.search(500));
+
+        tree.join(500, greater);
+        assertEquals(500, tree.size());
+        assertEquals(0, greater.size());
+        assertEquals(250, tree.rank(500));
+        for (int i = 0; i < 1000; i += 2) assertTrue(tree.search(i));
+
+        // Keys of greater must all be larger than the joined key
+        greater.insert(100);
+        try {
+            tree.join(1000, greater);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(500, tree.size());
+            assertEquals(1, greater.size());
+        }
+        try {
+            tree.split(10, greater);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(500, tree.size());
+        }
+    }
 }
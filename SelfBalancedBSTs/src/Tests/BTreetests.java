@@ -0,0 +1,146 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import BSTs.BTree;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class BTreetests {
+    private BTree<Integer> tree;
+
+    @Before
+    public void setUp() {
+        tree = new BTree<>();
+    }
+
+    @Test
+    public void testInsertSearchDelete() {
+        TreeContract.insertSearchDelete(tree, n -> n);
+        assertEquals(1, tree.height()); // Both keys fit in the root
+    }
+
+    @Test
+    public void testNullKeyAndDegreeThrow() {
+        try {
+            tree.insert(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Key cannot be null", e.getMessage());
+        }
+        try {
+            new BTree<Integer>(1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Minimum degree must be at least 2", e.getMessage());
+        }
+    }
+
+    // Degrees 2 and 3 make every node nearly full or nearly minimal, which exercises each split,
+    // borrow and merge case; 32 is the default
+    @Test
+    public void testMatchesTreeSetAcrossDegrees() {
+        for (int degree : new int[] {2, 3, 32}) {
+            BTree<Integer> btree = new BTree<>(degree);
+            TreeContract.matchesTreeSet(btree, n -> n, degree, 40000);
+            for (int key : TreeContract.drain(btree.ascendingIterator())) {
+                assertTrue(btree.delete(key));
+            }
+            assertEquals(0, btree.size());
+            assertEquals(0, btree.height());
+        }
+    }
+
+    @Test
+    public void testHeightStaysLowForSortedInput() {
+        for (int i = 0; i < 1_000_000; i++) {
+            tree.insert(i);
+        }
+        // Sorted inserts leave nodes half full, so up to 32 keys per node: still 4 levels
+        assertTrue("height " + tree.height(), tree.height() <= 4);
+        assertEquals(Integer.valueOf(499_999), tree.median());
+        for (int i = 999_999; i >= 0; i -= 2) {
+            assertTrue(tree.delete(i));
+        }
+        assertEquals(500_000, tree.size());
+        assertEquals(Integer.valueOf(0), tree.first());
+        assertEquals(Integer.valueOf(999_998), tree.last());
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeContract.navigationAndBoundedIterators(tree, n -> n);
+        TreeContract.navigationAndBoundedIterators(new BTree<Integer>(2), n -> n);
+    }
+
+    // At minimum degree 2 a node holds 1 to 3 keys. The fourth insert splits the full root; deletes
+    // that leave both children at one key merge them back into the root. Under mixed updates the
+    // height stays within the B-tree bounds log_2t(n + 1) <= h <= 1 + log_t((n + 1) / 2), i.e. no
+    // node ever overflows or is left below t - 1 keys.
+    @Test
+    public void testSplitsAndMergesAtMinimumDegree() {
+        BTree<Integer> small = new BTree<>(2);
+        for (int i = 1; i <= 3; i++) {
+            small.insert(i);
+        }
+        assertEquals(1, small.height());
+        small.insert(4);
+        assertEquals(2, small.height()); // Root [2] over [1] and [3, 4]
+        assertTrue(small.delete(4));
+        assertEquals(2, small.height()); // [3, 4] had a key to spare
+        assertTrue(small.delete(1));
+        assertEquals(1, small.height()); // [1], 2 and [3] merged into one root leaf
+        assertEquals(Arrays.asList(2, 3), TreeContract.drain(small.ascendingIterator()));
+
+        for (int degree : new int[] {2, 3}) {
+            BTree<Integer> btree = new BTree<>(degree);
+            Random random = new Random(degree);
+            for (int i = 0; i < 20000; i++) {
+                int key = random.nextInt(3000);
+                if (random.nextInt(5) < 3) btree.insert(key); else btree.delete(key);
+                int n = btree.size();
+                int height = btree.height();
+                double lower = Math.log(n + 1) / Math.log(2 * degree);
+                double upper = 1 + Math.log((n + 1) / 2.0) / Math.log(degree);
+                assertTrue("n " + n + ", height " + height, height >= lower - 1e-9 && height <= upper + 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testBuildFromSorted() {
+        for (int count : new int[] {0, 1, 62, 63, 64, 4095, 4096, 100_000}) {
+            BTree<Integer> built = new BTree<>();
+            List<Integer> keys = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                keys.add(i * 2);
+            }
+            built.buildFromSorted(keys);
+            assertEquals(count, built.size());
+            List<Integer> contents = new ArrayList<>();
+            built.ascendingIterator().forEachRemaining(contents::add);
+            assertEquals(keys, contents);
+            if (count > 0) {
+                assertEquals(Integer.valueOf((count - 1) / 2 * 2), built.median());
+                assertEquals(count - 1, built.rank(keys.get(count - 1)));
+            }
+            // The built tree keeps working: inserts between keys, then deletes of every original key
+            for (int i = 0; i < count; i += 3) {
+                assertTrue(built.insert(i * 2 + 1));
+            }
+            for (int key : keys) {
+                assertTrue(built.delete(key));
+            }
+            assertEquals((count + 2) / 3, built.size());
+        }
+        try {
+            tree.buildFromSorted(Arrays.asList(1, 3, 2));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, tree.size());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import BSTs.ConcurrentAVL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ConcurrentAVLtests {
+    private ConcurrentAVL<Integer> avl;
+
+    @Before
+    public void setUp() {
+        avl = new ConcurrentAVL<>();
+    }
+
+    @Test
+    public void testInsertAndSearch() {
+        assertTrue(avl.insert(10));
+        assertTrue(avl.insert(20));
+        assertTrue(avl.insert(5));
+        assertTrue(avl.search(10));
+        assertTrue(avl.search(20));
+        assertTrue(avl.search(5));
+        assertFalse(avl.search(99));
+        assertFalse(avl.insert(10)); // Duplicate insert
+    }
+
+    @Test
+    public void testDelete() {
+        avl.insert(15);
+        avl.insert(10);
+        avl.insert(20);
+        assertTrue(avl.delete(15)); // Two children: becomes a routing node
+        assertFalse(avl.search(15));
+        assertFalse(avl.delete(15)); // Already deleted
+        assertTrue(avl.insert(15)); // Revives the routing node
+        assertTrue(avl.search(15));
+        assertTrue(avl.delete(10));
+        assertTrue(avl.delete(20));
+        assertTrue(avl.delete(15));
+        assertEquals(0, avl.size());
+        assertEquals(-1, avl.height());
+    }
+
+    @Test
+    public void testEmptyTreeProperties() {
+        assertEquals(0, avl.size());
+        assertFalse(avl.search(100));
+        assertFalse(avl.delete(100));
+        assertEquals(-1, avl.height());
+    }
+
+    @Test
+    public void testHeightMatchesAVL() {
+        BSTs.AVL<Integer> reference = new BSTs.AVL<>();
+        for (int i = 1; i <= 1000; i++) {
+            avl.insert(i);
+            reference.insert(i);
+        }
+        double logn = 1.44 * (Math.log(1000 + 2) / Math.log(2)) - 0.328 + 1;
+        assertTrue("Concurrent AVL not balanced after insertions: " + avl.height(), avl.height() <= logn);
+        assertEquals(reference.height(), avl.height());
+    }
+
+    @Test
+    public void testInorderAfterRandomOperations() {
+        java.util.Set<Integer> set = new java.util.TreeSet<>();
+        java.util.Random rand = new java.util.Random(789);
+        for (int i = 0; i < 5000; i++) {
+            int num = rand.nextInt(1000);
+            if (rand.nextInt(3) == 0) {
+                assertEquals(set.remove(num), avl.delete(num));
+            } else {
+                assertEquals(set.add(num), avl.insert(num));
+            }
+        }
+        java.util.List<Integer> inorder = new java.util.ArrayList<>();
+        avl.inorderTraversal(inorder::add);
+        assertEquals(new java.util.ArrayList<>(set), inorder);
+        assertEquals(set.size(), avl.size());
+    }
+
+    @Test
+    public void testConcurrentUpdatesAndSearches() throws Exception {
+        final int threads = 4;
+        final int range = 2000;
+        // Keys below range/2 stay present the whole time and must always be found
+        for (int i = 0; i < range / 2; i++) avl.insert(i);
+
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(threads * 2);
+        java.util.concurrent.atomic.AtomicBoolean missed = new java.util.concurrent.atomic.AtomicBoolean();
+        java.util.List<java.util.concurrent.Future<?>> futures = new java.util.ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            futures.add(pool.submit(() -> {
+                // Each writer owns the churn keys congruent to its id and ends with the even ones present
+                java.util.Random rand = new java.util.Random(id);
+                for (int i = 0; i < 20000; i++) {
+                    int key = range / 2 + threads * rand.nextInt(range / 2 / threads) + id;
+                    if (rand.nextBoolean()) avl.insert(key); else avl.delete(key);
+                }
+                for (int key = range / 2 + id; key < range; key += threads) {
+                    if (key % 2 == 0) avl.insert(key); else avl.delete(key);
+                }
+            }));
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 50000; i++) {
+                    if (!avl.search(i % (range / 2))) missed.set(true);
+                }
+            }));
+        }
+        for (java.util.concurrent.Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        assertFalse("A permanently present key was not found", missed.get());
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < range; i++) {
+            if (i < range / 2 || i % 2 == 0) expected.add(i);
+        }
+        java.util.List<Integer> inorder = new java.util.ArrayList<>();
+        avl.inorderTraversal(inorder::add);
+        assertEquals(expected, inorder);
+        assertEquals(expected.size(), avl.size());
+        double logn = 1.44 * (Math.log(range + 2) / Math.log(2)) - 0.328 + 1;
+        assertTrue("Concurrent AVL not balanced after concurrent updates: " + avl.height(), avl.height() <= logn);
+    }
+
+    @Test
+    public void testIteratorsAndNavigationStayOrderedUnderConcurrentWriters() throws Exception {
+        final int writers = 8;
+        final int range = 3000;
+        // Multiples of 3 stay present the whole time; writers churn the other keys, rotating constantly
+        for (int i = 0; i < range; i += 3) avl.insert(i);
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        List<Future<?>> writerFutures = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            final int id = t;
+            writerFutures.add(pool.submit(() -> {
+                Random rand = new Random(id);
+                for (int i = 0; i < 200000; i++) {
+                    int key = rand.nextInt(range);
+                    if (key % 3 == 0) continue;
+                    if (rand.nextBoolean()) avl.insert(key); else avl.delete(key);
+                }
+            }));
+        }
+        List<Future<?>> readerFutures = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            final int id = t;
+            readerFutures.add(pool.submit(() -> {
+                Random rand = new Random(100 + id);
+                while (!done.get() && failure.get() == null) {
+                    int from = rand.nextInt(range);
+                    int to = from + rand.nextInt(range - from);
+                    checkRange(avl.ascendingIterator(from, true, to, false), true, from, to, failure);
+                    checkRange(avl.descendingIterator(to, true, from, false), false, to, from, failure);
+                    int k = rand.nextInt(range);
+                    int stableUp = (k + 2) / 3 * 3;
+                    int stableDown = k / 3 * 3;
+                    Integer ceiling = avl.ceiling(k);
+                    Integer floor = avl.floor(k);
+                    Integer higher = avl.higher(k);
+                    Integer lower = avl.lower(k);
+                    if (stableUp < range && (ceiling == null || ceiling < k || ceiling > stableUp)) {
+                        failure.compareAndSet(null, "ceiling(" + k + ") = " + ceiling);
+                    }
+                    if (floor == null || floor > k || floor < stableDown) {
+                        failure.compareAndSet(null, "floor(" + k + ") = " + floor);
+                    }
+                    if (k + 3 < range && (higher == null || higher <= k || higher > (k + 3) / 3 * 3)) {
+                        failure.compareAndSet(null, "higher(" + k + ") = " + higher);
+                    }
+                    if (k >= 3 && (lower == null || lower >= k || lower < (k - 1) / 3 * 3)) {
+                        failure.compareAndSet(null, "lower(" + k + ") = " + lower);
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : writerFutures) f.get();
+        done.set(true);
+        for (Future<?> f : readerFutures) f.get();
+        pool.shutdown();
+        assertNull(failure.get(), failure.get());
+    }
+
+    // Keys must be strictly ordered, inside [from, to) in iteration order, and include every multiple of 3 there
+    private static void checkRange(Iterator<Integer> keys, boolean ascending, int from, int to, AtomicReference<String> failure) {
+        Integer previous = null;
+        int stable = ascending ? (from + 2) / 3 * 3 : from / 3 * 3;
+        while (keys.hasNext()) {
+            int key = keys.next();
+            boolean inRange = ascending ? key >= from && key < to : key <= from && key > to;
+            boolean ordered = previous == null || (ascending ? key > previous : key < previous);
+            if (!inRange || !ordered) {
+                failure.compareAndSet(null, "Range " + from + ".." + to + " returned " + key + " after " + previous);
+                return;
+            }
+            if (ascending ? key > stable : key < stable) {
+                failure.compareAndSet(null, "Range " + from + ".." + to + " skipped " + stable);
+                return;
+            }
+            if (key == stable) {
+                stable += ascending ? 3 : -3;
+            }
+            previous = key;
+        }
+        if (ascending ? stable < to : stable > to) {
+            failure.compareAndSet(null, "Range " + from + ".." + to + " ended before " + stable);
+        }
+    }
+
+    @Test
+    public void testRankSelectMedian() {
+        TreeContract.rankSelectMedian(avl, n -> n);
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeContract.navigationAndBoundedIterators(avl, n -> n);
+    }
+}
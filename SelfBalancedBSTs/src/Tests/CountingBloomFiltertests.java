@@ -0,0 +1,93 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import BSTs.CountingBloomFilter;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class CountingBloomFiltertests {
+
+    @Test
+    public void testAddedKeysAreNeverRuledOut() {
+        CountingBloomFilter<Integer> filter = new CountingBloomFilter<>(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(i * 7);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(i * 7));
+        }
+        assertEquals(10_000, filter.size());
+        assertFalse(filter.isOverloaded());
+        assertEquals(7, filter.hashCount());
+    }
+
+    // At its sized load the filter should let through about the target share of absent keys
+    @Test
+    public void testFalsePositiveRateNearTarget() {
+        CountingBloomFilter<String> filter = new CountingBloomFilter<>(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filter.add("word" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent" + i)) falsePositives++;
+        }
+        double observed = falsePositives / 100_000.0;
+        assertTrue("observed " + observed, observed < 0.02);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.002);
+        // About 9.6 four-bit counters per key
+        assertTrue("bytes " + filter.memoryBytes(), filter.memoryBytes() < 50_000 * 5 + 64);
+    }
+
+    // Deletes keep every remaining key visible, and the removed ones drop back out
+    @Test
+    public void testRemoveMatchesHashSet() {
+        CountingBloomFilter<Integer> filter = new CountingBloomFilter<>(5000, 0.01);
+        Set<Integer> reference = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(5000);
+            if (random.nextBoolean()) {
+                if (reference.add(key)) filter.add(key);
+            } else if (reference.remove(key)) {
+                assertTrue(filter.remove(key));
+            }
+        }
+        assertEquals(reference.size(), filter.size());
+        int ruledOut = 0;
+        for (int key = 0; key < 5000; key++) {
+            if (reference.contains(key)) {
+                assertTrue(filter.mightContain(key));
+            } else if (!filter.mightContain(key)) {
+                ruledOut++;
+            }
+        }
+        assertTrue("ruled out " + ruledOut, ruledOut > (5000 - reference.size()) * 0.9);
+        assertFalse(filter.remove(-1)); // Never added: certainly absent, nothing changes
+        assertEquals(reference.size(), filter.size());
+    }
+
+    @Test
+    public void testOverloadAndArgumentChecks() {
+        CountingBloomFilter<Integer> filter = new CountingBloomFilter<>(0, 0.01);
+        assertEquals(64, filter.capacity());
+        for (int i = 0; i <= 64; i++) {
+            filter.add(i);
+        }
+        assertTrue(filter.isOverloaded());
+        try {
+            new CountingBloomFilter<Integer>(100, 1.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("False positive rate must be between 0 and 1: 1.0", e.getMessage());
+        }
+        try {
+            filter.add(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Key cannot be null", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import BSTs.DiskBPlusTree;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class DiskBPlusTreetests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+    // Small pages and the smallest pool, so a few thousand keys already mean several levels and constant eviction
+    private DiskBPlusTree<String> tree;
+
+    @Before
+    public void setUp() throws IOException {
+        file = folder.getRoot().toPath().resolve("tree.pages");
+        tree = new DiskBPlusTree<>(file, DiskBPlusTree.STRINGS, 256, 8);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        tree.close();
+    }
+
+    @Test
+    public void testInsertSearchDelete() {
+        assertTrue(tree.insert("mango"));
+        assertTrue(tree.insert("apple"));
+        assertTrue(tree.insert("zebra"));
+        assertFalse(tree.insert("apple")); // Duplicate insert
+        assertTrue(tree.search("mango"));
+        assertFalse(tree.search("man"));
+        assertEquals(3, tree.size());
+        assertTrue(tree.delete("mango"));
+        assertFalse(tree.delete("mango")); // Already deleted
+        assertFalse(tree.search("mango"));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    public void testRejectsNullAndOversizedKeys() {
+        try {
+            tree.insert(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Key cannot be null", e.getMessage());
+        }
+        try {
+            tree.insert("x".repeat(100)); // More than a quarter of a 256-byte page
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, tree.size());
+        }
+    }
+
+    @Test
+    public void testMatchesTreeSetThroughSplitsMergesAndEviction() {
+        TreeSet<String> reference = new TreeSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 30000; i++) {
+            // Mixed key lengths make splits and redistributions uneven
+            String key = Integer.toString(random.nextInt(4000), 36) + "-".repeat(random.nextInt(20));
+            switch (random.nextInt(3)) {
+                case 0: assertEquals(reference.add(key), tree.insert(key)); break;
+                case 1: assertEquals(reference.remove(key), tree.delete(key)); break;
+                default: assertEquals(reference.contains(key), tree.search(key));
+            }
+        }
+        assertEquals(reference.size(), tree.size());
+        assertTrue(tree.height() >= 3);
+        assertTrue(tree.pageReads() > 0);
+        assertContents(reference, tree);
+        int k = 0;
+        for (String key : reference) {
+            assertEquals(k, tree.rank(key));
+            assertEquals(key, tree.select(k++));
+        }
+
+        // Emptying the tree shrinks it back to a single leaf
+        for (String key : new ArrayList<>(reference)) {
+            assertTrue(tree.delete(key));
+        }
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.height());
+        assertTrue(tree.insert("again"));
+        assertEquals(1, tree.height());
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeSet<String> reference = new TreeSet<>();
+        for (int i = 0; i < 2000; i += 2) {
+            String key = String.format("%05d", i);
+            reference.add(key);
+            tree.insert(key);
+        }
+        for (int i = -1; i <= 2001; i += 7) {
+            String key = String.format("%05d", Math.max(i, 0));
+            assertEquals(reference.floor(key), tree.floor(key));
+            assertEquals(reference.ceiling(key), tree.ceiling(key));
+            assertEquals(reference.higher(key), tree.higher(key));
+            assertEquals(reference.lower(key), tree.lower(key));
+        }
+        assertEquals(reference.first(), tree.first());
+        assertEquals(reference.last(), tree.last());
+        assertRange(reference.subSet("00100", true, "00200", false), tree.ascendingIterator("00100", true, "00200", false));
+        assertRange(reference.subSet("00099", false, "00201", true), tree.ascendingIterator("00099", false, "00201", true));
+        assertRange(reference.subSet("00100", true, "00300", true).descendingSet(), tree.descendingIterator("00300", true, "00100", true));
+        assertRange(reference.headSet("00051", false).descendingSet(), tree.descendingIterator("00051", false, null, true));
+        assertFalse(tree.ascendingIterator("01999", false, null, true).hasNext());
+    }
+
+    @Test
+    public void testReopenAfterClose() throws IOException {
+        TreeSet<String> reference = new TreeSet<>();
+        Random random = new Random(7);
+        while (reference.size() < 3000) {
+            String key = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            reference.add(key);
+            tree.insert(key);
+        }
+        tree.close();
+        tree = new DiskBPlusTree<>(file, DiskBPlusTree.STRINGS, 256, 8);
+        assertEquals(reference.size(), tree.size());
+        assertContents(reference, tree);
+        assertEquals((reference.size() - 1) / 2, tree.rank(tree.median()));
+
+        Path other = folder.getRoot().toPath().resolve("words.txt");
+        Files.write(other, "apple\nbanana\n".getBytes());
+        try {
+            new DiskBPlusTree<>(other, DiskBPlusTree.STRINGS).close();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Not a B+tree file", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testBulkBuildLookupsReadOnePagePerLevel() throws IOException {
+        Path intFile = folder.getRoot().toPath().resolve("ints.pages");
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            keys.add(i * 3);
+        }
+        int height;
+        try (DiskBPlusTree<Integer> ints = new DiskBPlusTree<>(intFile, DiskBPlusTree.INTEGERS)) {
+            ints.buildFromSorted(keys);
+            assertEquals(keys.size(), ints.size());
+            height = ints.height();
+            assertEquals(3, height); // About 1200 keys per 8 KB leaf, 500 children per internal page
+        }
+        // A cold pool pays one read per level for the first lookup; after that the upper levels are cached
+        try (DiskBPlusTree<Integer> ints = new DiskBPlusTree<>(intFile, DiskBPlusTree.INTEGERS)) {
+            assertTrue(ints.search(300_000));
+            assertEquals(height, ints.pageReads());
+            assertFalse(ints.search(300_001)); // Same leaf: no read at all
+            assertEquals(height, ints.pageReads());
+            assertTrue(ints.search(2_999_997));
+            assertTrue(ints.pageReads() <= 2 * height - 1); // The root stays in the pool
+            assertEquals(999_999, ints.rank(2_999_997));
+            assertEquals(Integer.valueOf(1_500_000), ints.select(500_000));
+            assertTrue(ints.insert(1)); // Inserts into a built tree still work
+            assertEquals(Integer.valueOf(1), ints.higher(0));
+        }
+    }
+
+    private static void assertContents(TreeSet<String> expected, DiskBPlusTree<String> actual) {
+        assertRange(expected, actual.ascendingIterator());
+        assertRange(expected.descendingSet(), actual.descendingIterator());
+    }
+
+    private static void assertRange(NavigableSet<String> expected, Iterator<String> actual) {
+        List<String> keys = new ArrayList<>();
+        actual.forEachRemaining(keys::add);
+        assertEquals(new ArrayList<>(expected), keys);
+    }
+}
@@ -0,0 +1,97 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import BSTs.HashIndex;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class HashIndextests {
+    private HashIndex<Integer> index;
+
+    @Before
+    public void setUp() {
+        index = new HashIndex<>();
+    }
+
+    @Test
+    public void testAddContainsRemove() {
+        assertFalse(index.contains(7));
+        assertTrue(index.add(7));
+        assertTrue(index.add(8));
+        assertFalse(index.add(7)); // Duplicate add
+        assertTrue(index.contains(7));
+        assertEquals(2, index.size());
+        assertTrue(index.remove(7));
+        assertFalse(index.remove(7)); // Already removed
+        assertFalse(index.contains(7));
+        assertTrue(index.contains(8));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testNullKeyThrows() {
+        try {
+            index.contains(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Key cannot be null", e.getMessage());
+        }
+    }
+
+    // A small key range keeps the table dense with long probe runs, so removals constantly shift
+    // entries back across runs and around the end of the table
+    @Test
+    public void testMatchesHashSet() {
+        Set<Integer> reference = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(3000);
+            switch (random.nextInt(3)) {
+                case 0: assertEquals(reference.add(key), index.add(key)); break;
+                case 1: assertEquals(reference.remove(key), index.remove(key)); break;
+                default: assertEquals(reference.contains(key), index.contains(key));
+            }
+        }
+        assertEquals(reference.size(), index.size());
+        for (int key = 0; key < 3000; key++) {
+            assertEquals(reference.contains(key), index.contains(key));
+        }
+    }
+
+    // Keys whose hash codes all share their low 12 bits must still spread over the table
+    @Test
+    public void testCollidingHashCodesAndGrowth() {
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(index.add(i << 12));
+        }
+        assertEquals(100_000, index.size());
+        assertTrue("capacity " + index.capacity(), index.capacity() <= 262_144);
+        for (int i = 0; i < 100_000; i += 2) {
+            assertTrue(index.remove(i << 12));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(i % 2 == 1, index.contains(i << 12));
+        }
+    }
+
+    @Test
+    public void testBatchesAndClear() {
+        HashIndex<String> words = new HashIndex<>(1000);
+        int capacity = words.capacity();
+        assertEquals(3, words.addAll(Arrays.asList("pear", "apple", "fig", "apple")));
+        assertEquals(2, words.removeAll(Arrays.asList("fig", "kiwi", "pear")));
+        assertTrue(words.contains("apple"));
+        assertEquals(1, words.size());
+        for (int i = 0; i < 1000; i++) {
+            words.add("word" + i);
+        }
+        assertEquals(capacity, words.capacity()); // Presized: no resize for the expected keys
+        words.clear();
+        assertEquals(0, words.size());
+        assertFalse(words.contains("apple"));
+    }
+}
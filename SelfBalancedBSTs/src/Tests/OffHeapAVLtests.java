@@ -0,0 +1,145 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import BSTs.AVL;
+import BSTs.OffHeapAVL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class OffHeapAVLtests {
+    private OffHeapAVL avl;
+
+    @Before
+    public void setUp() {
+        avl = new OffHeapAVL();
+    }
+
+    @Test
+    public void testInsertSearchDelete() {
+        assertTrue(avl.insert("mango"));
+        assertTrue(avl.insert("apple"));
+        assertTrue(avl.insert("zebra"));
+        assertFalse(avl.insert("apple")); // Duplicate insert
+        assertTrue(avl.search("mango"));
+        assertFalse(avl.search("man"));
+        assertFalse(avl.search("mangos"));
+        assertEquals(3, avl.size());
+        assertTrue(avl.delete("mango"));
+        assertFalse(avl.delete("mango")); // Already deleted
+        assertFalse(avl.search("mango"));
+        assertEquals(2, avl.size());
+    }
+
+    @Test
+    public void testNullKeyThrows() {
+        try {
+            avl.insert(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Key cannot be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMatchesGenericAVL() {
+        AVL<String> reference = new AVL<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String key = Integer.toString(random.nextInt(5000), 36);
+            switch (random.nextInt(3)) {
+                case 0: assertEquals(reference.insert(key), avl.insert(key)); break;
+                case 1: assertEquals(reference.delete(key), avl.delete(key)); break;
+                default: assertEquals(reference.search(key), avl.search(key));
+            }
+        }
+        assertEquals(reference.size(), avl.size());
+        assertEquals(reference.height(), avl.height()); // Same rotations, same shape
+        List<String> expected = new ArrayList<>();
+        reference.inorderTraversal(expected::add);
+        assertEquals(expected, contents());
+    }
+
+    @Test
+    public void testUnicodeKeysFollowStringOrder() {
+        // Supplementary characters sort below U+E000..U+FFFF in String order but above them in UTF-8
+        List<String> keys = Arrays.asList("😀", "�", "x", "é", "e", "", "中文", "😀a");
+        TreeSet<String> reference = new TreeSet<>(keys);
+        for (String key : keys) {
+            assertTrue(avl.insert(key));
+        }
+        for (String key : keys) {
+            assertTrue(avl.search(key));
+        }
+        assertEquals(new ArrayList<>(reference), contents());
+    }
+
+    @Test
+    public void testBuildFromSortedAndReuseAfterEmptying() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            keys.add(String.format("key%06d", i));
+        }
+        avl.buildFromSorted(keys);
+        assertEquals(100000, avl.size());
+        assertEquals(16, avl.height()); // ceil(log2(100001)) - 1
+        assertTrue(avl.offHeapBytes() > 0);
+        for (String key : keys) {
+            assertTrue(avl.delete(key));
+        }
+        assertEquals(0, avl.size());
+        assertEquals(-1, avl.height());
+        assertTrue(avl.insert("again"));
+        assertTrue(avl.search("again"));
+        assertEquals(Arrays.asList("again"), contents());
+    }
+
+    private List<String> contents() {
+        List<String> keys = new ArrayList<>();
+        avl.inorderTraversal(keys::add);
+        return keys;
+    }
+
+    // Zero-padded so string order matches numeric order
+    @Test
+    public void testRankSelectMedian() {
+        TreeContract.rankSelectMedian(avl, n -> String.format("k%05d", n));
+    }
+
+    @Test(expected = java.util.NoSuchElementException.class)
+    public void testMedianOfEmptyTree() {
+        avl.median();
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeContract.navigationAndBoundedIterators(avl, n -> String.format("k%05d", n));
+    }
+
+    @Test
+    public void testNavigationOverWords() {
+        for (String key : Arrays.asList("delta", "alpha", "echo", "charlie", "bravo")) {
+            avl.insert(key);
+        }
+        assertEquals("alpha", avl.first());
+        assertEquals("echo", avl.last());
+        assertEquals("charlie", avl.floor("cz"));
+        assertEquals("delta", avl.ceiling("cz"));
+        assertEquals("delta", avl.higher("charlie"));
+        assertEquals("bravo", avl.lower("charlie"));
+        assertNull(avl.lower("alpha"));
+        List<String> range = new ArrayList<>();
+        avl.ascendingIterator("bravo", false, "echo", false).forEachRemaining(range::add);
+        assertEquals(Arrays.asList("charlie", "delta"), range);
+        range.clear();
+        avl.descendingIterator("d", true, null, true).forEachRemaining(range::add);
+        assertEquals(Arrays.asList("charlie", "bravo", "alpha"), range);
+        assertEquals("alpha", avl.pollFirst());
+        assertEquals("echo", avl.pollLast());
+        assertEquals(3, avl.size());
+    }
+}
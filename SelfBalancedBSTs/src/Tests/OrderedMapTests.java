@@ -0,0 +1,139 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import BSTs.AVLMap;
+import BSTs.OrderedMap;
+import BSTs.RedBlackTreeMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class OrderedMapTests {
+
+    @Test
+    public void testPutGetRemove() {
+        for (OrderedMap<String, Integer> map : maps()) {
+            assertNull(map.put("pear", 1));
+            assertNull(map.put("apple", 2));
+            assertEquals(Integer.valueOf(1), map.put("pear", 3)); // Replaces, returns the old value
+            assertEquals(Integer.valueOf(3), map.get("pear"));
+            assertNull(map.get("fig"));
+            assertEquals(Integer.valueOf(7), map.getOrDefault("fig", 7));
+            assertEquals(Integer.valueOf(2), map.putIfAbsent("apple", 9)); // Present: unchanged
+            assertEquals(Integer.valueOf(2), map.get("apple"));
+            assertNull(map.putIfAbsent("fig", 4));
+            assertEquals(3, map.size());
+            assertEquals(Integer.valueOf(3), map.remove("pear"));
+            assertNull(map.remove("pear")); // Already removed
+            assertFalse(map.containsKey("pear"));
+            assertEquals(2, map.size());
+        }
+    }
+
+    @Test
+    public void testCompute() {
+        for (OrderedMap<String, Integer> map : maps()) {
+            // Word counting: the usual reason to keep a payload next to each key
+            for (String word : "the cat and the dog and the bird".split(" ")) {
+                map.compute(word, (key, count) -> count == null ? 1 : count + 1);
+            }
+            assertEquals(Integer.valueOf(3), map.get("the"));
+            assertEquals(Integer.valueOf(2), map.get("and"));
+            assertEquals(5, map.size());
+            assertNull(map.compute("cat", (key, count) -> null)); // null removes
+            assertFalse(map.containsKey("cat"));
+            assertNull(map.compute("emu", (key, count) -> null)); // Absent and staying absent
+            assertEquals(4, map.size());
+            try {
+                map.compute("dog", (key, count) -> { throw new IllegalStateException("boom"); });
+                fail("Expected IllegalStateException");
+            } catch (IllegalStateException e) {
+                assertEquals(Integer.valueOf(1), map.get("dog"));
+            }
+        }
+    }
+
+    @Test
+    public void testNullsThrow() {
+        for (OrderedMap<String, Integer> map : maps()) {
+            try {
+                map.get(null);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                assertEquals("Key cannot be null", e.getMessage());
+            }
+            try {
+                map.put("a", null);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                assertEquals("Value cannot be null", e.getMessage());
+            }
+            assertEquals(0, map.size());
+        }
+    }
+
+    @Test
+    public void testMatchesTreeMap() {
+        List<OrderedMap<Integer, Integer>> maps = new ArrayList<>();
+        maps.add(new AVLMap<>());
+        maps.add(new RedBlackTreeMap<>());
+        for (OrderedMap<Integer, Integer> map : maps) {
+            TreeMap<Integer, Integer> reference = new TreeMap<>();
+            Random random = new Random(42);
+            for (int i = 0; i < 100_000; i++) {
+                int key = random.nextInt(5000);
+                int value = random.nextInt(100);
+                switch (random.nextInt(5)) {
+                    case 0: assertEquals(reference.put(key, value), map.put(key, value)); break;
+                    case 1: assertEquals(reference.putIfAbsent(key, value), map.putIfAbsent(key, value)); break;
+                    case 2: assertEquals(reference.remove(key), map.remove(key)); break;
+                    case 3: {
+                        // Increment, and drop the key once it passes 100
+                        java.util.function.BiFunction<Integer, Integer, Integer> bump =
+                                (k, v) -> v == null ? Integer.valueOf(value) : v + value > 100 ? null : Integer.valueOf(v + value);
+                        assertEquals(reference.compute(key, bump), map.compute(key, bump));
+                        break;
+                    }
+                    default: assertEquals(reference.get(key), map.get(key));
+                }
+            }
+            assertEquals(reference.size(), map.size());
+            List<Map.Entry<Integer, Integer>> entries = new ArrayList<>();
+            map.forEach((key, value) -> entries.add(Map.entry(key, value)));
+            assertEquals(new ArrayList<>(reference.entrySet()), entries);
+        }
+    }
+
+    // Sorted puts are the worst case for an unbalanced tree; both maps must stay logarithmic
+    @Test
+    public void testHeightStaysLogarithmic() {
+        AVLMap<Integer, Integer> avl = new AVLMap<>();
+        RedBlackTreeMap<Integer, Integer> redBlack = new RedBlackTreeMap<>();
+        assertEquals(-1, avl.height());
+        assertEquals(0, redBlack.height());
+        for (int i = 0; i < 100_000; i++) {
+            avl.put(i, i);
+            redBlack.put(i, i);
+        }
+        assertTrue("AVL height " + avl.height(), avl.height() <= 24); // 1.44 log2(n)
+        assertTrue("red-black height " + redBlack.height(), redBlack.height() <= 34); // 2 log2(n + 1)
+        for (int i = 0; i < 100_000; i += 2) {
+            assertEquals(Integer.valueOf(i), avl.remove(i));
+            assertEquals(Integer.valueOf(i), redBlack.remove(i));
+        }
+        assertEquals(Integer.valueOf(99_999), avl.get(99_999));
+        assertEquals(Integer.valueOf(99_999), redBlack.get(99_999));
+        assertEquals(50_000, avl.size());
+        assertEquals(50_000, redBlack.size());
+    }
+
+    private static List<OrderedMap<String, Integer>> maps() {
+        List<OrderedMap<String, Integer>> maps = new ArrayList<>();
+        maps.add(new AVLMap<>());
+        maps.add(new RedBlackTreeMap<>());
+        return maps;
+    }
+}
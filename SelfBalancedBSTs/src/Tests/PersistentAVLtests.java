@@ -0,0 +1,119 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import BSTs.AVL;
+import BSTs.PersistentAVL;
+
+public class PersistentAVLtests {
+    private PersistentAVL<Integer> avl;
+
+    @Before
+    public void setUp() {
+        avl = new PersistentAVL<>();
+    }
+
+    @Test
+    public void testInsertAndSearch() {
+        assertTrue(avl.insert(10));
+        assertTrue(avl.insert(20));
+        assertTrue(avl.insert(5));
+        assertTrue(avl.search(10));
+        assertTrue(avl.search(20));
+        assertTrue(avl.search(5));
+        assertFalse(avl.search(99));
+        assertFalse(avl.insert(10)); // Duplicate insert
+        assertEquals(3, avl.size());
+    }
+
+    @Test
+    public void testDelete() {
+        avl.insert(15);
+        avl.insert(10);
+        avl.insert(20);
+        assertTrue(avl.delete(15));
+        assertFalse(avl.search(15));
+        assertFalse(avl.delete(15)); // Already deleted
+        assertTrue(avl.delete(10));
+        assertTrue(avl.delete(20));
+        assertEquals(0, avl.size());
+        assertEquals(-1, avl.height());
+    }
+
+    @Test
+    public void testSameShapeAsAVL() {
+        AVL<Integer> reference = new AVL<>();
+        java.util.Random rand = new java.util.Random(456);
+        for (int i = 0; i < 5000; i++) {
+            int num = rand.nextInt(2000);
+            if (rand.nextInt(3) == 0) {
+                assertEquals(reference.delete(num), avl.delete(num));
+            } else {
+                assertEquals(reference.insert(num), avl.insert(num));
+            }
+            assertEquals(reference.height(), avl.height());
+        }
+        java.util.List<Integer> expected = new java.util.ArrayList<>();
+        reference.inorderTraversal(expected::add);
+        java.util.List<Integer> inorder = new java.util.ArrayList<>();
+        avl.inorderTraversal(inorder::add);
+        assertEquals(expected, inorder);
+        assertEquals(reference.size(), avl.size());
+    }
+
+    @Test
+    public void testSnapshotIsolation() {
+        for (int i = 0; i < 100; i++) avl.insert(i);
+        PersistentAVL<Integer> snapshot = avl.snapshot();
+
+        for (int i = 0; i < 100; i += 2) avl.delete(i);
+        avl.insert(1000);
+        assertEquals(51, avl.size());
+        assertFalse(avl.search(0));
+
+        // The snapshot still sees the version it was taken from
+        assertEquals(100, snapshot.size());
+        assertTrue(snapshot.search(0));
+        assertFalse(snapshot.search(1000));
+        java.util.List<Integer> inorder = new java.util.ArrayList<>();
+        snapshot.inorderTraversal(inorder::add);
+        assertEquals(100, inorder.size());
+
+        // ...and diverges independently when modified
+        snapshot.insert(2000);
+        assertFalse(avl.search(2000));
+    }
+
+    @Test
+    public void testReadersDuringWrites() throws Exception {
+        for (int i = 0; i < 1000; i++) avl.insert(i * 2);
+        java.util.concurrent.atomic.AtomicBoolean torn = new java.util.concurrent.atomic.AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            for (int round = 0; round < 200; round++) {
+                PersistentAVL<Integer> snapshot = avl.snapshot();
+                int[] count = {0};
+                snapshot.inorderTraversal(x -> count[0]++);
+                if (count[0] != snapshot.size()) torn.set(true);
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 1000; i++) {
+            avl.insert(i * 2 + 1);
+            avl.delete(i * 2);
+        }
+        reader.join();
+        assertFalse("A snapshot changed while it was being read", torn.get());
+        assertEquals(1000, avl.size());
+    }
+
+    @Test
+    public void testRankSelectMedian() {
+        TreeContract.rankSelectMedian(avl, n -> n);
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeContract.navigationAndBoundedIterators(avl, n -> n);
+    }
+}
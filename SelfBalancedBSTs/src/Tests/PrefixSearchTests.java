@@ -0,0 +1,73 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import BSTs.AVL;
+import BSTs.PrefixSearch;
+import BSTs.RedBlackTree;
+import BSTs.Trees;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class PrefixSearchTests {
+
+    @Test
+    public void testPrefixSearchOnBothTrees() {
+        List<Trees<String>> trees = Arrays.asList(new AVL<>(), new RedBlackTree<>());
+        for (Trees<String> tree : trees) {
+            for (String word : Arrays.asList("car", "card", "care", "cart", "cat", "ca", "c", "dog", "bz")) {
+                tree.insert(word);
+            }
+            assertEquals(Arrays.asList("car", "card", "care", "cart"), PrefixSearch.search(tree, "car", 10));
+            assertEquals(Arrays.asList("car", "card"), PrefixSearch.search(tree, "car", 2));
+            assertEquals(Arrays.asList("c", "ca", "car"), PrefixSearch.search(tree, "c", 3));
+            assertEquals(Collections.emptyList(), PrefixSearch.search(tree, "cb", 10));
+            assertEquals(Collections.emptyList(), PrefixSearch.search(tree, "car", 0));
+            assertEquals(Arrays.asList("bz", "c"), PrefixSearch.search(tree, "", 2)); // Empty prefix matches everything
+        }
+    }
+
+    @Test
+    public void testPrefixEndingInMaxChar() {
+        AVL<String> tree = new AVL<>();
+        String max = String.valueOf(Character.MAX_VALUE);
+        for (String word : Arrays.asList("a", "a" + max, "a" + max + "x", "b")) {
+            tree.insert(word);
+        }
+        assertEquals(Arrays.asList("a" + max, "a" + max + "x"), PrefixSearch.search(tree, "a" + max, 10));
+        assertEquals(Arrays.asList("a", "a" + max, "a" + max + "x"), PrefixSearch.search(tree, "a", 10));
+    }
+
+    @Test
+    public void testMatchesFilteredScan() {
+        RedBlackTree<String> tree = new RedBlackTree<>();
+        TreeSet<String> reference = new TreeSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int c = random.nextInt(6); c >= 0; c--) {
+                word.append((char) ('a' + random.nextInt(4)));
+            }
+            tree.insert(word.toString());
+            reference.add(word.toString());
+        }
+        for (String prefix : Arrays.asList("a", "ab", "dd", "abc", "cba", "ddddd")) {
+            List<String> expected = new ArrayList<>();
+            for (String word : reference) {
+                if (word.startsWith(prefix) && expected.size() < 25) {
+                    expected.add(word);
+                }
+            }
+            assertEquals(expected, PrefixSearch.search(tree, prefix, 25));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimitThrows() {
+        PrefixSearch.search(new AVL<>(), "a", -1);
+    }
+}
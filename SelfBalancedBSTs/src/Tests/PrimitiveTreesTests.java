@@ -0,0 +1,143 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+import BSTs.AVL;
+import BSTs.IntAVL;
+import BSTs.IntRedBlackTree;
+import BSTs.LongAVL;
+import BSTs.LongRedBlackTree;
+import BSTs.RedBlackTree;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class PrimitiveTreesTests {
+
+    @Test
+    public void testIntAVLMatchesGenericAVL() {
+        IntAVL tree = new IntAVL();
+        AVL<Integer> reference = new AVL<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000);
+            switch (random.nextInt(3)) {
+                case 0: assertEquals(reference.insert(key), tree.insert(key)); break;
+                case 1: assertEquals(reference.delete(key), tree.delete(key)); break;
+                default: assertEquals(reference.search(key), tree.search(key));
+            }
+        }
+        assertEquals(reference.size(), tree.size());
+        assertEquals(reference.height(), tree.height()); // Same rotations, same shape
+        assertInOrder(tree, reference);
+    }
+
+    @Test
+    public void testIntRedBlackTreeMatchesGenericRedBlackTree() {
+        IntRedBlackTree tree = new IntRedBlackTree();
+        RedBlackTree<Integer> reference = new RedBlackTree<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(5000);
+            switch (random.nextInt(3)) {
+                case 0: assertEquals(reference.insert(key), tree.insert(key)); break;
+                case 1: assertEquals(reference.delete(key), tree.delete(key)); break;
+                default: assertEquals(reference.search(key), tree.search(key));
+            }
+        }
+        assertEquals(reference.size(), tree.size());
+        assertEquals(reference.height(), tree.height());
+        List<Integer> keys = new ArrayList<>();
+        tree.inorderTraversal(keys::add);
+        List<Integer> expected = new ArrayList<>();
+        reference.inorderTraversal(expected::add);
+        assertEquals(expected, keys);
+    }
+
+    @Test
+    public void testLongTreesOutsideIntRange() {
+        LongAVL avl = new LongAVL();
+        LongRedBlackTree rbt = new LongRedBlackTree();
+        TreeSet<Long> reference = new TreeSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10000; i++) {
+            long key = random.nextLong() >> random.nextInt(64);
+            if (random.nextInt(4) == 0) {
+                boolean removed = reference.remove(key);
+                assertEquals(removed, avl.delete(key));
+                assertEquals(removed, rbt.delete(key));
+            } else {
+                boolean added = reference.add(key);
+                assertEquals(added, avl.insert(key));
+                assertEquals(added, rbt.insert(key));
+            }
+        }
+        assertTrue(avl.search(reference.first()));
+        assertTrue(rbt.search(reference.last()));
+        assertEquals(reference.size(), avl.size());
+        assertEquals(reference.size(), rbt.size());
+        List<Long> avlKeys = new ArrayList<>();
+        avl.inorderTraversal(avlKeys::add);
+        List<Long> rbtKeys = new ArrayList<>();
+        rbt.inorderTraversal(rbtKeys::add);
+        assertEquals(new ArrayList<>(reference), avlKeys);
+        assertEquals(new ArrayList<>(reference), rbtKeys);
+    }
+
+    @Test
+    public void testBuildFromSorted() {
+        int[] keys = new int[1000];
+        long[] longKeys = new long[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 3;
+            longKeys[i] = i * 3L;
+        }
+        IntAVL avl = new IntAVL();
+        IntRedBlackTree rbt = new IntRedBlackTree();
+        LongRedBlackTree longRbt = new LongRedBlackTree();
+        avl.buildFromSorted(keys);
+        rbt.buildFromSorted(keys);
+        longRbt.buildFromSorted(longKeys);
+        assertEquals(1000, avl.size());
+        assertEquals(1000, rbt.size());
+        assertEquals(9, avl.height()); // ceil(log2(1001)) - 1
+        assertTrue(rbt.search(2997));
+        assertFalse(rbt.search(2998));
+
+        // Tree stays usable after the bulk build
+        for (int i = 0; i < keys.length; i += 2) {
+            assertTrue(rbt.delete(keys[i]));
+            assertTrue(longRbt.delete(longKeys[i]));
+            assertTrue(rbt.insert(keys[i] + 1));
+        }
+        assertEquals(1000, rbt.size());
+        assertEquals(500, longRbt.size());
+    }
+
+    @Test
+    public void testBuildFromSortedRejectsUnsortedAndNonEmpty() {
+        IntAVL avl = new IntAVL();
+        try {
+            avl.buildFromSorted(new int[]{1, 3, 2});
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, avl.size());
+        }
+        avl.insert(1);
+        try {
+            avl.buildFromSorted(new int[]{2, 3});
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals(1, avl.size());
+        }
+    }
+
+    private static void assertInOrder(IntAVL tree, AVL<Integer> reference) {
+        List<Integer> keys = new ArrayList<>();
+        tree.inorderTraversal(keys::add);
+        List<Integer> expected = new ArrayList<>();
+        reference.inorderTraversal(expected::add);
+        assertEquals(expected, keys);
+    }
+}
@@ -201,4 +201,226 @@ public class RBTtests {
         for (int i = 1; i <= 500; i++) rbt.delete(i);
         assertEquals(0, rbt.size());
     }
+
+    @Test
+    public void testBuildFromSorted() {
+        for (int n : new int[] {0, 1, 2, 3, 7, 8, 1000}) {
+            RedBlackTree<Integer> rbt = new RedBlackTree<>();
+            java.util.List<Integer> keys = new java.util.ArrayList<>();
+            for (int i = 0; i < n; i++) keys.add(i * 2);
+            rbt.buildFromSorted(keys);
+            assertEquals(n, rbt.size());
+            assertEquals((int) Math.ceil(Math.log(n + 1) / Math.log(2)), rbt.height());
+            java.util.List<Integer> inorder = new java.util.ArrayList<>();
+            rbt.inorderTraversal(inorder::add);
+            assertEquals(keys, inorder);
+        }
+    }
+
+    @Test
+    public void testOperationsAfterBuildFromSorted() {
+        RedBlackTree<Integer> rbt = new RedBlackTree<>();
+        java.util.Set<Integer> set = new java.util.TreeSet<>();
+        for (int i = 0; i < 1000; i++) set.add(i * 2);
+        rbt.buildFromSorted(new java.util.ArrayList<>(set));
+
+        // Colours must be valid for the fixups to keep the tree balanced
+        java.util.Random rand = new java.util.Random(321);
+        for (int i = 0; i < 2000; i++) {
+            int num = rand.nextInt(2000);
+            if (rand.nextBoolean()) {
+                assertEquals(set.add(num), rbt.insert(num));
+            } else {
+                assertEquals(set.remove(num), rbt.delete(num));
+            }
+        }
+        java.util.List<Integer> inorder = new java.util.ArrayList<>();
+        rbt.inorderTraversal(inorder::add);
+        assertEquals(new java.util.ArrayList<>(set), inorder);
+        double maxAllowed = 2 * (Math.log(set.size() + 1) / Math.log(2));
+        assertTrue("RBT height too large after bulk build: " + rbt.height(), rbt.height() <= maxAllowed);
+    }
+
+    @Test
+    public void testRankSelectMedian() {
+        TreeContract.rankSelectMedian(new RedBlackTree<Integer>(), n -> n);
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeContract.navigationAndBoundedIterators(new RedBlackTree<Integer>(), n -> n);
+    }
+
+    @Test
+    public void testSetOperations() {
+        // 6000 keys per side takes the parallel path, 300 the sequential one
+        for (int count : new int[]{300, 6000}) {
+            java.util.Random random = new java.util.Random(count);
+            java.util.TreeSet<Integer> a = new java.util.TreeSet<>();
+            java.util.TreeSet<Integer> b = new java.util.TreeSet<>();
+            while (a.size() < count) a.add(random.nextInt(count * 3));
+            while (b.size() < count) b.add(random.nextInt(count * 3));
+            for (int op = 0; op < 3; op++) {
+                RedBlackTree<Integer> left = new RedBlackTree<>();
+                RedBlackTree<Integer> right = new RedBlackTree<>();
+                left.buildFromSorted(new java.util.ArrayList<>(a));
+                for (int key : b) right.insert(key);
+                java.util.TreeSet<Integer> expected = new java.util.TreeSet<>(a);
+                if (op == 0) {
+                    left.union(right);
+                    expected.addAll(b);
+                } else if (op == 1) {
+                    left.intersection(right);
+                    expected.retainAll(b);
+                } else {
+                    left.difference(right);
+                    expected.removeAll(b);
+                }
+                assertEquals(new java.util.ArrayList<>(expected), TreeContract.drain(left.ascendingIterator()));
+                assertEquals(expected.size(), left.size());
+                assertTrue(left.height() <= 2 * (Math.log(left.size() + 1) / Math.log(2)) + 1);
+                for (int k = 0; k < expected.size(); k += 97) {
+                    assertEquals(k, left.rank(left.select(k)));
+                }
+                assertEquals(0, right.size()); // other is consumed
+                assertTrue(right.insert(1)); // ...but stays usable
+                assertTrue(left.insert(-1));
+                assertTrue(left.delete(-1));
+            }
+        }
+    }
+
+    // The keys union and difference hand back are exactly those in both trees, on both paths
+    @Test
+    public void testSetOperationsReportCommonKeys() {
+        for (int count : new int[]{300, 6000}) {
+            java.util.Random random = new java.util.Random(count + 1);
+            java.util.TreeSet<Integer> a = new java.util.TreeSet<>();
+            java.util.TreeSet<Integer> b = new java.util.TreeSet<>();
+            while (a.size() < count) a.add(random.nextInt(count * 3));
+            while (b.size() < count) b.add(random.nextInt(count * 3));
+            java.util.TreeSet<Integer> common = new java.util.TreeSet<>(a);
+            common.retainAll(b);
+            for (boolean union : new boolean[]{true, false}) {
+                RedBlackTree<Integer> left = new RedBlackTree<>();
+                RedBlackTree<Integer> right = new RedBlackTree<>();
+                left.buildFromSorted(new java.util.ArrayList<>(a));
+                right.buildFromSorted(new java.util.ArrayList<>(b));
+                java.util.Queue<Integer> reported = new java.util.concurrent.ConcurrentLinkedQueue<>();
+                if (union) {
+                    left.union(right, reported::add);
+                } else {
+                    left.difference(right, reported::add);
+                }
+                java.util.List<Integer> sorted = new java.util.ArrayList<>(reported);
+                java.util.Collections.sort(sorted);
+                assertEquals(new java.util.ArrayList<>(common), sorted);
+                assertEquals(union ? a.size() + b.size() - common.size() : a.size() - common.size(), left.size());
+            }
+        }
+    }
+
+    @Test
+    public void testSplitAndJoin() {
+        RedBlackTree<Integer> tree = new RedBlackTree<>();
+        for (int i = 0; i < 1000; i += 2) tree.insert(i);
+        RedBlackTree<Integer> greater = new RedBlackTree<>();
+        assertTrue(tree.split(500, greater));
+        assertEquals(250, tree.size());
+        assertEquals(249, greater.size());
+        assertEquals(Integer.valueOf(498), tree.last());
+        assertEquals(Integer.valueOf(502), greater.first());
+        assertFalse(tree.search(500));
+
+        tree.join(500, greater);
+        assertEquals(500, tree.size());
+        assertEquals(0, greater.size());
+        assertEquals(250, tree.rank(500));
+        for (int i = 0; i < 1000; i += 2) assertTrue(tree.search(i));
+
+        // Keys of greater must all be larger than the joined key
+        greater.insert(100);
+        try {
+            tree.join(1000, greater);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(500, tree.size());
+            assertEquals(1, greater.size());
+        }
+        try {
+            tree.split(10, greater);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals(500, tree.size());
+        }
+    }
+
+    // height() and blackHeight() are maintained, not recomputed: check them through fixups that
+    // recolour the root, deletes that shrink the black height, and the bulk operations
+    @Test
+    public void testMaintainedHeightAndBlackHeight() {
+        RedBlackTree<Integer> rbt = new RedBlackTree<>();
+        assertEquals(0, rbt.blackHeight());
+        rbt.insert(1);
+        assertEquals(1, rbt.height());
+        assertEquals(1, rbt.blackHeight());
+        rbt.insert(2);
+        rbt.insert(3); // Rotates: 2 on top, two red children
+        assertEquals(2, rbt.height());
+        assertEquals(1, rbt.blackHeight());
+        rbt.insert(4); // Recolouring reaches the root
+        assertEquals(3, rbt.height());
+        assertEquals(2, rbt.blackHeight());
+        rbt.delete(4);
+        rbt.delete(3);
+        rbt.delete(1);
+        assertEquals(1, rbt.height());
+        assertEquals(1, rbt.blackHeight());
+        rbt.delete(2);
+        assertEquals(0, rbt.height());
+        assertEquals(0, rbt.blackHeight());
+
+        java.util.Random random = new java.util.Random(11);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                rbt.delete(key);
+            } else {
+                rbt.insert(key);
+            }
+            if (i % 1000 == 0) {
+                assertBalanced(rbt);
+            }
+        }
+
+        RedBlackTree<Integer> other = new RedBlackTree<>();
+        for (int i = 0; i < 50_000; i++) {
+            other.insert(random.nextInt(100_000));
+        }
+        rbt.union(other);
+        assertBalanced(rbt);
+        assertEquals(0, other.blackHeight());
+        RedBlackTree<Integer> greater = new RedBlackTree<>();
+        rbt.split(50_000, greater);
+        assertBalanced(rbt);
+        assertBalanced(greater);
+        rbt.join(50_000, greater);
+        assertBalanced(rbt);
+
+        RedBlackTree<Integer> sequential = new RedBlackTree<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            sequential.insert(i);
+        }
+        assertBalanced(sequential);
+    }
+
+    // Every root-to-leaf path has blackHeight black nodes and no two reds in a row
+    private static void assertBalanced(RedBlackTree<Integer> rbt) {
+        int height = rbt.height();
+        int blackHeight = rbt.blackHeight();
+        String shape = "height " + height + ", black height " + blackHeight;
+        assertTrue(shape, blackHeight <= height && height <= 2 * blackHeight);
+        assertTrue(shape, height >= Math.ceil(Math.log(rbt.size() + 1) / Math.log(2)));
+        assertTrue(shape, height <= 2 * (Math.log(rbt.size() + 1) / Math.log(2)));
+    }
 }
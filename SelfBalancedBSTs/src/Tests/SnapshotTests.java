@@ -0,0 +1,129 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import BSTs.AVL;
+import BSTs.OffHeapAVL;
+import BSTs.PersistentAVL;
+import BSTs.RedBlackTree;
+import BSTs.Snapshot;
+import BSTs.Trees;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class SnapshotTests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTripAcrossBackends() throws IOException {
+        TreeSet<String> reference = new TreeSet<>();
+        Random random = new Random(42);
+        while (reference.size() < 5000) {
+            StringBuilder word = new StringBuilder();
+            for (int c = random.nextInt(12); c >= 0; c--) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            reference.add(word.toString());
+        }
+        // Multi-byte UTF-8, a supplementary character and a key longer than 127 bytes (two-byte length)
+        reference.addAll(Arrays.asList("", "café", "日本語", "😀smile", "x".repeat(300)));
+
+        AVL<String> source = new AVL<>();
+        for (String key : reference) {
+            source.insert(key);
+        }
+        Path path = folder.getRoot().toPath().resolve("dictionary.snapshot");
+        assertEquals(reference.size(), Snapshot.save(source, "AVL", path));
+        assertEquals("AVL", Snapshot.backendOf(path));
+
+        List<Trees<String>> targets = Arrays.asList(new AVL<>(), new RedBlackTree<>(), new PersistentAVL<>(), new OffHeapAVL());
+        for (Trees<String> target : targets) {
+            assertEquals("AVL", Snapshot.load(path, target));
+            assertEquals(reference.size(), target.size());
+            List<String> keys = new ArrayList<>();
+            target.ascendingIterator().forEachRemaining(keys::add);
+            assertEquals(new ArrayList<>(reference), keys);
+        }
+    }
+
+    @Test
+    public void testEmptyTreeAndOverwrite() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("empty.snapshot");
+        RedBlackTree<String> tree = new RedBlackTree<>();
+        tree.insert("stale");
+        Snapshot.save(tree, "Red Black Tree", path);
+        tree.delete("stale");
+        assertEquals(0, Snapshot.save(tree, "Red Black Tree", path)); // Replaces the old file
+
+        Snapshot snapshot = Snapshot.read(path);
+        assertEquals("Red Black Tree", snapshot.backend());
+        assertTrue(snapshot.keys().isEmpty());
+        assertFalse(Files.exists(path.resolveSibling("empty.snapshot.tmp")));
+    }
+
+    @Test
+    public void testRejectsCorruptFilesAndNonEmptyTarget() throws IOException {
+        AVL<String> tree = new AVL<>();
+        for (String key : Arrays.asList("apple", "banana", "cherry")) {
+            tree.insert(key);
+        }
+        Path path = folder.getRoot().toPath().resolve("fruit.snapshot");
+        Snapshot.save(tree, "AVL", path);
+        byte[] bytes = Files.readAllBytes(path);
+
+        Path truncated = folder.getRoot().toPath().resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 2));
+        assertLoadFails(truncated);
+
+        Path trailing = folder.getRoot().toPath().resolve("trailing.snapshot");
+        Files.write(trailing, Arrays.copyOf(bytes, bytes.length + 1));
+        assertLoadFails(trailing);
+
+        // Count and key length far beyond the file: rejected as corrupt, not sized into an allocation
+        Path hugeCount = folder.getRoot().toPath().resolve("count.snapshot");
+        byte[] countBytes = bytes.clone();
+        ByteBuffer.wrap(countBytes).putInt(10, Integer.MAX_VALUE); // After the 7-byte prefix and "AVL"
+        Files.write(hugeCount, countBytes);
+        assertLoadFails(hugeCount);
+
+        Path hugeKey = folder.getRoot().toPath().resolve("key.snapshot");
+        byte[] keyBytes = bytes.clone();
+        System.arraycopy(new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}, 0, keyBytes, 14, 5);
+        Files.write(hugeKey, keyBytes);
+        assertLoadFails(hugeKey);
+
+        Path notSnapshot = folder.getRoot().toPath().resolve("words.txt");
+        Files.write(notSnapshot, "apple\nbanana\n".getBytes());
+        assertLoadFails(notSnapshot);
+
+        try {
+            Snapshot.load(path, tree);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals(3, tree.size());
+        }
+    }
+
+    // Checks both load paths: Strings into buildFromSorted, and bytes streamed into the off-heap arena
+    private static void assertLoadFails(Path path) {
+        for (Trees<String> target : Arrays.<Trees<String>>asList(new AVL<>(), new OffHeapAVL())) {
+            try {
+                Snapshot.load(path, target);
+                fail("Expected IOException");
+            } catch (IOException e) {
+                assertEquals(0, target.size());
+                assertTrue(target.insert("usable"));
+            }
+        }
+    }
+}
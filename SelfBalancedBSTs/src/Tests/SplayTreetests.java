@@ -0,0 +1,132 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import BSTs.SplayTree;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class SplayTreetests {
+    private SplayTree<Integer> tree;
+
+    @Before
+    public void setUp() {
+        tree = new SplayTree<>();
+    }
+
+    @Test
+    public void testInsertSearchDelete() {
+        assertEquals(-1, tree.height());
+        TreeContract.insertSearchDelete(tree, n -> n);
+    }
+
+    @Test
+    public void testMatchesTreeSet() {
+        TreeContract.matchesTreeSet(tree, n -> n, 42, 50000);
+    }
+
+    @Test
+    public void testRankSelectMedian() {
+        TreeContract.rankSelectMedian(tree, n -> n);
+    }
+
+    // Every access leaves the node it reached at the root: the key itself when present, otherwise
+    // the neighbour where the search stopped. A delete leaves the predecessor there when it has one.
+    @Test
+    public void testAccessSplaysToRoot() {
+        assertNull(tree.rootKey());
+        Random random = new Random(5);
+        TreeSet<Integer> reference = new TreeSet<>();
+        for (int i = 0; i < 2000; i++) {
+            int key = random.nextInt(4000) * 2;
+            if (tree.insert(key)) {
+                reference.add(key);
+            }
+            assertEquals(Integer.valueOf(key), tree.rootKey()); // New or duplicate, it is splayed
+        }
+        for (int i = 0; i < 2000; i++) {
+            int key = random.nextInt(8000);
+            switch (random.nextInt(5)) {
+                case 0:
+                    boolean found = tree.search(key);
+                    Integer root = tree.rootKey();
+                    if (found) {
+                        assertEquals(Integer.valueOf(key), root);
+                    } else {
+                        assertTrue(root.equals(reference.lower(key)) || root.equals(reference.higher(key)));
+                    }
+                    break;
+                case 1:
+                    int k = random.nextInt(reference.size());
+                    assertEquals(tree.select(k), tree.rootKey());
+                    break;
+                case 2:
+                    assertEquals(tree.first(), tree.rootKey());
+                    assertEquals(tree.last(), tree.rootKey());
+                    break;
+                case 3:
+                    if (reference.contains(key)) {
+                        tree.rank(key);
+                        assertEquals(Integer.valueOf(key), tree.rootKey());
+                    }
+                    break;
+                default:
+                    Integer predecessor = reference.lower(key);
+                    if (reference.remove(key)) {
+                        assertTrue(tree.delete(key));
+                        if (predecessor != null) {
+                            assertEquals(predecessor, tree.rootKey());
+                        }
+                    }
+            }
+        }
+        assertEquals(reference.size(), tree.size());
+    }
+
+    // Sorted inserts leave a path of n nodes; splaying its deepest node roughly halves the depth
+    // of every node on the way, and nothing on the way may recurse
+    @Test
+    public void testSplayingShortensTheAccessPath() {
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            tree.insert(i);
+        }
+        assertEquals(n - 1, tree.height());
+        assertTrue(tree.search(0));
+        assertTrue("height " + tree.height(), tree.height() <= n / 2 + 2);
+        for (int round = 0; round < 20; round++) {
+            tree.search(new Random(round).nextInt(n));
+        }
+        assertTrue("height " + tree.height(), tree.height() < n / 10);
+        assertEquals(Integer.valueOf(0), tree.first());
+        assertEquals(Integer.valueOf(n - 1), tree.last());
+        assertEquals(n / 2, tree.rank(n / 2));
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeContract.navigationAndBoundedIterators(tree, n -> n);
+    }
+
+    @Test
+    public void testBuildFromSorted() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 1023; i++) {
+            keys.add(i * 3);
+        }
+        tree.buildFromSorted(keys);
+        assertEquals(9, tree.height());
+        assertEquals(Integer.valueOf(1533), tree.median());
+        assertTrue(tree.insert(1));
+        assertEquals(2, tree.rank(3));
+        try {
+            tree.buildFromSorted(keys);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals(1024, tree.size());
+        }
+    }
+}
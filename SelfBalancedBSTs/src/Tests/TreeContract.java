@@ -0,0 +1,157 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import BSTs.Trees;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
+
+// Checks every Trees<T> backend must pass, run against a java.util.TreeSet. Keys are made by an
+// order-preserving key function from non-negative ints: present keys are always even, so an odd
+// int is a key known to be absent, just above or below its neighbours. Not a test class itself;
+// each backend's tests call these on a fresh, empty tree.
+final class TreeContract {
+    private TreeContract() {
+    }
+
+    // A few keys in and out by hand: duplicates, near misses, repeated deletes and null keys
+    static <T extends Comparable<T>> void insertSearchDelete(Trees<T> tree, IntFunction<T> key) {
+        assertEquals(0, tree.size());
+        assertTrue(tree.insert(key.apply(50)));
+        assertTrue(tree.insert(key.apply(10)));
+        assertTrue(tree.insert(key.apply(90)));
+        assertFalse(tree.insert(key.apply(10))); // Duplicate insert
+        assertTrue(tree.search(key.apply(50)));
+        assertFalse(tree.search(key.apply(51)));
+        assertEquals(3, tree.size());
+        assertTrue(tree.delete(key.apply(50)));
+        assertFalse(tree.delete(key.apply(50))); // Already deleted
+        assertFalse(tree.search(key.apply(50)));
+        assertEquals(2, tree.size());
+        for (int op = 0; op < 3; op++) {
+            try {
+                if (op == 0) tree.insert(null); else if (op == 1) tree.search(null); else tree.delete(null);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                assertEquals("Key cannot be null", e.getMessage());
+            }
+        }
+        assertEquals(2, tree.size());
+    }
+
+    // Random inserts, deletes, searches and rank queries over 5000 keys, each answer compared with
+    // the TreeSet's; then the whole contents both ways, and select and rank at every position
+    static <T extends Comparable<T>> void matchesTreeSet(Trees<T> tree, IntFunction<T> key, long seed, int operations) {
+        TreeSet<Integer> reference = new TreeSet<>();
+        Random random = new Random(seed);
+        for (int i = 0; i < operations; i++) {
+            int n = random.nextInt(5000);
+            switch (random.nextInt(4)) {
+                case 0: assertEquals(reference.add(n), tree.insert(key.apply(n))); break;
+                case 1: assertEquals(reference.remove(n), tree.delete(key.apply(n))); break;
+                case 2: assertEquals(reference.headSet(n).size(), tree.rank(key.apply(n))); break;
+                default: assertEquals(reference.contains(n), tree.search(key.apply(n)));
+            }
+        }
+        assertEquals(reference.size(), tree.size());
+        assertEquals(keysOf(reference, key), drain(tree.ascendingIterator()));
+        assertEquals(keysOf(reference.descendingSet(), key), drain(tree.descendingIterator()));
+        int k = 0;
+        for (int n : reference) {
+            assertEquals(key.apply(n), tree.select(k));
+            assertEquals(k++, tree.rank(key.apply(n)));
+        }
+    }
+
+    static <T extends Comparable<T>> void rankSelectMedian(Trees<T> tree, IntFunction<T> key) {
+        TreeSet<Integer> reference = new TreeSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int n = 2 + random.nextInt(2000) * 2;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(n), tree.delete(key.apply(n)));
+            } else {
+                assertEquals(reference.add(n), tree.insert(key.apply(n)));
+            }
+        }
+        assertEquals(reference.size(), tree.size());
+        int k = 0;
+        for (int n : reference) {
+            assertEquals(k, tree.rank(key.apply(n)));
+            assertEquals(k + 1, tree.rank(key.apply(n + 1))); // Absent key just above
+            assertEquals(key.apply(n), tree.select(k));
+            k++;
+        }
+        assertEquals(0, tree.rank(key.apply(0)));
+        assertEquals(key.apply(new ArrayList<>(reference).get((reference.size() - 1) / 2)), tree.median());
+        try {
+            tree.select(reference.size());
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    static <T extends Comparable<T>> void navigationAndBoundedIterators(Trees<T> tree, IntFunction<T> key) {
+        TreeSet<Integer> reference = new TreeSet<>();
+        assertNull(tree.first());
+        assertNull(tree.pollLast());
+        assertFalse(tree.ascendingIterator().hasNext());
+        Random random = new Random(7);
+        for (int i = 0; i < 3000; i++) {
+            int n = 2 + random.nextInt(1000) * 2;
+            if (random.nextInt(4) == 0) {
+                tree.delete(key.apply(n));
+                reference.remove(n);
+            } else {
+                tree.insert(key.apply(n));
+                reference.add(n);
+            }
+        }
+        assertEquals(key.apply(reference.first()), tree.first());
+        assertEquals(key.apply(reference.last()), tree.last());
+        for (int probe = 0; probe <= 2003; probe++) {
+            T probeKey = key.apply(probe);
+            assertEquals(keyOf(reference.floor(probe), key), tree.floor(probeKey));
+            assertEquals(keyOf(reference.ceiling(probe), key), tree.ceiling(probeKey));
+            assertEquals(keyOf(reference.higher(probe), key), tree.higher(probeKey));
+            assertEquals(keyOf(reference.lower(probe), key), tree.lower(probeKey));
+        }
+        for (int i = 0; i < 200; i++) {
+            int lo = random.nextInt(2100);
+            int hi = lo + random.nextInt(300);
+            boolean loInclusive = random.nextBoolean();
+            boolean hiInclusive = random.nextBoolean();
+            assertEquals(keysOf(reference.subSet(lo, loInclusive, hi, hiInclusive), key),
+                    drain(tree.ascendingIterator(key.apply(lo), loInclusive, key.apply(hi), hiInclusive)));
+            assertEquals(keysOf(reference.descendingSet().subSet(hi, hiInclusive, lo, loInclusive), key),
+                    drain(tree.descendingIterator(key.apply(hi), hiInclusive, key.apply(lo), loInclusive)));
+        }
+        assertEquals(keysOf(reference.tailSet(1000, false), key), drain(tree.ascendingIterator(key.apply(1000), false, null, true)));
+        assertEquals(keysOf(reference.headSet(1001, true).descendingSet(), key), drain(tree.descendingIterator(key.apply(1001), true, null, true)));
+        assertEquals(keysOf(reference.descendingSet(), key), drain(tree.descendingIterator()));
+        assertEquals(keyOf(reference.pollFirst(), key), tree.pollFirst());
+        assertEquals(keyOf(reference.pollLast(), key), tree.pollLast());
+        assertEquals(reference.size(), tree.size());
+    }
+
+    static <T> List<T> drain(Iterator<T> iterator) {
+        List<T> keys = new ArrayList<>();
+        iterator.forEachRemaining(keys::add);
+        return keys;
+    }
+
+    private static <T> T keyOf(Integer n, IntFunction<T> key) {
+        return n == null ? null : key.apply(n);
+    }
+
+    private static <T> List<T> keysOf(Iterable<Integer> ns, IntFunction<T> key) {
+        List<T> keys = new ArrayList<>();
+        for (int n : ns) {
+            keys.add(key.apply(n));
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,148 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import BSTs.AVL;
+import BSTs.WAVLTree;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class WAVLTreetests {
+    private WAVLTree<Integer> tree;
+
+    @Before
+    public void setUp() {
+        tree = new WAVLTree<>();
+    }
+
+    @Test
+    public void testInsertSearchDelete() {
+        assertEquals(-1, tree.height());
+        TreeContract.insertSearchDelete(tree, n -> n);
+        assertEquals(1, tree.height());
+    }
+
+    // Insertion rebalances exactly like AVL, so without deletes the two trees have the same shape
+    @Test
+    public void testInsertOnlyMatchesAVLHeight() {
+        AVL<Integer> avl = new AVL<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt();
+            assertEquals(avl.insert(key), tree.insert(key));
+            if (i % 5000 == 0) {
+                assertEquals(avl.height(), tree.height());
+                assertEquals(tree.height(), tree.rootRank());
+            }
+        }
+        for (int i = 0; i < 1 << 15; i++) {
+            tree.insert(Integer.MIN_VALUE + i); // Sorted run into one side
+            avl.insert(Integer.MIN_VALUE + i);
+        }
+        assertEquals(avl.height(), tree.height());
+        assertEquals(tree.height(), tree.rootRank());
+    }
+
+    @Test
+    public void testMatchesTreeSet() {
+        TreeContract.matchesTreeSet(tree, n -> n, 42, 100_000);
+        assertTrue(tree.isRankBalanced());
+    }
+
+    @Test
+    public void testRankSelectMedian() {
+        TreeContract.rankSelectMedian(tree, n -> n);
+    }
+
+    @Test
+    public void testNavigationAndBoundedIterators() {
+        TreeContract.navigationAndBoundedIterators(tree, n -> n);
+    }
+
+    // Deletes may leave 2,2 nodes and ranks above heights, which AVL does not allow, but every rank
+    // difference must still be 1 or 2 with leaves at rank 0. Checked after every update of a
+    // delete-heavy mix, with the height and rank bounds at the end of each phase.
+    @Test
+    public void testRankRuleHoldsAfterEveryDelete() {
+        Random random = new Random(9);
+        for (int phase = 0; phase < 4; phase++) {
+            // Grow, then shrink back down to a handful of keys
+            int deletePercent = phase % 2 == 0 ? 30 : 70;
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(2000);
+                if (random.nextInt(100) < deletePercent) tree.delete(key); else tree.insert(key);
+                assertTrue("rank rule broken after update " + i + " of phase " + phase, tree.isRankBalanced());
+            }
+            int n = tree.size();
+            assertTrue("height " + tree.height() + ", rank " + tree.rootRank(), tree.height() <= tree.rootRank());
+            assertTrue("rank " + tree.rootRank() + " for " + n + " keys", n == 0 || tree.rootRank() <= 2 * Math.log(n + 1) / Math.log(2));
+        }
+    }
+
+    // Deletes can leave ranks above heights, but the rank bound of 2 log2 n always holds, and the
+    // height never exceeds the root's rank
+    @Test
+    public void testHeightBoundsUnderDeletes() {
+        Random random = new Random(3);
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            keys.add(i);
+        }
+        java.util.Collections.shuffle(keys, random);
+        for (int key : keys) {
+            tree.insert(key);
+        }
+        for (int round = 0; round < 4; round++) {
+            java.util.Collections.shuffle(keys, random);
+            for (int i = 0; i < keys.size() / 2; i++) {
+                tree.delete(keys.get(i));
+            }
+            for (int i = 0; i < keys.size() / 2; i++) {
+                tree.insert(keys.get(i));
+            }
+            int n = tree.size();
+            double bound = 2 * Math.log(n) / Math.log(2);
+            assertTrue("rank " + tree.rootRank(), tree.rootRank() <= bound);
+            assertTrue("height " + tree.height(), tree.height() <= tree.rootRank());
+        }
+        for (int i = 0; i < 200_000; i += 2) {
+            assertTrue(tree.delete(i));
+        }
+        for (int i = 1; i < 200_000; i += 2) {
+            assertTrue(tree.delete(i));
+        }
+        assertEquals(0, tree.size());
+        assertEquals(-1, tree.height());
+    }
+
+    @Test
+    public void testBuildFromSorted() {
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            keys.add(i * 2);
+        }
+        tree.buildFromSorted(keys);
+        assertEquals(9, tree.height());
+        assertEquals(9, tree.rootRank());
+        assertEquals(Integer.valueOf(998), tree.median());
+        // The built ranks are valid: mixed updates afterwards keep it a searchable, ordered tree
+        for (int i = 0; i < 1000; i += 3) {
+            assertTrue(tree.delete(i * 2));
+            assertTrue(tree.insert(i * 2 + 1));
+        }
+        List<Integer> contents = new ArrayList<>();
+        tree.ascendingIterator().forEachRemaining(contents::add);
+        assertEquals(1000, contents.size());
+        for (int i = 1; i < contents.size(); i++) {
+            assertTrue(contents.get(i - 1) < contents.get(i));
+        }
+        try {
+            tree.buildFromSorted(keys);
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals(1000, tree.size());
+        }
+    }
+}
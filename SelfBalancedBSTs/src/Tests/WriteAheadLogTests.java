@@ -0,0 +1,133 @@
+package Tests;
+
+import static org.junit.Assert.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import BSTs.AVL;
+import BSTs.Snapshot;
+import BSTs.WriteAheadLog;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class WriteAheadLogTests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReplayAfterReopen() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("dictionary.log");
+        try (WriteAheadLog log = WriteAheadLog.open(path, 0, (insert, key) -> fail("New log should be empty"))) {
+            log.append(true, "apple");
+            log.append(true, "café");
+            log.sync();
+            log.append(false, "apple");
+            log.append(true, "banana");
+        } // close syncs the rest
+
+        AVL<String> tree = new AVL<>();
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(path, 0, (insert, key) -> {
+            replayed.add((insert ? "+" : "-") + key);
+            if (insert) tree.insert(key); else tree.delete(key);
+        })) {
+            assertEquals(Arrays.asList("+apple", "+café", "-apple", "+banana"), replayed);
+            log.append(true, "cherry"); // Appends continue after the replayed records
+        }
+        assertEquals(2, tree.size());
+        assertTrue(tree.search("café"));
+        assertFalse(tree.search("apple"));
+
+        List<String> again = new ArrayList<>();
+        WriteAheadLog.open(path, 0, (insert, key) -> again.add(key)).close();
+        assertEquals(Arrays.asList("apple", "café", "apple", "banana", "cherry"), again);
+    }
+
+    @Test
+    public void testTornTailIsCutOff() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("torn.log");
+        try (WriteAheadLog log = WriteAheadLog.open(path, 0, (insert, key) -> { })) {
+            log.append(true, "kept");
+            log.append(true, "torn");
+        }
+        long intact = Files.size(path);
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(intact - 2); // Crash in the middle of the last record
+        }
+        List<String> replayed = new ArrayList<>();
+        try (WriteAheadLog log = WriteAheadLog.open(path, 0, (insert, key) -> replayed.add(key))) {
+            assertEquals(Arrays.asList("kept"), replayed);
+            log.append(true, "after");
+        }
+        replayed.clear();
+        WriteAheadLog.open(path, 0, (insert, key) -> replayed.add(key)).close();
+        assertEquals(Arrays.asList("kept", "after"), replayed);
+    }
+
+    @Test
+    public void testConcurrentSyncsShareForces() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("group.log");
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (WriteAheadLog log = WriteAheadLog.open(path, TimeUnit.MILLISECONDS.toNanos(2), (insert, key) -> { })) {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                done.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.append(true, thread + ":" + i);
+                        log.sync();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get();
+            }
+            assertEquals(threads * perThread, log.records());
+            assertTrue("forces: " + log.forces(), log.forces() < threads * perThread);
+        } finally {
+            pool.shutdown();
+        }
+        int[] count = {0};
+        WriteAheadLog.open(path, 0, (insert, key) -> count[0]++).close();
+        assertEquals(threads * perThread, count[0]);
+    }
+
+    @Test
+    public void testCheckpointTruncatesLog() throws IOException {
+        Path logPath = folder.getRoot().toPath().resolve("checkpoint.log");
+        Path snapshotPath = folder.getRoot().toPath().resolve("checkpoint.snapshot");
+        AVL<String> tree = new AVL<>();
+        try (WriteAheadLog log = WriteAheadLog.open(logPath, 0, (insert, key) -> { })) {
+            for (String key : Arrays.asList("a", "b", "c")) {
+                tree.insert(key);
+                log.append(true, key);
+            }
+            Snapshot.save(tree, "AVL", snapshotPath);
+            log.truncate();
+            assertEquals(0, Files.size(logPath));
+            tree.delete("b");
+            log.append(false, "b");
+        }
+
+        // Restart: snapshot first, then the log on top of it
+        AVL<String> restored = new AVL<>();
+        Snapshot.load(snapshotPath, restored);
+        WriteAheadLog.open(logPath, 0, (insert, key) -> {
+            if (insert) restored.insert(key); else restored.delete(key);
+        }).close();
+        assertEquals(Arrays.asList("a", "c"), Arrays.asList(restored.select(0), restored.select(1)));
+        assertEquals(2, restored.size());
+    }
+}
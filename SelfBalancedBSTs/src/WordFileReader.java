@@ -0,0 +1,90 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Streams one trimmed key per line out of a word file through a sliding memory-mapped window,
+// so heap use stays at one line regardless of the file size.
+public class WordFileReader implements Closeable {
+    private static final int DEFAULT_WINDOW = 64 << 20;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private int windowSize;
+    private MappedByteBuffer window;
+    private long windowStart;   // file offset of window position 0
+    private int cursor;         // next unread position inside the window
+    private byte[] scratch = new byte[256];
+
+    public WordFileReader(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW);
+    }
+
+    WordFileReader(Path path, int windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.windowStart = 0;
+        this.cursor = 0;
+    }
+
+    // Return the next line with surrounding whitespace removed (like String.trim), or null at end of file
+    public String nextKey() throws IOException {
+        while (true) {
+            if (windowStart + cursor >= fileSize) {
+                return null;
+            }
+            if (window == null) {
+                long length = Math.min(windowSize, fileSize - windowStart);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            }
+
+            int limit = window.limit();
+            for (int i = cursor; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    String key = decode(cursor, i);
+                    cursor = i + 1;
+                    return key;
+                }
+            }
+
+            if (windowStart + limit == fileSize) {
+                // Last line without a trailing newline
+                String key = decode(cursor, limit);
+                cursor = limit;
+                return key;
+            }
+
+            // The line runs past the window: slide the window to the line start, growing it if one line fills it
+            if (cursor == 0) {
+                windowSize = (int) Math.min((long) windowSize * 2, Integer.MAX_VALUE);
+            }
+            windowStart += cursor;
+            cursor = 0;
+            window = null;
+        }
+    }
+
+    // Trim on bytes first: in UTF-8 every byte <= 0x20 is the ASCII character String.trim removes
+    private String decode(int from, int to) {
+        while (from < to && (window.get(from) & 0xff) <= ' ') from++;
+        while (to > from && (window.get(to - 1) & 0xff) <= ' ') to--;
+        int length = to - from;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = window.get(from + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+}